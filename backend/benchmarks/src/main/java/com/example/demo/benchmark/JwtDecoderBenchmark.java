@@ -0,0 +1,96 @@
+package com.example.demo.benchmark;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import com.example.demo.config.CachingJwtDecoder;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * Cost of authenticating one request's bearer token: a full parse, RS256 verification and claim
+ * validation every time (decoder=nimbus, what SecurityConfig used to do per request) versus
+ * CachingJwtDecoder in front of it. sessions distinct tokens are sent round-robin, as if each
+ * active user kept reusing their access token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtDecoderBenchmark {
+    private static final String ISSUER = "https://truswap.example.auth0.com/";
+
+    @Param({"nimbus", "cached"})
+    public String decoder;
+
+    @Param({"100", "5000"})
+    public int sessions;
+
+    private JwtDecoder jwtDecoder;
+    private String[] tokens;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        RSAKey key = new RSAKeyGenerator(2048).keyID("bench").generate();
+        NimbusJwtDecoder nimbus = NimbusJwtDecoder.withPublicKey(key.toRSAPublicKey()).build();
+        nimbus.setJwtValidator(JwtValidators.createDefaultWithIssuer(ISSUER));
+        jwtDecoder = "cached".equals(decoder) ? new CachingJwtDecoder(nimbus, 10_000, Duration.ofMinutes(10)) : nimbus;
+
+        RSASSASigner signer = new RSASSASigner(key);
+        Instant now = Instant.now();
+        tokens = new String[sessions];
+        for (int i = 0; i < sessions; i++) {
+            JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .subject("auth0|" + i)
+                .audience("https://api.truswap.example")
+                .claim("email", "user" + i + "@example.edu")
+                .claim("name", "User " + i)
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(Duration.ofHours(1))))
+                .build();
+            SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID("bench").build(), claims);
+            jwt.sign(signer);
+            tokens[i] = jwt.serialize();
+        }
+    }
+
+    @Benchmark
+    public Jwt decode(Cursor cursor) {
+        String token = tokens[cursor.next];
+        cursor.next = (cursor.next + 1) % tokens.length;
+        return jwtDecoder.decode(token);
+    }
+}
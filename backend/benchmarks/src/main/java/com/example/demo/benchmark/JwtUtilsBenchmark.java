@@ -0,0 +1,75 @@
+package com.example.demo.benchmark;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import com.example.demo.util.JwtUtils;
+
+/**
+ * JwtUtils claim extraction from an authenticated request's JwtAuthenticationToken, with an
+ * Auth0-shaped token carrying extraClaims custom claims besides sub, email and name.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    @Param({"0", "20"})
+    public int extraClaims;
+
+    private Authentication authentication;
+
+    @Setup
+    public void setUp() {
+        Instant issuedAt = Instant.now();
+        Jwt.Builder token = Jwt.withTokenValue("header.payload.signature")
+            .header("alg", "RS256")
+            .header("kid", "bench")
+            .issuer("https://truswap.example.auth0.com/")
+            .subject("auth0|64f1c0ffee0123456789abcd")
+            .audience(List.of("https://api.truswap.example"))
+            .issuedAt(issuedAt)
+            .expiresAt(issuedAt.plusSeconds(3600))
+            .claim("email", "student@example.edu")
+            .claim("name", "Sam Student")
+            .claim("scope", "openid profile email");
+        for (int i = 0; i < extraClaims; i++) {
+            token.claim("https://truswap.example/claim-" + i, "value-" + i);
+        }
+        authentication = new JwtAuthenticationToken(token.build(), List.of(new SimpleGrantedAuthority("SCOPE_openid")));
+    }
+
+    @Benchmark
+    public String userId() {
+        return JwtUtils.getUserId(authentication);
+    }
+
+    // What createGroup does: three lookups per request
+    @Benchmark
+    public void userIdNameAndEmail(Blackhole blackhole) {
+        blackhole.consume(JwtUtils.getUserId(authentication));
+        blackhole.consume(JwtUtils.getName(authentication));
+        blackhole.consume(JwtUtils.getEmail(authentication));
+    }
+}
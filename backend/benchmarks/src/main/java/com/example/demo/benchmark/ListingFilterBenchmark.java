@@ -0,0 +1,63 @@
+package com.example.demo.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.Entity.Items;
+
+/**
+ * The in-memory isSold filter of the former ItemService.getAllItems(), which loaded every listing
+ * with findAll() and dropped the sold ones in a stream. The feed now filters inside MongoDB
+ * (feed_idx); this measures the JVM-side cost the old endpoint paid per request on top of
+ * reading and mapping the whole collection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListingFilterBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int listings;
+
+    @Param({"0.3"})
+    public double soldRatio;
+
+    private List<Items> allItems;
+
+    @Setup
+    public void setUp() {
+        allItems = SyntheticData.listings(listings, Math.max(1, listings / 10), soldRatio, 42);
+    }
+
+    // The previous ItemService.getAllItems() after findAll()
+    @Benchmark
+    public List<Items> legacyStreamFilter() {
+        return allItems.stream()
+            .filter(item -> !item.getIsSold())
+            .toList();
+    }
+
+    // The same filter returning only the first page, as GET /api/listings does now
+    @Benchmark
+    public List<Items> firstPageOnly() {
+        return allItems.stream()
+            .filter(item -> !item.getIsSold())
+            .limit(50)
+            .toList();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.demo.benchmark;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+
+import com.example.demo.Entity.Items;
+import com.example.demo.config.HiLoIdAllocator;
+import com.example.demo.config.ListingIdGeneratorListener;
+import com.example.demo.config.SnowflakeIdAllocator;
+
+/**
+ * Listing IDs per second: the allocators behind ListingIdGeneratorListener versus the
+ * previous existsById probe loop. A Mongo round trip is simulated by parking for
+ * roundTripMicros, both for each legacy probe and for each hi/lo block reservation.
+ * listenerHiLo runs a new listing through ListingIdGeneratorListener as a repository save would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ListingIdBenchmark {
+
+    @Param({"0", "500"})
+    public long roundTripMicros;
+
+    @Param({"100"})
+    public int blockSize;
+
+    private Set<Long> existingIds;
+    private SnowflakeIdAllocator snowflake;
+    private HiLoIdAllocator hiLo;
+    private ListingIdGeneratorListener listener;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        existingIds = ConcurrentHashMap.newKeySet();
+        snowflake = new SnowflakeIdAllocator(1);
+        AtomicLong counter = new AtomicLong(Instant.now().toEpochMilli());
+        hiLo = new HiLoIdAllocator(size -> {
+            roundTrip();
+            return counter.addAndGet(size);
+        }, blockSize);
+        listener = new ListingIdGeneratorListener(hiLo);
+    }
+
+    // The previous ListingIdGeneratorListener.generateUniqueId(), with existsById simulated
+    @Benchmark
+    public long legacyProbeLoop() {
+        long candidate = Instant.now().toEpochMilli();
+        while (existsById(candidate)) {
+            candidate++;
+        }
+        existingIds.add(candidate); // the insert that follows
+        return candidate;
+    }
+
+    @Benchmark
+    public long snowflake() {
+        return snowflake.nextId();
+    }
+
+    @Benchmark
+    public long hiLo() {
+        return hiLo.nextId();
+    }
+
+    @Benchmark
+    public long listenerHiLo() {
+        Items item = new Items();
+        listener.onBeforeConvert(new BeforeConvertEvent<>(item, "items"));
+        return item.getUsserId();
+    }
+
+    private boolean existsById(long id) {
+        roundTrip();
+        return existingIds.contains(id);
+    }
+
+    private void roundTrip() {
+        if (roundTripMicros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.demo.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.Service.PayPalClient;
+import com.example.demo.config.PayPalConfig;
+import com.example.demo.dto.ListingCard;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paypal.api.payments.Payment;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Listing request latency while checkouts hammer a PayPal that has become slow.
+ *
+ * A local stub plays PayPal and answers payment lookups after paypalDelayMillis. A background
+ * storm of checkoutConcurrency shoppers runs checkouts on the same "server" executor that serves the
+ * measured listing requests (a simulated Mongo round trip plus serializing a page of cards):
+ * - server=platform: a fixed pool of serverThreads, like Tomcat's default worker pool
+ * - server=virtual: a thread per request, like spring.threads.virtual.enabled=true
+ * - guard=none: no timeouts, no concurrency cap, no circuit breaker (the previous PayPal client)
+ * - guard=bulkhead: the PayPalClient defaults, with a 1s read timeout
+ *
+ * With server=platform and guard=none, slow checkouts occupy every worker and listing latency
+ * follows paypalDelayMillis; with either the bulkhead or virtual threads it stays flat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(4)
+public class PayPalIsolationBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String server;
+
+    @Param({"none", "bulkhead"})
+    public String guard;
+
+    @Param({"0", "3000"})
+    public long paypalDelayMillis;
+
+    @Param({"50"})
+    public int serverThreads;
+
+    @Param({"100"})
+    public int checkoutConcurrency;
+
+    @Param({"500"})
+    public long mongoRoundTripMicros;
+
+    private static final int PAGE_SIZE = 50;
+    // Pause between one shopper's checkouts
+    private static final long CHECKOUT_THINK_MILLIS = 100;
+
+    private HttpServer stub;
+    private PayPalClient payPalClient;
+    private ExecutorService serverExecutor;
+    private Thread storm;
+    private ObjectMapper objectMapper;
+    private List<ListingCard> page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/v1/oauth2/token", exchange ->
+            respond(exchange, "{\"access_token\":\"bench\",\"token_type\":\"Bearer\",\"expires_in\":3600}"));
+        stub.createContext("/v1/payments/payment/", exchange -> {
+            if (paypalDelayMillis > 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(paypalDelayMillis));
+            }
+            respond(exchange, "{\"id\":\"PAY-1\",\"state\":\"approved\"}");
+        });
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stub.start();
+
+        PayPalConfig config = new PayPalConfig("client-id", "client-secret", "sandbox",
+            "http://127.0.0.1:" + stub.getAddress().getPort(), Duration.ofMinutes(5));
+        if ("none".equals(guard)) {
+            config.setReadTimeout(Duration.ZERO);
+            config.setMaxConcurrentCalls(Integer.MAX_VALUE);
+            config.setFailureThreshold(Integer.MAX_VALUE);
+        } else {
+            config.setReadTimeout(Duration.ofSeconds(1));
+        }
+        payPalClient = new PayPalClient(config);
+
+        serverExecutor = "virtual".equals(server)
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(serverThreads);
+
+        objectMapper = new ObjectMapper();
+        page = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            ListingCard card = new ListingCard();
+            card.setUsserId(1_000_000L + i);
+            card.setItemName("Listing " + i);
+            card.setPrice(10 + i);
+            card.setImageUrl("https://example.com/images/" + i + ".jpg");
+            card.setCategory("Electronics");
+            card.setListingType("sell");
+            page.add(card);
+        }
+
+        storm = new Thread(this::checkoutStorm, "checkout-storm");
+        storm.setDaemon(true);
+        storm.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        storm.interrupt();
+        storm.join(5000);
+        serverExecutor.shutdownNow();
+        payPalClient.destroy();
+        stub.stop(0);
+    }
+
+    @Benchmark
+    public byte[] listing() throws Exception {
+        return serverExecutor.submit(() -> {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(mongoRoundTripMicros));
+            return objectMapper.writeValueAsBytes(page);
+        }).get();
+    }
+
+    // checkoutConcurrency shoppers, each checking out again shortly after the previous attempt returns
+    private void checkoutStorm() {
+        Semaphore inFlight = new Semaphore(checkoutConcurrency);
+        Executor thinkTime = CompletableFuture.delayedExecutor(CHECKOUT_THINK_MILLIS, TimeUnit.MILLISECONDS);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                inFlight.acquire();
+                serverExecutor.execute(() -> {
+                    try {
+                        payPalClient.call(apiContext -> Payment.get(apiContext, "PAY-1"));
+                    } catch (Exception e) {
+                        // Rejected or timed out; the shopper simply tries again
+                    } finally {
+                        // The shopper's pause happens off the server executor
+                        thinkTime.execute(inFlight::release);
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Executor shut down
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
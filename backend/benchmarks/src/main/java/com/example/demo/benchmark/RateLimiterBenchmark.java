@@ -0,0 +1,91 @@
+package com.example.demo.benchmark;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import com.example.demo.config.RateLimiter;
+import com.example.demo.util.JwtUtils;
+
+/**
+ * Per-request cost of RateLimitFilter's decision: find the route, key the caller on the JWT sub and
+ * take a token. 4 threads share the limiter, spread over users signed-in callers.
+ * - limit=open: every request is allowed (buckets never run dry)
+ * - limit=tight: almost every request is rejected (1 per hour)
+ * unlimited measures requests to endpoints without a limit, i.e. everything but the writes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class RateLimiterBenchmark {
+
+    @Param({"1", "10000"})
+    public int users;
+
+    @Param({"open", "tight"})
+    public String limit;
+
+    private RateLimiter rateLimiter;
+    private Authentication[] callers;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        String perUser = "open".equals(limit) ? "1000000000/1s" : "1/1h";
+        rateLimiter = new RateLimiter(List.of(
+            RateLimiter.Route.parse("create-listing", "POST", "/api/createListing", perUser),
+            RateLimiter.Route.parse("create-group", "POST", "/api/groups", perUser),
+            RateLimiter.Route.parse("create-payment", "POST", "/api/payments/create-payment", perUser),
+            RateLimiter.Route.parse("execute-payment", "POST", "/api/payments/execute", perUser)),
+            Duration.ofMinutes(1));
+        Instant now = Instant.now();
+        callers = new Authentication[users];
+        for (int i = 0; i < users; i++) {
+            Jwt jwt = Jwt.withTokenValue("token-" + i)
+                .header("alg", "RS256")
+                .subject("auth0|" + (1_000_000 + i))
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .build();
+            callers[i] = new JwtAuthenticationToken(jwt, List.of());
+        }
+    }
+
+    @Benchmark
+    public long limited(Cursor cursor) {
+        Authentication caller = callers[cursor.next];
+        cursor.next = (cursor.next + 1) % callers.length;
+        RateLimiter.Route route = rateLimiter.route("POST", "/api/payments/create-payment");
+        return rateLimiter.tryAcquire(route, JwtUtils.getUserId(caller));
+    }
+
+    @Benchmark
+    public RateLimiter.Route unlimited() {
+        return rateLimiter.route("GET", "/api/listings");
+    }
+}
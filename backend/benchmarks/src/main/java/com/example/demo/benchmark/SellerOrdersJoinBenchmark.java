@@ -0,0 +1,86 @@
+package com.example.demo.benchmark;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.Entity.Items;
+import com.example.demo.Entity.Order;
+
+/**
+ * The in-memory join of the former OrderService.getOrdersBySellerUserId(): the seller's listing
+ * IDs in a List, then every order scanned with List.contains, O(orders x listings). The endpoint
+ * now reads orders by sellerUserId from seller_sales_idx; hashSetJoin shows what the in-memory
+ * version would cost with a hash lookup, and sellerUserIdFilter the per-order field check that replaced it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SellerOrdersJoinBenchmark {
+
+    @Param({"10000", "100000"})
+    public int orders;
+
+    @Param({"10", "500"})
+    public int listingsPerSeller;
+
+    private static final int SELLERS = 20;
+
+    private String sellerUserId;
+    private List<Items> sellerListings;
+    private List<Order> allOrders;
+
+    @Setup
+    public void setUp() {
+        List<Items> listings = SyntheticData.listings(SELLERS * listingsPerSeller, SELLERS, 0.0, 42);
+        allOrders = SyntheticData.orders(orders, listings, 43);
+        sellerUserId = SyntheticData.sellerId(0);
+        sellerListings = listings.stream().filter(item -> sellerUserId.equals(item.getUserId())).toList();
+    }
+
+    // The previous OrderService.getOrdersBySellerUserId() after findByUserId() and findAll()
+    @Benchmark
+    public List<Order> legacyListContainsJoin() {
+        List<Long> listingIds = sellerListings.stream()
+            .map(Items::getUsserId)
+            .map(Long::valueOf)
+            .toList();
+        return allOrders.stream()
+            .filter(order -> order.getListingId() != null && listingIds.contains(order.getListingId()))
+            .toList();
+    }
+
+    @Benchmark
+    public List<Order> hashSetJoin() {
+        Set<Long> listingIds = new HashSet<>();
+        for (Items item : sellerListings) {
+            listingIds.add(item.getUsserId());
+        }
+        return allOrders.stream()
+            .filter(order -> order.getListingId() != null && listingIds.contains(order.getListingId()))
+            .toList();
+    }
+
+    @Benchmark
+    public List<Order> sellerUserIdFilter() {
+        return allOrders.stream()
+            .filter(order -> sellerUserId.equals(order.getSellerUserId()))
+            .toList();
+    }
+}
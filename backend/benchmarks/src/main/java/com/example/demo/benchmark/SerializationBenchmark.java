@@ -0,0 +1,77 @@
+package com.example.demo.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.demo.Entity.Items;
+import com.example.demo.Entity.Order;
+import com.example.demo.config.JacksonConfig;
+import com.example.demo.dto.ListingCard;
+import com.example.demo.util.FieldSelection;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Response serialization through the application's ObjectMapper (JacksonConfig): a page of
+ * listings, the same page as browse-grid cards or a sparse fieldset, and a list of orders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"50", "1000", "10000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Items> listings;
+    private List<ListingCard> cards;
+    private List<Order> orders;
+    private Object sparseListings;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper(Jackson2ObjectMapperBuilder.json());
+        listings = SyntheticData.listings(size, Math.max(1, size / 10), 0.0, 42);
+        cards = SyntheticData.cards(listings);
+        orders = SyntheticData.orders(size, listings, 43);
+        FieldSelection fields = FieldSelection.parse("itemName,price,imageUrl", Items.class, objectMapper);
+        sparseListings = FieldSelection.render(fields, listings);
+    }
+
+    @Benchmark
+    public byte[] listings() throws Exception {
+        return objectMapper.writeValueAsBytes(listings);
+    }
+
+    @Benchmark
+    public byte[] listingCards() throws Exception {
+        return objectMapper.writeValueAsBytes(cards);
+    }
+
+    // ?fields=itemName,price,imageUrl: the property filter runs per field of every listing
+    @Benchmark
+    public byte[] listingsSparseFieldset() throws Exception {
+        return objectMapper.writeValueAsBytes(sparseListings);
+    }
+
+    @Benchmark
+    public byte[] orders() throws Exception {
+        return objectMapper.writeValueAsBytes(orders);
+    }
+}
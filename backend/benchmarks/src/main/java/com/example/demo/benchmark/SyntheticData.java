@@ -0,0 +1,100 @@
+package com.example.demo.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.example.demo.Entity.Items;
+import com.example.demo.Entity.Order;
+import com.example.demo.dto.ListingCard;
+
+/**
+ * Deterministic synthetic listings and orders for the benchmarks. The same seed always yields the
+ * same dataset, so runs of different releases measure the same data.
+ */
+final class SyntheticData {
+
+    private static final String[] CATEGORIES = {"Electronics", "Books", "Furniture", "Clothing", "Sports", "Kitchen"};
+    private static final String[] CONDITIONS = {"New", "Like New", "Good", "Fair"};
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private SyntheticData() {
+    }
+
+    static String sellerId(int seller) {
+        return "auth0|seller-" + seller;
+    }
+
+    /**
+     * count listings spread round-robin over sellers, soldRatio of them sold, ids 1..count
+     */
+    static List<Items> listings(int count, int sellers, double soldRatio, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Items> listings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int seller = i % Math.max(1, sellers);
+            Items item = new Items();
+            item.setUsserId(i + 1);
+            item.setItemName("Listing " + i + " " + CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            item.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            item.setPrice(5 + random.nextInt(500));
+            item.setDescription("Synthetic listing " + i + ", lightly used, pick up on campus or meet nearby.");
+            item.setCondition(CONDITIONS[random.nextInt(CONDITIONS.length)]);
+            item.setImageUrl("https://images.example.com/listings/" + i + ".jpg");
+            item.setName("Seller " + seller);
+            item.setEmail("seller" + seller + "@example.com");
+            item.setUserId(sellerId(seller));
+            item.setGroupId(random.nextInt(4) == 0 ? "group-" + random.nextInt(20) : null);
+            item.setListingType(random.nextInt(5) == 0 ? "rent" : "sell");
+            item.setDatePosted(EPOCH.plusMinutes(i));
+            item.setIsSold(random.nextDouble() < soldRatio);
+            listings.add(item);
+        }
+        return listings;
+    }
+
+    /**
+     * count orders, each for a random listing, copying what OrderService.createOrder copies
+     */
+    static List<Order> orders(int count, List<Items> listings, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Items item = listings.get(random.nextInt(listings.size()));
+            Order order = new Order();
+            order.setId(Long.toHexString(seed) + "-" + i);
+            order.setListingId(item.getUsserId());
+            order.setItemName(item.getItemName());
+            order.setItemImageUrl(item.getImageUrl());
+            order.setPrice(item.getPrice());
+            order.setBuyerEmail("buyer" + i + "@example.com");
+            order.setBuyerName("Buyer " + i);
+            order.setBuyerUserId("auth0|buyer-" + i);
+            order.setSellerEmail(item.getEmail());
+            order.setSellerName(item.getName());
+            order.setSellerUserId(item.getUserId());
+            order.setStatus("completed");
+            order.setPaymentId("PAYID-" + i);
+            order.setPurchaseDate(EPOCH.plusHours(i));
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    static List<ListingCard> cards(List<Items> listings) {
+        List<ListingCard> cards = new ArrayList<>(listings.size());
+        for (Items item : listings) {
+            ListingCard card = new ListingCard();
+            card.setUsserId(item.getUsserId());
+            card.setItemName(item.getItemName());
+            card.setPrice(item.getPrice());
+            card.setImageUrl(item.getImageUrl());
+            card.setCategory(item.getCategory());
+            card.setListingType(item.getListingType());
+            card.setDatePosted(item.getDatePosted());
+            cards.add(card);
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latencies and failures of one operation. Workers record without locking (HdrHistogram Recorder);
+ * reset() discards everything recorded so far, which is how warmup is left out of the report.
+ */
+public class EndpointStats {
+    private final Operation operation;
+    private final Recorder latencyMicros = new Recorder(3);
+    private final LongAdder errors = new LongAdder();
+
+    public EndpointStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    public void record(long latencyNanos, boolean failed) {
+        latencyMicros.recordValue(Math.max(1, latencyNanos / 1000));
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    public void reset() {
+        latencyMicros.reset();
+        errors.reset();
+    }
+
+    // Everything recorded since the last reset, over a measurement window of the given length
+    public Result snapshot(Duration window) {
+        Histogram histogram = latencyMicros.getIntervalHistogram();
+        long count = histogram.getTotalCount();
+        double seconds = Math.max(window.toNanos(), 1) / 1e9;
+        return new Result(operation, count, errors.sum(), count / seconds,
+            histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(95),
+            histogram.getValueAtPercentile(99), histogram.getMaxValue());
+    }
+
+    /**
+     * Latencies are in microseconds, throughput in requests per second
+     */
+    public record Result(Operation operation, long count, long errors, double throughput,
+                         long p50Micros, long p95Micros, long p99Micros, long maxMicros) {
+
+        public double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+}
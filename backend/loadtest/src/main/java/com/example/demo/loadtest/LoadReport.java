@@ -0,0 +1,121 @@
+package com.example.demo.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Per-endpoint results of a run checked against their SLOs, as a console table and as JSON
+ */
+public class LoadReport {
+    private final Duration window;
+    private final List<EndpointStats.Result> results;
+    private final Function<Operation, LoadTestConfig.Slo> slos;
+    private final List<String> breaches = new ArrayList<>();
+
+    public LoadReport(Duration window, List<EndpointStats.Result> results, Function<Operation, LoadTestConfig.Slo> slos) {
+        this.window = window;
+        this.results = results;
+        this.slos = slos;
+        for (EndpointStats.Result result : results) {
+            check(result, slos.apply(result.operation()));
+        }
+    }
+
+    public boolean passed() {
+        return breaches.isEmpty();
+    }
+
+    public List<String> getBreaches() {
+        return breaches;
+    }
+
+    private void check(EndpointStats.Result result, LoadTestConfig.Slo slo) {
+        String endpoint = result.operation().getEndpoint();
+        if (result.count() == 0) {
+            // Configured in the mix but never measured (e.g. no listing left to buy) is a failed run too
+            breaches.add(endpoint + ": no requests completed");
+            return;
+        }
+        checkLatency(endpoint, "p50", result.p50Micros(), slo.p50());
+        checkLatency(endpoint, "p95", result.p95Micros(), slo.p95());
+        checkLatency(endpoint, "p99", result.p99Micros(), slo.p99());
+        if (slo.maxErrorRate() != null && result.errorRate() > slo.maxErrorRate()) {
+            breaches.add(String.format("%s: error rate %.2f%% > %.2f%%", endpoint,
+                result.errorRate() * 100, slo.maxErrorRate() * 100));
+        }
+        if (slo.minThroughput() != null && result.throughput() < slo.minThroughput()) {
+            breaches.add(String.format("%s: throughput %.1f/s < %.1f/s", endpoint, result.throughput(), slo.minThroughput()));
+        }
+    }
+
+    private void checkLatency(String endpoint, String percentile, long actualMicros, Duration limit) {
+        if (limit != null && actualMicros > limit.toNanos() / 1000) {
+            breaches.add(String.format("%s: %s %s > %s", endpoint, percentile, millis(actualMicros), millis(limit.toNanos() / 1000)));
+        }
+    }
+
+    public String toTable() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-36s %9s %9s %8s %10s %10s %10s %10s%n",
+            "endpoint", "requests", "req/s", "errors", "p50", "p95", "p99", "max"));
+        for (EndpointStats.Result result : results) {
+            table.append(String.format("%-36s %9d %9.1f %8d %10s %10s %10s %10s%n",
+                result.operation().getEndpoint(), result.count(), result.throughput(), result.errors(),
+                millis(result.p50Micros()), millis(result.p95Micros()), millis(result.p99Micros()), millis(result.maxMicros())));
+        }
+        table.append(String.format("measured for %ds%n", window.toSeconds()));
+        if (breaches.isEmpty()) {
+            table.append("All SLOs met").append(System.lineSeparator());
+        } else {
+            table.append("SLO breaches:").append(System.lineSeparator());
+            breaches.forEach(breach -> table.append("  ").append(breach).append(System.lineSeparator()));
+        }
+        return table.toString();
+    }
+
+    public void writeJson(Path file) throws IOException {
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (EndpointStats.Result result : results) {
+            LoadTestConfig.Slo slo = slos.apply(result.operation());
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("operation", result.operation().getKey());
+            endpoint.put("endpoint", result.operation().getEndpoint());
+            endpoint.put("requests", result.count());
+            endpoint.put("errors", result.errors());
+            endpoint.put("throughputPerSecond", result.throughput());
+            endpoint.put("p50Millis", result.p50Micros() / 1000.0);
+            endpoint.put("p95Millis", result.p95Micros() / 1000.0);
+            endpoint.put("p99Millis", result.p99Micros() / 1000.0);
+            endpoint.put("maxMillis", result.maxMicros() / 1000.0);
+            endpoint.put("slo", slo);
+            endpoints.add(endpoint);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("windowSeconds", window.toSeconds());
+        report.put("passed", passed());
+        report.put("breaches", breaches);
+        report.put("endpoints", endpoints);
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+            .writerWithDefaultPrettyPrinter()
+            .writeValue(file.toFile(), report);
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.1fms", micros / 1000.0);
+    }
+}
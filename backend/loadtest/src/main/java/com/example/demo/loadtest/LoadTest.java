@@ -0,0 +1,211 @@
+package com.example.demo.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.example.demo.BackendForTruSwapApplication;
+
+/**
+ * End-to-end load test: boots the application in-process on a random port, against a fresh
+ * database on the configured MongoDB, the PayPal stub and the local JWT issuer. Seeds groups and
+ * listings through the API, replays the configured mix with a fixed number of virtual users,
+ * then prints p50/p95/p99 and throughput per endpoint and exits with 1 when an SLO is breached.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.load();
+        int users = config.getInt("users", 50);
+        int concurrency = config.getInt("concurrency", 32);
+        if (users < 2 || concurrency < 1) {
+            throw new IllegalArgumentException("Need at least 2 users and 1 concurrent worker");
+        }
+        String database = "truswap_loadtest_" + System.currentTimeMillis();
+
+        LoadReport report;
+        try (LocalJwtIssuer issuer = new LocalJwtIssuer();
+             PayPalStub payPal = new PayPalStub(config.getDuration("paypal.latency", Duration.ZERO))) {
+            ConfigurableApplicationContext app = SpringApplication.run(BackendForTruSwapApplication.class,
+                appArguments(config, database, issuer, payPal));
+            try {
+                String baseUrl = "http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port");
+                Traffic traffic = new Traffic(baseUrl, issuer, users);
+                seed(traffic, config);
+                report = run(traffic, config, concurrency);
+            } finally {
+                if (!config.getBoolean("keep-database")) {
+                    app.getBean(MongoTemplate.class).getDb().drop();
+                }
+                app.close();
+            }
+        }
+
+        System.out.println();
+        System.out.print(report.toTable());
+        String reportFile = config.getString("report.file");
+        if (reportFile != null) {
+            report.writeJson(Path.of(reportFile));
+            System.out.println("Report written to " + reportFile);
+        }
+        System.exit(report.passed() ? 0 : 1);
+    }
+
+    // Command-line arguments take precedence over application.properties and the environment;
+    // app.<property> settings are passed through, e.g. app.spring.threads.virtual.enabled=true
+    private static String[] appArguments(LoadTestConfig config, String database, LocalJwtIssuer issuer, PayPalStub payPal) {
+        List<String> arguments = new ArrayList<>(List.of(
+            "--server.port=0",
+            "--management.server.port=0",
+            "--spring.data.mongodb.uri=" + config.getRequiredString("mongodb.uri"),
+            "--spring.data.mongodb.database=" + database,
+            "--spring.security.oauth2.resourceserver.jwt.issuer-uri=" + issuer.getIssuer(),
+            "--paypal.client.id=loadtest",
+            "--paypal.client.secret=loadtest",
+            "--paypal.mode=sandbox",
+            "--paypal.api.base-url=" + payPal.getBaseUrl(),
+            // The load test measures capacity; a few users creating listings at full speed would only see 429s
+            "--truswap.rate-limit.enabled=false",
+            "--logging.level.root=WARN"));
+        for (String key : config.keysWithPrefix("app.")) {
+            arguments.add("--" + key.substring("app.".length()) + "=" + config.getString(key));
+        }
+        return arguments.toArray(String[]::new);
+    }
+
+    // Groups first so some seeded listings can belong to one; not measured
+    static void seed(Traffic traffic, LoadTestConfig config) throws Exception {
+        int groups = config.getInt("seed.groups", 20);
+        int listings = config.getInt("seed.listings", 400);
+        System.out.printf("Seeding %d groups and %d listings%n", groups, listings);
+        try (ExecutorService executor = Executors.newFixedThreadPool(16, Thread.ofVirtual().factory())) {
+            List<Future<?>> pending = new ArrayList<>();
+            for (int i = 0; i < groups; i++) {
+                int user = i % traffic.users();
+                pending.add(executor.submit(() -> {
+                    traffic.createGroup(user);
+                    return null;
+                }));
+            }
+            awaitAll(pending);
+            for (int i = 0; i < listings; i++) {
+                int user = i % traffic.users();
+                pending.add(executor.submit(() -> {
+                    int status = traffic.createListing(user);
+                    if (status != 201) {
+                        throw new IllegalStateException("Could not seed a listing: HTTP " + status);
+                    }
+                    return null;
+                }));
+            }
+            awaitAll(pending);
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> futures) throws Exception {
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        futures.clear();
+    }
+
+    static LoadReport run(Traffic traffic, LoadTestConfig config, int concurrency) throws InterruptedException {
+        Map<Operation, Integer> mix = config.getMix();
+        Duration warmup = config.getDuration("warmup", Duration.ofSeconds(10));
+        Duration duration = config.getDuration("duration", Duration.ofSeconds(60));
+        long thinkNanos = config.getDuration("think-time", Duration.ZERO).toNanos();
+
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        mix.keySet().forEach(operation -> stats.put(operation, new EndpointStats(operation)));
+        OperationPicker picker = new OperationPicker(mix);
+        AtomicLong failures = new AtomicLong();
+        long deadline = System.nanoTime() + warmup.toNanos() + duration.toNanos();
+
+        System.out.printf("Running %d virtual users: %ds warmup, %ds measured%n",
+            concurrency, warmup.toSeconds(), duration.toSeconds());
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = picker.pick(random);
+                        int user = random.nextInt(traffic.users());
+                        long start = System.nanoTime();
+                        boolean failed;
+                        try {
+                            int status = traffic.execute(operation, user);
+                            if (status == Traffic.SKIPPED) {
+                                continue;
+                            }
+                            failed = status >= 400;
+                        } catch (InterruptedException e) {
+                            return;
+                        } catch (Exception e) {
+                            // Connection failures and timeouts count against the error-rate SLO
+                            failed = true;
+                            if (failures.getAndIncrement() < 5) {
+                                System.err.println(operation.getEndpoint() + " failed: " + e);
+                            }
+                        }
+                        stats.get(operation).record(System.nanoTime() - start, failed);
+                        if (thinkNanos > 0) {
+                            try {
+                                TimeUnit.NANOSECONDS.sleep(thinkNanos);
+                            } catch (InterruptedException e) {
+                                return;
+                            }
+                        }
+                    }
+                });
+            }
+            TimeUnit.NANOSECONDS.sleep(warmup.toNanos());
+            stats.values().forEach(EndpointStats::reset);
+            // Workers stop at the deadline; closing the executor waits for their last request
+        }
+
+        List<EndpointStats.Result> results = new ArrayList<>();
+        stats.values().forEach(endpoint -> results.add(endpoint.snapshot(duration)));
+        return new LoadReport(duration, results, config::getSlo);
+    }
+
+    /**
+     * Weighted random choice over the mix
+     */
+    static final class OperationPicker {
+        private final Operation[] operations;
+        private final int[] cumulativeWeights;
+
+        OperationPicker(Map<Operation, Integer> mix) {
+            operations = mix.keySet().toArray(Operation[]::new);
+            cumulativeWeights = new int[operations.length];
+            int total = 0;
+            for (int i = 0; i < operations.length; i++) {
+                total += mix.get(operations[i]);
+                cumulativeWeights[i] = total;
+            }
+        }
+
+        Operation pick(ThreadLocalRandom random) {
+            int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (roll < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            throw new IllegalStateException("Unreachable");
+        }
+    }
+}
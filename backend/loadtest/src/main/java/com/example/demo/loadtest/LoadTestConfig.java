@@ -0,0 +1,126 @@
+package com.example.demo.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Load test settings: loadtest.properties from the classpath, then the file named by
+ * -Dloadtest.config, then -Dloadtest.<key> system properties. ${ENV} values are read from the environment.
+ */
+public class LoadTestConfig {
+    private static final String SYSTEM_PREFIX = "loadtest.";
+
+    private final Properties properties;
+
+    LoadTestConfig(Properties properties) {
+        this.properties = properties;
+    }
+
+    public static LoadTestConfig load() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        }
+        String file = System.getProperty(SYSTEM_PREFIX + "config");
+        if (file != null) {
+            try (Reader reader = Files.newBufferedReader(Path.of(file))) {
+                properties.load(reader);
+            }
+        }
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(SYSTEM_PREFIX) && !name.equals(SYSTEM_PREFIX + "config")) {
+                properties.setProperty(name.substring(SYSTEM_PREFIX.length()), System.getProperty(name));
+            }
+        }
+        return new LoadTestConfig(properties);
+    }
+
+    public String getString(String key) {
+        String value = properties.getProperty(key);
+        if (value != null && value.startsWith("${") && value.endsWith("}")) {
+            value = System.getenv(value.substring(2, value.length() - 1));
+        }
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    public String getRequiredString(String key) {
+        String value = getString(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing load test setting: " + key);
+        }
+        return value;
+    }
+
+    public List<String> keysWithPrefix(String prefix) {
+        return properties.stringPropertyNames().stream()
+            .filter(name -> name.startsWith(prefix))
+            .sorted()
+            .toList();
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = getString(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    public boolean getBoolean(String key) {
+        return Boolean.parseBoolean(getString(key));
+    }
+
+    public Duration getDuration(String key, Duration defaultValue) {
+        String value = getString(key);
+        return value == null ? defaultValue : DurationStyle.detectAndParse(value);
+    }
+
+    // Relative weight of each operation; missing entries are not sent at all
+    public Map<Operation, Integer> getMix() {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            int weight = getInt("mix." + operation.getKey(), 0);
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for mix." + operation.getKey());
+            }
+            if (weight > 0) {
+                mix.put(operation, weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("The traffic mix is empty: set at least one mix.<operation> weight");
+        }
+        return mix;
+    }
+
+    // The SLO for one operation; each limit falls back to slo.default.*
+    public Slo getSlo(Operation operation) {
+        String prefix = "slo." + operation.getKey() + ".";
+        return new Slo(
+            getDuration(prefix + "p50", getDuration("slo.default.p50", null)),
+            getDuration(prefix + "p95", getDuration("slo.default.p95", null)),
+            getDuration(prefix + "p99", getDuration("slo.default.p99", null)),
+            getRate(prefix + "error-rate", getRate("slo.default.error-rate", null)),
+            getRate(prefix + "min-throughput", getRate("slo.default.min-throughput", null)));
+    }
+
+    private Double getRate(String key, Double defaultValue) {
+        String value = getString(key);
+        return value == null ? defaultValue : Double.valueOf(value);
+    }
+
+    /**
+     * Latency and error limits for one endpoint; null means unchecked. minThroughput is in requests per second.
+     */
+    public record Slo(Duration p50, Duration p95, Duration p99, Double maxErrorRate, Double minThroughput) {
+    }
+}
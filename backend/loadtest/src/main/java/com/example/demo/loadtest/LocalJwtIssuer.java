@@ -0,0 +1,102 @@
+package com.example.demo.loadtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.Executors;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Stands in for Auth0: serves OpenID discovery and a JWKS on localhost and signs RS256 access
+ * tokens with the matching key, so the app validates them exactly as it validates Auth0's.
+ */
+public class LocalJwtIssuer implements AutoCloseable {
+    private static final Duration TOKEN_LIFETIME = Duration.ofHours(2);
+
+    private final HttpServer server;
+    private final RSAKey signingKey;
+    private final RSASSASigner signer;
+    private final String issuer;
+
+    public LocalJwtIssuer() throws IOException, JOSEException {
+        signingKey = new RSAKeyGenerator(2048)
+            .keyID("loadtest")
+            .keyUse(KeyUse.SIGNATURE)
+            .algorithm(JWSAlgorithm.RS256)
+            .generate();
+        signer = new RSASSASigner(signingKey);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        // Auth0 issuers end with a slash; the "iss" claim must match the configured issuer-uri exactly
+        issuer = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+        String discovery = "{\"issuer\":\"" + issuer + "\","
+            + "\"jwks_uri\":\"" + issuer + ".well-known/jwks.json\","
+            + "\"subject_types_supported\":[\"public\"],"
+            + "\"id_token_signing_alg_values_supported\":[\"RS256\"]}";
+        String jwks = new JWKSet(signingKey.toPublicJWK()).toString();
+        server.createContext("/.well-known/openid-configuration", exchange -> respond(exchange, discovery));
+        server.createContext("/.well-known/jwks.json", exchange -> respond(exchange, jwks));
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    public String getIssuer() {
+        return issuer;
+    }
+
+    // An access token for a synthetic user, carrying the claims JwtUtils reads
+    public String issue(String userId, String email, String name) {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+            .issuer(issuer)
+            .subject(userId)
+            .audience("truswap-loadtest")
+            .claim("email", email)
+            .claim("name", name)
+            .issueTime(Date.from(now))
+            .expirationTime(Date.from(now.plus(TOKEN_LIFETIME)))
+            .build();
+        JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.RS256)
+            .keyID(signingKey.getKeyID())
+            .type(JOSEObjectType.JWT)
+            .build();
+        SignedJWT jwt = new SignedJWT(header, claims);
+        try {
+            jwt.sign(signer);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Could not sign load test token", e);
+        }
+        return jwt.serialize();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.loadtest;
+
+/**
+ * The calls the load test replays; the key names the operation in mix.* and slo.* settings
+ */
+public enum Operation {
+    BROWSE_LISTINGS("browse-listings", "GET /api/listings"),
+    BROWSE_GROUPS("browse-groups", "GET /api/groups"),
+    LISTING_DETAIL("listing-detail", "GET /api/listings/{id}"),
+    GROUP_DETAIL("group-detail", "GET /api/groups/{id}"),
+    CREATE_LISTING("create-listing", "POST /api/createListing"),
+    MY_ORDERS("my-orders", "GET /api/orders"),
+    SOLD_ORDERS("sold-orders", "GET /api/orders/sold"),
+    CREATE_PAYMENT("create-payment", "POST /api/payments/create-payment"),
+    EXECUTE_PAYMENT("execute-payment", "POST /api/payments/execute");
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
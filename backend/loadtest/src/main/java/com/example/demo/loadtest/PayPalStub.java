@@ -0,0 +1,84 @@
+package com.example.demo.loadtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Answers the PayPal REST calls PaymentService makes (OAuth token, create, execute, lookup) after
+ * a fixed latency. Every payment is approved; the payer is the same synthetic buyer.
+ */
+public class PayPalStub implements AutoCloseable {
+    private static final String EXECUTE_SUFFIX = "/execute";
+
+    private final HttpServer server;
+    private final long latencyNanos;
+    private final AtomicLong nextPaymentId = new AtomicLong();
+
+    public PayPalStub(Duration latency) throws IOException {
+        this.latencyNanos = latency.toNanos();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/oauth2/token", exchange ->
+            respond(exchange, 200, "{\"access_token\":\"loadtest\",\"token_type\":\"Bearer\",\"expires_in\":32400}"));
+        server.createContext("/v1/payments/payment", this::handlePayment);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void handlePayment(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        if (latencyNanos > 0) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        if ("POST".equals(method) && path.equals("/v1/payments/payment")) {
+            String id = "PAYID-LOADTEST-" + nextPaymentId.incrementAndGet();
+            respond(exchange, 201, payment(id, "created"));
+        } else if ("POST".equals(method) && path.endsWith(EXECUTE_SUFFIX)) {
+            respond(exchange, 200, payment(paymentId(path.substring(0, path.length() - EXECUTE_SUFFIX.length())), "approved"));
+        } else if ("GET".equals(method)) {
+            respond(exchange, 200, payment(paymentId(path), "approved"));
+        } else {
+            respond(exchange, 404, "{\"name\":\"NOT_FOUND\"}");
+        }
+    }
+
+    private static String paymentId(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static String payment(String id, String state) {
+        return "{\"id\":\"" + id + "\",\"intent\":\"sale\",\"state\":\"" + state + "\","
+            + "\"payer\":{\"payment_method\":\"paypal\",\"payer_info\":{\"email\":\"buyer@loadtest.local\","
+            + "\"first_name\":\"Load\",\"last_name\":\"Test\",\"payer_id\":\"LOADTESTPAYER\"}},"
+            + "\"links\":[{\"href\":\"https://www.sandbox.paypal.com/checkoutnow?token=" + id + "\","
+            + "\"rel\":\"approval_url\",\"method\":\"REDIRECT\"}]}";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,336 @@
+package com.example.demo.loadtest;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+/**
+ * Cold start benchmark: launches the packaged application in a fresh JVM (or the native image)
+ * startup.runs times per variant and measures, from process start,
+ *  - listening: the port answers HTTP
+ *  - ready: /readyz reports UP, i.e. after StartupWarmup when it is enabled
+ * and then the latency of the first public request (GET /api/listings) and of the first
+ * authenticated one (GET /api/orders, which also pays for JWT verification).
+ *
+ * Variants: jar (the executable jar as built by default), aot-cds (target/fast-startup from
+ * -Pfast-startup) and native (target/backend-for-truSwap from -Pnative native:compile); missing ones
+ * are skipped. Each is run with every startup.warmup setting. An unmeasured first launch seeds a
+ * fresh database through the API and warms the OS file cache.
+ */
+public class StartupBenchmark {
+
+    private static final String ARTIFACT = "backend-for-truSwap";
+    private static final String VERSION = "0.0.1-SNAPSHOT";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    record Variant(String name, Path directory, List<String> command) {
+    }
+
+    record Sample(long listeningMillis, long readyMillis, long firstListingsMicros, long firstOrdersMicros) {
+    }
+
+    record Result(String variant, boolean warmup, List<Sample> samples) {
+        long median(ToLongFunction<Sample> metric) {
+            long[] values = samples.stream().mapToLong(metric).sorted().toArray();
+            return values[values.length / 2];
+        }
+
+        long max(ToLongFunction<Sample> metric) {
+            return samples.stream().mapToLong(metric).max().orElse(0);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.load();
+        int runs = config.getInt("startup.runs", 5);
+        Duration timeout = config.getDuration("startup.timeout", Duration.ofMinutes(2));
+        Path targetDir = Path.of(config.getRequiredString("startup.target-dir"));
+        List<Variant> variants = variants(targetDir, config);
+        if (variants.isEmpty()) {
+            throw new IllegalStateException("Nothing to launch in " + targetDir.toAbsolutePath() + ", build the application first");
+        }
+        String database = "truswap_startup_" + System.currentTimeMillis();
+        Path logDir = targetDir.resolve("startup-logs");
+        Files.createDirectories(logDir);
+
+        List<Result> results = new ArrayList<>();
+        try (LocalJwtIssuer issuer = new LocalJwtIssuer();
+             HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            Launcher launcher = new Launcher(config, database, issuer, client, logDir, timeout);
+
+            System.out.printf("Seeding %s with %s%n", database, variants.get(0).name());
+            try (Instance instance = launcher.start(variants.get(0), false, "seed")) {
+                instance.awaitReady();
+                Traffic traffic = new Traffic(instance.baseUrl(), issuer, config.getInt("users", 50));
+                LoadTest.seed(traffic, config);
+            }
+
+            for (Variant variant : variants) {
+                for (String warmup : config.getString("startup.warmup").split(",")) {
+                    boolean warm = Boolean.parseBoolean(warmup.trim());
+                    List<Sample> samples = new ArrayList<>();
+                    for (int run = 1; run <= runs; run++) {
+                        try (Instance instance = launcher.start(variant, warm, variant.name() + "-" + warm + "-" + run)) {
+                            samples.add(instance.measure());
+                        }
+                    }
+                    Result result = new Result(variant.name(), warm, samples);
+                    System.out.printf("%s warmup=%s: ready in %d ms (median of %d)%n",
+                        variant.name(), warm, result.median(Sample::readyMillis), runs);
+                    results.add(result);
+                }
+            }
+
+            if (!config.getBoolean("keep-database")) {
+                try (MongoClient mongo = MongoClients.create(config.getRequiredString("mongodb.uri"))) {
+                    mongo.getDatabase(database).drop();
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.print(toTable(results));
+        String reportFile = config.getString("startup.report.file");
+        if (reportFile != null) {
+            writeJson(results, Path.of(reportFile));
+            System.out.println("Report written to " + reportFile);
+        }
+        System.exit(0);
+    }
+
+    static List<Variant> variants(Path targetDir, LoadTestConfig config) {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> jvmArgs = new ArrayList<>();
+        String configured = config.getString("startup.jvm-args");
+        if (configured != null) {
+            jvmArgs.addAll(Arrays.asList(configured.split("\\s+")));
+        }
+
+        List<Variant> variants = new ArrayList<>();
+        for (String name : config.getRequiredString("startup.variants").split(",")) {
+            name = name.trim();
+            List<String> command = new ArrayList<>();
+            Path directory = targetDir;
+            switch (name) {
+                case "jar" -> {
+                    command.add(java);
+                    command.addAll(jvmArgs);
+                    command.addAll(List.of("-jar", ARTIFACT + "-" + VERSION + ".jar"));
+                }
+                case "aot-cds" -> {
+                    directory = targetDir.resolve("fast-startup");
+                    command.add(java);
+                    command.addAll(jvmArgs);
+                    command.addAll(List.of("-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true",
+                        "-jar", ARTIFACT + "-" + VERSION + ".jar"));
+                }
+                case "native" -> command.add(targetDir.resolve(ARTIFACT).toAbsolutePath().toString());
+                default -> throw new IllegalArgumentException("Unknown startup variant: " + name);
+            }
+            Path launched = "native".equals(name) ? Path.of(command.get(0)) : directory.resolve(command.get(command.size() - 1));
+            if (Files.exists(launched)) {
+                variants.add(new Variant(name, directory, command));
+            } else {
+                System.out.printf("Skipping %s: %s not built%n", name, launched);
+            }
+        }
+        return variants;
+    }
+
+    /**
+     * Starts instances on free ports with the same settings as the load test
+     */
+    static final class Launcher {
+        private final LoadTestConfig config;
+        private final String database;
+        private final LocalJwtIssuer issuer;
+        private final HttpClient client;
+        private final Path logDir;
+        private final Duration timeout;
+
+        Launcher(LoadTestConfig config, String database, LocalJwtIssuer issuer, HttpClient client, Path logDir, Duration timeout) {
+            this.config = config;
+            this.database = database;
+            this.issuer = issuer;
+            this.client = client;
+            this.logDir = logDir;
+            this.timeout = timeout;
+        }
+
+        Instance start(Variant variant, boolean warmup, String label) throws IOException {
+            int port = freePort();
+            List<String> command = new ArrayList<>(variant.command());
+            command.addAll(List.of(
+                "--server.port=" + port,
+                "--management.server.port=" + freePort(),
+                "--spring.data.mongodb.uri=" + config.getRequiredString("mongodb.uri"),
+                "--spring.data.mongodb.database=" + database,
+                "--spring.security.oauth2.resourceserver.jwt.issuer-uri=" + issuer.getIssuer(),
+                "--paypal.client.id=loadtest",
+                "--paypal.client.secret=loadtest",
+                "--truswap.rate-limit.enabled=false",
+                "--truswap.warmup.enabled=" + warmup));
+            for (String key : config.keysWithPrefix("app.")) {
+                command.add("--" + key.substring("app.".length()) + "=" + config.getString(key));
+            }
+            Path log = logDir.resolve(label + ".log");
+            long startNanos = System.nanoTime();
+            Process process = new ProcessBuilder(command)
+                .directory(variant.directory().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+            return new Instance(process, startNanos, "http://127.0.0.1:" + port, client, issuer, timeout, log);
+        }
+
+        private static int freePort() throws IOException {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                return socket.getLocalPort();
+            }
+        }
+    }
+
+    /**
+     * One launched application; closing it stops the process
+     */
+    static final class Instance implements AutoCloseable {
+        private final Process process;
+        private final long startNanos;
+        private final String baseUrl;
+        private final HttpClient client;
+        private final String token;
+        private final Duration timeout;
+        private final Path log;
+        private long listeningNanos;
+        private long readyNanos;
+
+        Instance(Process process, long startNanos, String baseUrl, HttpClient client, LocalJwtIssuer issuer, Duration timeout, Path log) {
+            this.process = process;
+            this.startNanos = startNanos;
+            this.baseUrl = baseUrl;
+            this.client = client;
+            this.token = issuer.issue(Traffic.userId(0), "user-0@loadtest.local", "Load Test User 0");
+            this.timeout = timeout;
+            this.log = log;
+        }
+
+        String baseUrl() {
+            return baseUrl;
+        }
+
+        Sample measure() throws IOException, InterruptedException {
+            awaitReady();
+            long firstListings = timed("/api/listings?limit=50", null);
+            long firstOrders = timed("/api/orders", token);
+            return new Sample(TimeUnit.NANOSECONDS.toMillis(listeningNanos), TimeUnit.NANOSECONDS.toMillis(readyNanos),
+                firstListings, firstOrders);
+        }
+
+        // Polls /readyz, noting when the port first answers and when the instance reports ready
+        void awaitReady() throws IOException, InterruptedException {
+            long deadline = startNanos + timeout.toNanos();
+            listeningNanos = -1;
+            while (true) {
+                int status = status("/readyz", null);
+                long elapsed = System.nanoTime() - startNanos;
+                if (status > 0 && listeningNanos < 0) {
+                    listeningNanos = elapsed;
+                }
+                if (status == 200) {
+                    readyNanos = elapsed;
+                    return;
+                }
+                if (!process.isAlive() || System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Application did not become ready, see " + log);
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+        }
+
+        // Latency in microseconds; a failed first request would make the numbers meaningless
+        private long timed(String path, String bearer) throws IOException, InterruptedException {
+            long start = System.nanoTime();
+            int status = status(path, bearer);
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            if (status != 200) {
+                throw new IllegalStateException("GET " + path + " returned " + status + ", see " + log);
+            }
+            return micros;
+        }
+
+        // The HTTP status, or 0 while nothing listens on the port yet
+        private int status(String path, String bearer) throws IOException, InterruptedException {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET();
+            if (bearer != null) {
+                request.header("Authorization", "Bearer " + bearer);
+            }
+            try {
+                return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (ConnectException e) {
+                return 0;
+            }
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    static String toTable(List<Result> results) {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-10s %7s %5s %12s %12s %12s %12s %14s%n",
+            "variant", "warmup", "runs", "listening", "ready", "ready max", "1st listings", "1st orders"));
+        for (Result result : results) {
+            table.append(String.format("%-10s %7s %5d %10dms %10dms %10dms %10.1fms %12.1fms%n",
+                result.variant(), result.warmup(), result.samples().size(),
+                result.median(Sample::listeningMillis), result.median(Sample::readyMillis), result.max(Sample::readyMillis),
+                result.median(Sample::firstListingsMicros) / 1000.0, result.median(Sample::firstOrdersMicros) / 1000.0));
+        }
+        table.append("medians over all runs, measured from process start").append(System.lineSeparator());
+        return table.toString();
+    }
+
+    static void writeJson(List<Result> results, Path file) throws IOException {
+        List<Map<String, Object>> variants = new ArrayList<>();
+        for (Result result : results) {
+            Map<String, Object> variant = new LinkedHashMap<>();
+            variant.put("variant", result.variant());
+            variant.put("warmup", result.warmup());
+            variant.put("listeningMillis", result.median(Sample::listeningMillis));
+            variant.put("readyMillis", result.median(Sample::readyMillis));
+            variant.put("readyMaxMillis", result.max(Sample::readyMillis));
+            variant.put("firstListingsMillis", result.median(Sample::firstListingsMicros) / 1000.0);
+            variant.put("firstOrdersMillis", result.median(Sample::firstOrdersMicros) / 1000.0);
+            variant.put("samples", result.samples());
+            variants.add(variant);
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), Map.of("variants", variants));
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.demo.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Sends one operation at a time as a synthetic user, the way the frontend does, and keeps
+ * the IDs it learns (groups, listings, pending payments) for the operations that need them.
+ *
+ * Checkout is split in two like the real flow: create-payment reserves an unsold listing so no
+ * two shoppers try to buy it, and execute-payment later completes one of the pending payments.
+ */
+public class Traffic {
+    // Returned when an operation has nothing to work on (e.g. no pending payment); it is not recorded
+    public static final int SKIPPED = -1;
+
+    private static final String[] CATEGORIES = {"Electronics", "Books", "Furniture", "Clothing", "Sports", "Other"};
+    private static final String[] CONDITIONS = {"New", "Like New", "Good", "Fair"};
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final List<String> tokens = new ArrayList<>();
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final IdPool<Long> listingIds = new IdPool<>();
+    private final IdPool<String> groupIds = new IdPool<>();
+    private final ConcurrentLinkedQueue<Listing> forSale = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<PendingPayment> pendingPayments = new ConcurrentLinkedQueue<>();
+
+    public Traffic(String baseUrl, LocalJwtIssuer issuer, int users) {
+        this.baseUrl = baseUrl;
+        for (int i = 0; i < users; i++) {
+            tokens.add(issuer.issue(userId(i), "user-" + i + "@loadtest.local", "Load Test User " + i));
+        }
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    }
+
+    public int users() {
+        return tokens.size();
+    }
+
+    static String userId(int user) {
+        return "loadtest|user-" + user;
+    }
+
+    // The HTTP status of the call, or SKIPPED
+    public int execute(Operation operation, int user) throws IOException, InterruptedException {
+        return switch (operation) {
+            case BROWSE_LISTINGS -> browseListings();
+            case BROWSE_GROUPS -> get("/api/groups", null).statusCode();
+            case LISTING_DETAIL -> listingIds.isEmpty() ? SKIPPED : get("/api/listings/" + listingIds.random(), null).statusCode();
+            case GROUP_DETAIL -> groupIds.isEmpty() ? SKIPPED : get("/api/groups/" + groupIds.random(), null).statusCode();
+            case CREATE_LISTING -> createListing(user);
+            case MY_ORDERS -> get("/api/orders", tokens.get(user)).statusCode();
+            case SOLD_ORDERS -> get("/api/orders/sold", tokens.get(user)).statusCode();
+            case CREATE_PAYMENT -> createPayment(user);
+            case EXECUTE_PAYMENT -> executePayment();
+        };
+    }
+
+    public void createGroup(int user) throws IOException, InterruptedException {
+        int n = ThreadLocalRandom.current().nextInt(1_000_000);
+        Map<String, Object> group = Map.of("name", "Load test group " + n, "description", "Created by the load test");
+        HttpResponse<String> response = post("/api/groups", tokens.get(user), group);
+        if (response.statusCode() == 201) {
+            groupIds.add(objectMapper.readTree(response.body()).path("id").asText());
+        } else {
+            throw new IllegalStateException("Could not create a group: " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    // GET /api/listings as the browse page sends it: mostly the plain feed, some category filters and card views
+    private int browseListings() throws IOException, InterruptedException {
+        int roll = ThreadLocalRandom.current().nextInt(10);
+        String query = "?limit=50";
+        if (roll < 2) {
+            query += "&category=" + CATEGORIES[ThreadLocalRandom.current().nextInt(CATEGORIES.length)];
+        } else if (roll == 2) {
+            query += "&view=card";
+        }
+        return get("/api/listings" + query, null).statusCode();
+    }
+
+    int createListing(int user) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> listing = new LinkedHashMap<>();
+        listing.put("itemName", "Load test item " + random.nextInt(1_000_000));
+        listing.put("category", CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        listing.put("price", 5 + random.nextInt(495));
+        listing.put("description", "Listed by the load test");
+        listing.put("condition", CONDITIONS[random.nextInt(CONDITIONS.length)]);
+        listing.put("imageUrl", "https://example.com/loadtest/" + random.nextInt(1000) + ".jpg");
+        listing.put("name", "Load Test User " + user);
+        listing.put("email", "user-" + user + "@loadtest.local");
+        listing.put("listingType", "sell");
+        if (!groupIds.isEmpty() && random.nextInt(4) == 0) {
+            listing.put("groupId", groupIds.random());
+        }
+
+        HttpResponse<String> response = post("/api/createListing", tokens.get(user), listing);
+        if (response.statusCode() == 201) {
+            JsonNode created = objectMapper.readTree(response.body());
+            long id = created.path("id").asLong();
+            listingIds.add(id);
+            forSale.add(new Listing(id, user, created.path("price").asInt(), created.path("itemName").asText()));
+        }
+        return response.statusCode();
+    }
+
+    private int createPayment(int user) throws IOException, InterruptedException {
+        Listing listing = forSale.poll();
+        if (listing == null) {
+            return SKIPPED;
+        }
+        // Nobody buys their own listing
+        int buyer = user == listing.seller() ? (user + 1) % tokens.size() : user;
+
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("listingId", listing.id());
+        request.put("price", listing.price());
+        request.put("itemName", listing.itemName());
+        request.put("buyerUserId", userId(buyer));
+        request.put("successUrl", "http://localhost:5173/payment/success");
+        request.put("cancelUrl", "http://localhost:5173/payment/cancel");
+
+        HttpResponse<String> response = post("/api/payments/create-payment", tokens.get(buyer), request);
+        if (response.statusCode() == 200) {
+            String paymentId = objectMapper.readTree(response.body()).path("paymentId").asText();
+            pendingPayments.add(new PendingPayment(paymentId, listing.id(), userId(buyer)));
+        } else {
+            // Put it back so another shopper can try
+            forSale.add(listing);
+        }
+        return response.statusCode();
+    }
+
+    private int executePayment() throws IOException, InterruptedException {
+        PendingPayment payment = pendingPayments.poll();
+        if (payment == null) {
+            return SKIPPED;
+        }
+        Map<String, Object> request = Map.of(
+            "paymentId", payment.paymentId(),
+            "payerId", "LOADTESTPAYER",
+            "listingId", String.valueOf(payment.listingId()),
+            "buyerUserId", payment.buyerUserId());
+        return post("/api/payments/execute", null, request).statusCode();
+    }
+
+    private HttpResponse<String> get(String path, String token) throws IOException, InterruptedException {
+        return send(request(path, token).GET().build());
+    }
+
+    private HttpResponse<String> post(String path, String token, Object body) throws IOException, InterruptedException {
+        return send(request(path, token)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+            .build());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    record Listing(long id, int seller, int price, String itemName) {
+    }
+
+    record PendingPayment(String paymentId, long listingId, String buyerUserId) {
+    }
+
+    // Append-only IDs with random picks; writes are rare next to reads
+    private static final class IdPool<T> {
+        private final List<T> ids = new ArrayList<>();
+
+        synchronized void add(T id) {
+            ids.add(id);
+        }
+
+        synchronized boolean isEmpty() {
+            return ids.isEmpty();
+        }
+
+        synchronized T random() {
+            return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+    }
+}
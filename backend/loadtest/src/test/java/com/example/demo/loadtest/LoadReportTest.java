@@ -0,0 +1,89 @@
+package com.example.demo.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Percentiles, throughput and SLO checks of a run
+ */
+class LoadReportTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void percentilesAndThroughputComeFromTheRecordedWindow() {
+        EndpointStats stats = new EndpointStats(Operation.BROWSE_LISTINGS);
+        stats.record(Duration.ofMillis(500).toNanos(), true); // warmup, discarded
+        stats.reset();
+        for (int i = 1; i <= 100; i++) {
+            stats.record(Duration.ofMillis(i).toNanos(), i == 100);
+        }
+
+        EndpointStats.Result result = stats.snapshot(Duration.ofSeconds(10));
+
+        assertEquals(100, result.count());
+        assertEquals(1, result.errors());
+        assertEquals(10.0, result.throughput(), 0.001);
+        assertEquals(50, result.p50Micros() / 1000);
+        assertEquals(95, result.p95Micros() / 1000);
+        assertEquals(99, result.p99Micros() / 1000);
+    }
+
+    @Test
+    void endpointSloOverridesTheDefault() {
+        LoadTestConfig config = config(
+            "slo.default.p95", "50ms",
+            "slo.browse-listings.p95", "200ms",
+            "slo.default.error-rate", "0.05");
+
+        LoadReport report = new LoadReport(Duration.ofSeconds(10), List.of(
+            result(Operation.BROWSE_LISTINGS, 120, 0),
+            result(Operation.BROWSE_GROUPS, 40, 0)), config::getSlo);
+
+        assertTrue(report.passed(), report.getBreaches().toString());
+    }
+
+    @Test
+    void breachesAreReported() throws Exception {
+        LoadTestConfig config = config("slo.default.p95", "100ms", "slo.default.error-rate", "0.01");
+
+        LoadReport report = new LoadReport(Duration.ofSeconds(10), List.of(
+            result(Operation.LISTING_DETAIL, 150, 0),
+            result(Operation.CREATE_LISTING, 20, 5),
+            new EndpointStats.Result(Operation.EXECUTE_PAYMENT, 0, 0, 0, 0, 0, 0, 0)), config::getSlo);
+
+        assertFalse(report.passed());
+        assertEquals(3, report.getBreaches().size());
+        assertTrue(report.getBreaches().get(0).contains("p95 150.0ms > 100.0ms"));
+        assertTrue(report.getBreaches().get(1).contains("error rate"));
+        assertTrue(report.getBreaches().get(2).contains("no requests completed"));
+
+        Path file = tempDir.resolve("report.json");
+        report.writeJson(file);
+        assertTrue(Files.readString(file).contains("\"passed\" : false"));
+    }
+
+    // 100 requests, p95 as given, errors out of 100
+    private static EndpointStats.Result result(Operation operation, long p95Millis, long errors) {
+        return new EndpointStats.Result(operation, 100, errors, 10, 1000, p95Millis * 1000, p95Millis * 1000, p95Millis * 1000);
+    }
+
+    private static LoadTestConfig config(String... keyValues) {
+        Properties properties = new Properties();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            properties.setProperty(keyValues[i], keyValues[i + 1]);
+        }
+        return new LoadTestConfig(properties);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import com.example.demo.Service.PayPalClient;
+import com.example.demo.config.IssuerJwtDecoder;
+import com.example.demo.config.PayPalConfig;
+import com.paypal.api.payments.Amount;
+import com.paypal.api.payments.Payer;
+import com.paypal.api.payments.Payment;
+import com.paypal.api.payments.PaymentExecution;
+import com.paypal.api.payments.RedirectUrls;
+import com.paypal.api.payments.Transaction;
+
+/**
+ * The local issuer and the PayPal stub as the application sees them
+ */
+class StandInsTest {
+
+    @Test
+    void issuedTokensPassIssuerDiscoveryAndValidation() throws Exception {
+        try (LocalJwtIssuer issuer = new LocalJwtIssuer();
+             // Same decoder SecurityConfig builds for Auth0
+             IssuerJwtDecoder decoder = new IssuerJwtDecoder(issuer.getIssuer(), Duration.ofSeconds(5),
+                 Duration.ofMinutes(15), Duration.ofMinutes(1), Duration.ofSeconds(10))) {
+
+            Jwt jwt = decoder.decode(issuer.issue("loadtest|user-1", "user-1@loadtest.local", "User 1"));
+
+            assertEquals("loadtest|user-1", jwt.getSubject());
+            assertEquals("user-1@loadtest.local", jwt.getClaimAsString("email"));
+        }
+    }
+
+    @Test
+    void payPalStubCreatesAndApprovesPayments() throws Exception {
+        try (PayPalStub stub = new PayPalStub(Duration.ZERO)) {
+            PayPalClient client = new PayPalClient(new PayPalConfig("loadtest", "loadtest", "sandbox",
+                stub.getBaseUrl(), Duration.ofMinutes(5)));
+            try {
+                Payment created = client.call(newPayment()::create);
+                assertEquals("created", created.getState());
+                assertEquals("approval_url", created.getLinks().get(0).getRel());
+
+                PaymentExecution execution = new PaymentExecution();
+                execution.setPayerId("LOADTESTPAYER");
+                Payment executed = client.call(apiContext -> created.execute(apiContext, execution));
+                assertEquals("approved", executed.getState());
+                assertEquals("buyer@loadtest.local", executed.getPayer().getPayerInfo().getEmail());
+            } finally {
+                client.destroy();
+            }
+        }
+    }
+
+    private static Payment newPayment() {
+        Amount amount = new Amount();
+        amount.setCurrency("USD");
+        amount.setTotal("10.00");
+        Transaction transaction = new Transaction();
+        transaction.setAmount(amount);
+        Payer payer = new Payer();
+        payer.setPaymentMethod("paypal");
+        RedirectUrls redirectUrls = new RedirectUrls();
+        redirectUrls.setReturnUrl("http://localhost/success");
+        redirectUrls.setCancelUrl("http://localhost/cancel");
+        Payment payment = new Payment();
+        payment.setIntent("sale");
+        payment.setPayer(payer);
+        payment.setTransactions(List.of(transaction));
+        payment.setRedirectUrls(redirectUrls);
+        return payment;
+    }
+}
@@ -1,12 +1,24 @@
 package com.example.demo.Controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import com.example.demo.Service.CatalogVersions;
+import com.example.demo.Service.ItemService;
+import com.example.demo.util.FieldSelection;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.example.demo.Service.GroupService;
 import com.example.demo.util.JwtUtils;
 import com.example.demo.Entity.Group;
 import com.example.demo.dto.GroupDto;
+import com.example.demo.dto.ListingPage;
+import com.example.demo.dto.ListingQuery;
+import com.example.demo.util.ListingCursor;
 import java.util.List;
 import java.util.Map;
 
@@ -14,32 +26,115 @@ import java.util.Map;
 @RequestMapping("api")
 @CrossOrigin(origins = {"http://localhost:5173", "https://tru-swap.vercel.app", "https://tru-swap-git-main-prabeen6260s-projects.vercel.app"})
 public class GroupController {
+    private static final Logger log = LoggerFactory.getLogger(GroupController.class);
+    private static final int MAX_PAGE_SIZE = 200;
     private final GroupService groupService;
+    private final ItemService itemService;
+    private final CatalogVersions catalogVersions;
+    private final CacheControl catalogCacheControl;
+    private final ObjectMapper objectMapper;
     
-    public GroupController(GroupService groupService) {
+    public GroupController(GroupService groupService, ItemService itemService, CatalogVersions catalogVersions,
+                           CacheControl catalogCacheControl, ObjectMapper objectMapper) {
         this.groupService = groupService;
+        this.itemService = itemService;
+        this.catalogVersions = catalogVersions;
+        this.catalogCacheControl = catalogCacheControl;
+        this.objectMapper = objectMapper;
     }
     
-    // Get all groups (public)
+    // Get all groups (public), 304 while no group has changed
+    // fields=a,b returns only the named fields (plus id), projected in MongoDB
     @GetMapping("/groups")
-    public ResponseEntity<List<Group>> getAllGroups() {
-        List<Group> groups = groupService.getAllGroups();
-        return ResponseEntity.ok(groups);
+    public ResponseEntity<?> getAllGroups(@RequestParam(required = false) String fields, WebRequest request) {
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, Group.class, objectMapper);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(Map.of("error", e.getMessage()));
+        }
+        CatalogVersions.Stamp version = catalogVersions.groups();
+        if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(catalogCacheControl).build();
+        }
+        List<Group> groups = groupService.getAllGroups(selection);
+        return ResponseEntity.ok().cacheControl(catalogCacheControl).body(FieldSelection.render(selection, groups));
     }
     
-    // Get a single group by ID (public)
+    // Get a single group by ID (public), 304 while the group is unchanged
+    // fields=a,b trims the response; the lookup itself is served by the entity cache
     @GetMapping("/groups/{id}")
-    public ResponseEntity<Group> getGroupById(@PathVariable String id) {
+    public ResponseEntity<?> getGroupById(@PathVariable String id,
+                                          @RequestParam(required = false) String fields,
+                                          WebRequest request) {
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, Group.class, objectMapper);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(Map.of("error", e.getMessage()));
+        }
+        CatalogVersions.Stamp version = catalogVersions.group(id);
+        if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(catalogCacheControl).build();
+        }
         Group group = groupService.getGroupById(id);
         if (group != null) {
-            return ResponseEntity.ok(group);
+            return ResponseEntity.ok().cacheControl(catalogCacheControl).body(FieldSelection.render(selection, group));
         }
         return ResponseEntity.notFound().build();
     }
     
-    // Get groups created by the authenticated user
+    // A group's unsold listings, newest first (public), keyset-paged like /api/listings with the cursor in X-Next-Cursor
+    // Served by group_feed_idx; view=card returns browse-grid cards. 304 while no listing has changed
+    @GetMapping("/groups/{id}/listings")
+    public ResponseEntity<?> getGroupListings(@PathVariable String id,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "50") int limit,
+                                              @RequestParam(required = false) String view,
+                                              WebRequest request) {
+        boolean cards = "card".equals(view);
+        if (view != null && !cards) {
+            return ResponseEntity.status(400).body(Map.of("error", "Unknown view: " + view));
+        }
+        ListingQuery query = new ListingQuery();
+        query.setGroupId(id);
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                ListingCursor position = ListingCursor.decode(cursor);
+                query.setAfterDatePosted(position.getDatePosted());
+                query.setAfterId(position.getId());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(400).body(Map.of("error", "Invalid cursor"));
+            }
+        }
+        query.setLimit(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+
+        CatalogVersions.Stamp version = catalogVersions.listings();
+        if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(catalogCacheControl).build();
+        }
+
+        ListingPage<?> page = cards ? itemService.getListingCardsPage(query) : itemService.getListingsPage(query);
+        // Only an empty page needs to tell a missing group from one with nothing on sale
+        if (page.getItems().isEmpty() && groupService.getGroupById(id) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(catalogCacheControl);
+        if (page.getNextCursor() != null) {
+            response.header(ItemsController.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+    
+    // Get groups created by the authenticated user (fields=a,b returns only the named fields plus id)
     @GetMapping("/groups/my-groups")
-    public ResponseEntity<?> getMyGroups(Authentication authentication) {
+    public ResponseEntity<?> getMyGroups(@RequestParam(required = false) String fields, Authentication authentication) {
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, Group.class, objectMapper);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(Map.of("error", e.getMessage()));
+        }
         try {
             if (authentication == null) {
                 return ResponseEntity.status(401).body(Map.of("error", "Unauthorized", "message", "Authentication required"));
@@ -50,10 +145,10 @@ public class GroupController {
                 return ResponseEntity.status(401).body(Map.of("error", "Could not extract user ID from token"));
             }
             
-            List<Group> groups = groupService.getGroupsByUser(userId);
-            return ResponseEntity.ok(groups);
+            List<Group> groups = groupService.getGroupsByUser(userId, selection);
+            return ResponseEntity.ok(FieldSelection.render(selection, groups));
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Error fetching groups of the current user", e);
             return ResponseEntity.status(500).body(Map.of(
                 "error", "Failed to fetch groups",
                 "message", e.getMessage()
@@ -90,7 +185,7 @@ public class GroupController {
             Group newGroup = groupService.createGroup(groupDto, userId, userName, userEmail);
             return ResponseEntity.status(201).body(newGroup);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to create group", e);
             return ResponseEntity.status(500).body(Map.of(
                 "error", "Failed to create group",
                 "message", e.getMessage()
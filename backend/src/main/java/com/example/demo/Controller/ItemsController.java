@@ -1,9 +1,16 @@
 package com.example.demo.Controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -11,37 +18,202 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.demo.Entity.Items;
+import com.example.demo.Service.BulkListingService;
+import com.example.demo.Service.CatalogVersions;
 import com.example.demo.Service.ItemService;
+import com.example.demo.Service.ListingSuggestIndex;
+import com.example.demo.dto.BulkListingResult;
 import com.example.demo.dto.ItemsDto;
+import com.example.demo.dto.ListingPage;
+import com.example.demo.dto.ListingQuery;
+import com.example.demo.dto.ListingSuggestion;
+import com.example.demo.util.FieldSelection;
 import com.example.demo.util.JwtUtils;
+import com.example.demo.util.ListingCursor;
+import com.example.demo.util.SearchCursor;
+import com.example.demo.util.StreamingJson;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RequestMapping
 @RestController
 @CrossOrigin(origins = {"http://localhost:5173", "https://tru-swap.vercel.app", "https://tru-swap-git-main-prabeen6260s-projects.vercel.app"})
 public class ItemsController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final Logger log = LoggerFactory.getLogger(ItemsController.class);
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_SUGGESTIONS = 25;
+
     private final ItemService itemService;
+    private final BulkListingService bulkListingService;
+    private final ListingSuggestIndex suggestIndex;
+    private final CatalogVersions catalogVersions;
+    private final CacheControl catalogCacheControl;
+    private final ObjectMapper objectMapper;
     
-    public ItemsController(ItemService itemService) {
+    public ItemsController(ItemService itemService, BulkListingService bulkListingService,
+                           ListingSuggestIndex suggestIndex, CatalogVersions catalogVersions,
+                           CacheControl catalogCacheControl, ObjectMapper objectMapper) {
         this.itemService = itemService;
+        this.bulkListingService = bulkListingService;
+        this.suggestIndex = suggestIndex;
+        this.catalogVersions = catalogVersions;
+        this.catalogCacheControl = catalogCacheControl;
+        this.objectMapper = objectMapper;
     }
     
-    // Get all listings (public, no auth required)
+    // Get a page of listings (public, no auth required)
+    // The body stays a plain array; the cursor for the next page is returned in the X-Next-Cursor header
+    // Answers If-None-Match / If-Modified-Since with 304 while no listing has changed, without querying MongoDB
+    // view=card returns only what the browse grid shows; fields=a,b returns only the named fields (plus id)
     @GetMapping("api/listings")
-    public ResponseEntity<List<Items>> getAllListings() {
-        List<Items> items = itemService.getAllItems();
-        return ResponseEntity.ok(items);
+    public ResponseEntity<?> getAllListings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String groupId,
+            @RequestParam(required = false) String listingType,
+            @RequestParam(required = false) String condition,
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+
+        boolean cards = "card".equals(view);
+        if (view != null && !cards) {
+            return ResponseEntity.status(400).body(Map.of("error", "Unknown view: " + view));
+        }
+        if (cards && fields != null) {
+            return ResponseEntity.status(400).body(Map.of("error", "Use either view=card or fields, not both"));
+        }
+
+        ListingQuery query = new ListingQuery();
+        try {
+            query.setFields(FieldSelection.parse(fields, Items.class, objectMapper));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(Map.of("error", e.getMessage()));
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                ListingCursor position = ListingCursor.decode(cursor);
+                query.setAfterDatePosted(position.getDatePosted());
+                query.setAfterId(position.getId());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(400).body(Map.of("error", "Invalid cursor"));
+            }
+        }
+        query.setLimit(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        query.setCategory(category);
+        query.setGroupId(groupId);
+        query.setListingType(listingType);
+        query.setCondition(condition);
+        query.setMinPrice(minPrice);
+        query.setMaxPrice(maxPrice);
+
+        // Only a valid request can be answered with 304. Read the version before the query:
+        // a write landing in between only costs the client one extra 200
+        CatalogVersions.Stamp version = catalogVersions.listings();
+        if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(catalogCacheControl).build();
+        }
+
+        ListingPage<?> page = cards ? itemService.getListingCardsPage(query) : itemService.getListingsPage(query);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(catalogCacheControl);
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(FieldSelection.render(query.getFields(), page.getItems()));
+    }
+    
+    // Every unsold listing matching the filters in one response (public), newest first
+    // Streamed from a Mongo cursor as a JSON array, or NDJSON with Accept: application/x-ndjson,
+    // so memory stays flat however many listings there are
+    @GetMapping("api/listings/export")
+    public ResponseEntity<StreamingResponseBody> exportListings(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String groupId,
+            @RequestParam(required = false) String listingType,
+            @RequestParam(required = false) String condition,
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice,
+            @RequestHeader(value = "Accept", required = false) String accept) {
+        ListingQuery query = new ListingQuery();
+        query.setCategory(category);
+        query.setGroupId(groupId);
+        query.setListingType(listingType);
+        query.setCondition(condition);
+        query.setMinPrice(minPrice);
+        query.setMaxPrice(maxPrice);
+
+        boolean ndjson = StreamingJson.wantsNdjson(accept);
+        return ResponseEntity.ok()
+            .contentType(StreamingJson.contentType(ndjson))
+            .body(StreamingJson.body(objectMapper, ndjson, () -> itemService.streamListings(query)));
+    }
+    
+    // Keyword search (public): weighted text index, best matches first, cursor in X-Next-Cursor
+    // Supports stemming, "quoted phrases" and -excluded words
+    @GetMapping("api/listings/search")
+    public ResponseEntity<?> searchListings(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.status(400).body(Map.of("error", "Query parameter q is required"));
+        }
+        SearchCursor after = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                after = SearchCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(400).body(Map.of("error", "Invalid cursor"));
+            }
+        }
+        ListingPage<Items> page = itemService.searchListings(q, after, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+    
+    // Typeahead suggestions for the search box (public), served from the in-memory prefix index
+    @GetMapping("api/listings/suggest")
+    public ResponseEntity<List<ListingSuggestion>> suggestListings(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(suggestIndex.suggest(q, Math.max(0, Math.min(limit, MAX_SUGGESTIONS))));
     }
     
     // Get a single listing by ID
+    // fields=a,b trims the response; the lookup itself is served by the entity cache, so it reads whole documents
     @GetMapping("api/listings/{id}")
-    public ResponseEntity<Items> getListingById(@PathVariable Long id) {
+    public ResponseEntity<?> getListingById(@PathVariable Long id,
+                                            @RequestParam(required = false) String fields,
+                                            WebRequest request) {
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, Items.class, objectMapper);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(Map.of("error", e.getMessage()));
+        }
+        CatalogVersions.Stamp version = catalogVersions.listing(id);
+        if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(catalogCacheControl).build();
+        }
         Optional<Items> item = itemService.getItemById(id);
         if (item.isPresent()) {
-            return ResponseEntity.ok(item.get());
+            return ResponseEntity.ok().cacheControl(catalogCacheControl).body(FieldSelection.render(selection, item.get()));
         }
         return ResponseEntity.notFound().build();
     }
@@ -68,7 +240,7 @@ public class ItemsController {
             Items newItem = itemService.createListing(itemsDto, userId);
             return ResponseEntity.status(201).body(newItem);
         } catch (Exception e) {
-            e.printStackTrace(); // Log the error
+            log.error("Failed to create listing", e);
             return ResponseEntity.status(500).body(Map.of(
                 "error", "Failed to create listing",
                 "message", e.getMessage()
@@ -76,27 +248,61 @@ public class ItemsController {
         }
     }
     
-    // Get user's own listings (requires authentication)
-    @GetMapping("api/my-listings")
-    public ResponseEntity<?> getMyListings(Authentication authentication) {
-        try {
-            if (authentication == null) {
-                return ResponseEntity.status(401).body(Map.of("error", "Unauthorized", "message", "Authentication required"));
-            }
-            
-            String userId = JwtUtils.getUserId(authentication);
-            if (userId == null || userId.isEmpty()) {
-                return ResponseEntity.status(401).body(Map.of("error", "Could not extract user ID from token"));
+    // Create many listings at once (requires authentication), e.g. a seller moving their inventory over
+    // The body is a JSON array of listings or NDJSON (one listing per line), read one listing at a time
+    // Every listing gets a result in request order: its new id, or the error that kept it out
+    // 201 if at least one listing was created, 400 if none was
+    @PostMapping("api/listings/bulk")
+    public ResponseEntity<?> createListingsBulk(InputStream body, Authentication authentication) {
+        String userId = JwtUtils.getUserId(authentication);
+        if (userId == null || userId.isEmpty()) {
+            return ResponseEntity.status(401).body(Map.of("error", "Unauthorized: Invalid user ID"));
+        }
+
+        int maxItems = bulkListingService.getMaxItems();
+        List<ItemsDto> listings = new ArrayList<>();
+        // readValues walks the elements of a top-level array, or a sequence of top-level objects (NDJSON)
+        try (MappingIterator<ItemsDto> values = objectMapper.readerFor(ItemsDto.class).readValues(body)) {
+            while (values.hasNextValue()) {
+                if (listings.size() == maxItems) {
+                    return ResponseEntity.status(413).body(Map.of("error", "At most " + maxItems + " listings per request"));
+                }
+                listings.add(values.nextValue());
             }
-            
-            List<Items> items = itemService.getItems(userId);
-            return ResponseEntity.ok(items);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(500).body(Map.of(
-                "error", "Failed to fetch listings",
-                "message", e.getMessage()
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.status(400).body(Map.of(
+                "error", "Invalid listing at index " + listings.size(),
+                "message", e.getOriginalMessage()
             ));
+        } catch (IOException e) {
+            return ResponseEntity.status(400).body(Map.of("error", "Could not read request body"));
+        }
+        if (listings.isEmpty()) {
+            return ResponseEntity.status(400).body(Map.of("error", "No listings in request body"));
+        }
+
+        BulkListingResult result = bulkListingService.importListings(listings, userId);
+        return ResponseEntity.status(result.getCreated() > 0 ? 201 : 400).body(result);
+    }
+    
+    // Get user's own listings (requires authentication)
+    // Streamed from a Mongo cursor as a JSON array, or NDJSON with Accept: application/x-ndjson
+    // (Errors are StreamingResponseBody too: Spring only streams when the declared body type says so)
+    @GetMapping("api/my-listings")
+    public ResponseEntity<StreamingResponseBody> getMyListings(Authentication authentication,
+                                                               @RequestHeader(value = "Accept", required = false) String accept) {
+        if (authentication == null) {
+            return StreamingJson.error(objectMapper, 401, Map.of("error", "Unauthorized", "message", "Authentication required"));
         }
+        
+        String userId = JwtUtils.getUserId(authentication);
+        if (userId == null || userId.isEmpty()) {
+            return StreamingJson.error(objectMapper, 401, Map.of("error", "Could not extract user ID from token"));
+        }
+        
+        boolean ndjson = StreamingJson.wantsNdjson(accept);
+        return ResponseEntity.ok()
+            .contentType(StreamingJson.contentType(ndjson))
+            .body(StreamingJson.body(objectMapper, ndjson, () -> itemService.streamItems(userId)));
     }
 }
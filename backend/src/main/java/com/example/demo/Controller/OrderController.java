@@ -1,10 +1,16 @@
 package com.example.demo.Controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import com.example.demo.Service.OrderService;
+import com.example.demo.util.FieldSelection;
 import com.example.demo.util.JwtUtils;
+import com.example.demo.util.StreamingJson;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.example.demo.Entity.Order;
 import java.util.List;
 import java.util.Map;
@@ -13,51 +19,69 @@ import java.util.Map;
 @RequestMapping("api")
 @CrossOrigin(origins = {"http://localhost:5173", "https://tru-swap.vercel.app", "https://tru-swap-git-main-prabeen6260s-projects.vercel.app"})
 public class OrderController {
+    private static final Logger log = LoggerFactory.getLogger(OrderController.class);
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final OrderService orderService;
+    private final ObjectMapper objectMapper;
     
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, ObjectMapper objectMapper) {
         this.orderService = orderService;
+        this.objectMapper = objectMapper;
     }
     
-    // Get orders for the authenticated user
+    // Get orders for the authenticated user (fields=a,b returns only the named fields plus id)
     @GetMapping("/orders")
-    public ResponseEntity<?> getOrders(Authentication authentication) {
+    public ResponseEntity<?> getOrders(@RequestParam(required = false) String fields, Authentication authentication) {
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, Order.class, objectMapper);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(Map.of("error", e.getMessage()));
+        }
         try {
             if (authentication == null) {
                 return ResponseEntity.status(401).body(Map.of("error", "Unauthorized", "message", "Authentication required"));
             }
             
             String userId = JwtUtils.getUserId(authentication);
-            System.out.println("Getting orders for user ID: " + userId); // Debug log
-            
             if (userId == null || userId.isEmpty()) {
                 return ResponseEntity.status(401).body(Map.of("error", "Could not extract user ID from token"));
             }
             
             // Try to get orders by user ID first (more reliable)
-            List<Order> orders = orderService.getOrdersByBuyerUserId(userId);
+            List<Order> orders = orderService.getOrdersByBuyerUserId(userId, selection);
             
             // If no orders found by user ID, try by email as fallback
             if (orders.isEmpty()) {
                 String userEmail = JwtUtils.getEmail(authentication);
-                System.out.println("No orders by user ID, trying email: " + userEmail);
+                log.debug("No orders for user {}, trying their email", userId);
                 if (userEmail != null && !userEmail.isEmpty()) {
-                    orders = orderService.getOrdersByBuyer(userEmail);
+                    orders = orderService.getOrdersByBuyer(userEmail, selection);
                 }
             }
             
-            System.out.println("Found " + orders.size() + " orders for user: " + userId); // Debug log
-            return ResponseEntity.ok(orders);
+            log.debug("Found {} orders for user {}", orders.size(), userId);
+            return ResponseEntity.ok(FieldSelection.render(selection, orders));
         } catch (Exception e) {
-            System.out.println("Error in getOrders: " + e.getMessage()); // Debug log
-            e.printStackTrace();
+            log.error("Error in getOrders", e);
             return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
         }
     }
     
-    // Get sold items (orders where user is the seller)
+    // Get sold items (orders where user is the seller), optionally only the named fields
     @GetMapping("/orders/sold")
-    public ResponseEntity<?> getSoldItems(Authentication authentication) {
+    public ResponseEntity<?> getSoldItems(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String fields,
+            Authentication authentication) {
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, Order.class, objectMapper);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(Map.of("error", e.getMessage()));
+        }
         try {
             if (authentication == null) {
                 return ResponseEntity.status(401).body(Map.of("error", "Unauthorized", "message", "Authentication required"));
@@ -71,25 +95,27 @@ public class OrderController {
                 if (userEmail == null || userEmail.isEmpty()) {
                     return ResponseEntity.status(401).body(Map.of("error", "Could not extract user ID or email from token"));
                 }
-                List<Order> orders = orderService.getOrdersBySeller(userEmail);
-                return ResponseEntity.ok(orders);
+                List<Order> orders = orderService.getOrdersBySeller(userEmail, selection);
+                return ResponseEntity.ok(FieldSelection.render(selection, orders));
             }
             
-            // Use userId to find orders - get all listings owned by user, then find orders for those listings
-            List<Order> orders = orderService.getOrdersBySellerUserId(userId);
-            return ResponseEntity.ok(orders);
+            // Use userId to find orders - served from the sellerUserId index, one page at a time
+            List<Order> orders = orderService.getOrdersBySellerUserId(userId, Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)), selection);
+            return ResponseEntity.ok(FieldSelection.render(selection, orders));
         } catch (Exception e) {
-            System.out.println("Error in getSoldItems: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in getSoldItems", e);
             return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
         }
     }
     
     // Get all orders (for admin - optional)
+    // Streamed from a Mongo cursor as a JSON array, or NDJSON with Accept: application/x-ndjson
     @GetMapping("/orders/all")
-    public ResponseEntity<List<Order>> getAllOrders() {
-        List<Order> orders = orderService.getAllOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<StreamingResponseBody> getAllOrders(@RequestHeader(value = "Accept", required = false) String accept) {
+        boolean ndjson = StreamingJson.wantsNdjson(accept);
+        return ResponseEntity.ok()
+            .contentType(StreamingJson.contentType(ndjson))
+            .body(StreamingJson.body(objectMapper, ndjson, orderService::streamAllOrders));
     }
 }
 
@@ -4,32 +4,33 @@ import com.example.demo.Service.ItemService;
 import com.example.demo.Service.PaymentService;
 import com.example.demo.Service.OrderService;
 import com.example.demo.dto.PayPalPaymentRequest;
+import com.example.demo.Entity.Items;
 import com.example.demo.Entity.Order;
-import com.example.demo.config.PayPalConfig;
+import com.example.demo.Entity.PaymentMetadata;
 import com.paypal.api.payments.Payment;
-import com.paypal.base.rest.APIContext;
 import com.paypal.base.rest.PayPalRESTException;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.core.Authentication;
 import com.example.demo.util.JwtUtils;
 
 import java.util.Map;
-import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("api")
 @CrossOrigin(origins = {"http://localhost:5173", "https://tru-swap.vercel.app", "https://tru-swap-git-main-prabeen6260s-projects.vercel.app"})
 public class PaymentController {
     
+    private static final Logger log = LoggerFactory.getLogger(PaymentController.class);
+    
     private final PaymentService paymentService;
     private final ItemService itemService;
     private final OrderService orderService;
     
-    @Autowired
-    private PayPalConfig payPalConfig;
-    
     public PaymentController(PaymentService paymentService, ItemService itemService, OrderService orderService) {
         this.paymentService = paymentService;
         this.itemService = itemService;
@@ -46,11 +47,11 @@ public class PaymentController {
             
             // Validate listingId
             if (request.getListingId() == null || request.getListingId() == 0) {
-                System.out.println("Invalid listingId in createPayment request: " + request.getListingId());
+                log.debug("Rejected createPayment with invalid listingId {}", request.getListingId());
                 return ResponseEntity.status(400).body(Map.of("error", "Invalid listingId", "message", "listingId must be provided and non-zero"));
             }
             
-            System.out.println("Creating payment for listingId: " + request.getListingId() + ", buyerUserId: " + request.getBuyerUserId());
+            log.debug("Creating payment for listing {}, buyer {}", request.getListingId(), request.getBuyerUserId());
             
             // Get buyer info from request or JWT token
             String buyerEmail = request.getBuyerEmail();
@@ -75,15 +76,16 @@ public class PaymentController {
             
             // Create PayPal payment
             Map<String, String> response = paymentService.createPayment(request);
-            System.out.println("Payment created successfully, paymentId: " + response.get("paymentId"));
+            log.info("Created payment {} for listing {}", response.get("paymentId"), request.getListingId());
             return ResponseEntity.ok(response);
         } catch (PayPalRESTException e) {
-            System.out.println("PayPal error: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("PayPal payment creation failed for listing {} (status {})", request.getListingId(), e.getResponsecode(), e);
+            if (e.getResponsecode() == 503) {
+                return ResponseEntity.status(503).header("Retry-After", "5").body(Map.of("error", "PayPal is busy or unavailable", "message", e.getMessage()));
+            }
             return ResponseEntity.status(500).body(Map.of("error", "PayPal payment creation failed", "message", e.getMessage()));
         } catch (Exception e) {
-            System.out.println("Error creating payment: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error creating payment for listing {}", request.getListingId(), e);
             return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
         }
     }
@@ -97,138 +99,187 @@ public class PaymentController {
             String listingIdStr = request.get("listingId");
             String buyerUserId = request.get("buyerUserId");
             
-            System.out.println("Executing payment - paymentId: " + paymentId + ", payerId: " + payerId + ", listingId: " + listingIdStr + ", buyerUserId: " + buyerUserId);
+            log.debug("Executing payment {} (payer {}, listing {}, buyer {})", paymentId, payerId, listingIdStr, buyerUserId);
             
             if (paymentId == null || payerId == null) {
                 return ResponseEntity.status(400).body(Map.of("error", "Missing required parameters: paymentId and payerId"));
             }
             
-            // Try to get listingId and buyerUserId from stored metadata if not provided
-            PaymentService.PaymentMetadata metadata = paymentService.getPaymentMetadata(paymentId);
-            System.out.println("Metadata lookup for paymentId " + paymentId + ": " + (metadata != null ? "found" : "not found"));
-            
+            // The listing is the one this payment was created for; the request body may only confirm it
+            PaymentMetadata metadata = paymentService.getPaymentMetadata(paymentId);
+            Long listingId;
             if (metadata != null) {
-                if (listingIdStr == null || listingIdStr.isEmpty() || "0".equals(listingIdStr)) {
-                    listingIdStr = metadata.getListingId().toString();
-                    System.out.println("Using listingId from metadata: " + listingIdStr);
-                }
+                listingId = metadata.getListingId();
                 if (buyerUserId == null || buyerUserId.isEmpty()) {
                     buyerUserId = metadata.getBuyerUserId();
-                    System.out.println("Using buyerUserId from metadata: " + buyerUserId);
+                    log.debug("Using buyer {} from payment metadata", buyerUserId);
                 }
             } else {
-                System.out.println("No metadata found for paymentId: " + paymentId);
+                // Metadata expired or was lost; create-payment also put the listing in the transaction's custom field
+                log.debug("No metadata for payment {}, reading its listing from PayPal", paymentId);
+                listingId = listingIdOf(paymentService.getPayment(paymentId));
             }
             
-            // Final validation - if still invalid, return error
-            if (listingIdStr == null || listingIdStr.isEmpty() || "0".equals(listingIdStr)) {
-                System.out.println("Invalid listingId after metadata lookup: " + listingIdStr);
+            if (listingId == null || listingId == 0) {
+                log.debug("Payment {} has no usable listingId", paymentId);
                 return ResponseEntity.status(400).body(Map.of(
                     "error", "Invalid listingId", 
                     "details", "listingId from request: " + request.get("listingId") + ", metadata: " + (metadata != null ? metadata.getListingId() : "null")
                 ));
             }
+            if (listingIdStr != null && !listingIdStr.isEmpty() && !"0".equals(listingIdStr) && !listingIdStr.equals(listingId.toString())) {
+                log.info("Payment {} is for listing {}, rejected request for listing {}", paymentId, listingId, listingIdStr);
+                return ResponseEntity.status(400).body(Map.of("error", "listingId does not match the payment"));
+            }
             
-            // Execute payment
-            Payment payment = null;
+            // Atomically claim the listing (isSold false -> true) before PayPal captures anything,
+            // so a buyer who lost the race to another buyer is never charged
+            Optional<Items> claimed = itemService.claimListing(listingId);
+            log.debug("Payment {} claimed listing {}: {}", paymentId, listingId, claimed.isPresent());
+            
+            if (claimed.isEmpty()) {
+                // Already sold or missing - if it was sold by this very payment, this is a retry
+                if (orderService.getOrderByPaymentId(paymentId).isPresent()) {
+                    log.debug("Order already exists for payment {}", paymentId);
+                    return alreadyProcessed();
+                }
+                log.info("Payment {} could not claim listing {}: not found or already sold", paymentId, listingId);
+                return ResponseEntity.status(409).body(Map.of("error", "Listing not found or already sold"));
+            }
+            
+            // Execute payment; from here on every path that does not record an order releases the claim,
+            // except when PayPal may have captured and cannot tell us (kept for reconciliation)
+            Payment payment;
             boolean paymentAlreadyDone = false;
             
             try {
                 payment = paymentService.executePayment(paymentId, payerId);
-                System.out.println("Payment state: " + payment.getState());
-            } catch (PayPalRESTException e) {
+                log.debug("Payment {} state: {}", paymentId, payment.getState());
+            } catch (PayPalRESTException | RuntimeException e) {
                 // Check if payment was already executed
                 if (e.getMessage() != null && (e.getMessage().contains("PAYMENT_ALREADY_DONE") || 
                     e.getMessage().contains("Payment already executed"))) {
-                    System.out.println("Payment already executed, fetching payment details...");
+                    log.debug("Payment {} already executed, fetching its details", paymentId);
                     paymentAlreadyDone = true;
                     // Try to get payment details to verify it was approved
                     try {
-                        APIContext apiContext = new APIContext(payPalConfig.getClientId(), payPalConfig.getClientSecret(), payPalConfig.getMode());
-                        payment = Payment.get(apiContext, paymentId);
-                        System.out.println("Retrieved payment state: " + payment.getState());
+                        payment = paymentService.getPayment(paymentId);
+                        log.debug("Payment {} state: {}", paymentId, payment.getState());
                     } catch (Exception ex) {
-                        System.out.println("Could not retrieve payment: " + ex.getMessage());
+                        log.warn("Could not retrieve already executed payment {}", paymentId, ex);
+                        itemService.releaseListing(listingId);
                         return ResponseEntity.status(400).body(Map.of("error", "Payment already executed but could not verify"));
                     }
+                } else if (e instanceof PayPalRESTException rejected && PaymentService.isDeclined(rejected)) {
+                    // PayPal refused the capture (e.g. INSTRUMENT_DECLINED), so nothing was charged
+                    itemService.releaseListing(listingId);
+                    throw rejected;
                 } else {
-                    throw e; // Re-throw if it's a different error
+                    // Timeout, I/O error or PayPal 5xx: the money may have been captured, so keep the claim
+                    // and ask PayPal what happened
+                    log.warn("Payment {} execution outcome unknown, checking with PayPal", paymentId, e);
+                    try {
+                        payment = paymentService.getPayment(paymentId);
+                        log.debug("Payment {} state: {}", paymentId, payment.getState());
+                    } catch (Exception ex) {
+                        log.error("Could not confirm payment {}, listing {} stays claimed until the payment is reconciled", paymentId, listingId, ex);
+                        return ResponseEntity.status(502).body(Map.of("error", "Payment status unknown", "message", "The listing stays reserved until the payment is confirmed"));
+                    }
+                    if (payment != null && !"approved".equals(payment.getState())) {
+                        // Confirmed not captured; released below, and the buyer may try again
+                        paymentService.allowRetry(paymentId);
+                    }
                 }
             }
             
-            if (payment != null && (payment.getState().equals("approved") || paymentAlreadyDone)) {
-                Long listingId = Long.parseLong(listingIdStr);
-                
-                System.out.println("Payment approved for listing: " + listingId);
-                
-                // Check if order already exists for this payment (prevent duplicates)
-                boolean orderExists = false;
-                if (buyerUserId != null && !buyerUserId.isEmpty()) {
-                    List<Order> existingOrders = orderService.getOrdersByBuyerUserId(buyerUserId);
-                    orderExists = existingOrders.stream().anyMatch(o -> o.getListingId().equals(listingId));
-                }
-                
-                if (orderExists) {
-                    System.out.println("Order already exists for this payment");
-                    return ResponseEntity.ok(Map.of(
-                        "status", "success",
-                        "message", "Payment already processed",
-                        "alreadyProcessed", true
-                    ));
+            if (payment == null || !("approved".equals(payment.getState()) || paymentAlreadyDone)) {
+                log.info("Payment {} not approved, state: {}", paymentId, payment != null ? payment.getState() : null);
+                itemService.releaseListing(listingId);
+                return ResponseEntity.status(400).body(Map.of("error", "Payment not approved", "state", payment != null ? payment.getState() : "null"));
+            }
+            
+            // Get buyer info from payment
+            String buyerEmail = payment.getPayer().getPayerInfo().getEmail();
+            String firstName = payment.getPayer().getPayerInfo().getFirstName();
+            String lastName = payment.getPayer().getPayerInfo().getLastName();
+            String buyerName = (firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "").trim();
+            if (buyerName.isEmpty()) {
+                buyerName = "Buyer";
+            }
+            
+            // Use buyerUserId from request, or fallback to "unknown"
+            if (buyerUserId == null || buyerUserId.isEmpty()) {
+                buyerUserId = "unknown";
+            }
+            
+            // Create order from the claimed snapshot; the unique paymentId index rejects duplicates
+            Order order;
+            try {
+                order = orderService.createOrder(claimed.get(), paymentId, buyerEmail, buyerName, buyerUserId);
+            } catch (DuplicateKeyException e) {
+                // Another request recorded this payment; keep the listing sold only if that order bought it
+                Optional<Order> existing = orderService.getOrderByPaymentId(paymentId);
+                if (existing.isEmpty() || !listingId.equals(existing.get().getListingId())) {
+                    itemService.releaseListing(listingId);
                 }
-                
-                // Mark item as sold (even if already sold, this is idempotent)
-                boolean success = itemService.markItemAsSold(listingId);
-                System.out.println("Item marked as sold: " + success);
-                
-                if (success) {
-                    // Get buyer info from payment
-                    String buyerEmail = payment.getPayer().getPayerInfo().getEmail();
-                    String firstName = payment.getPayer().getPayerInfo().getFirstName();
-                    String lastName = payment.getPayer().getPayerInfo().getLastName();
-                    String buyerName = (firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "").trim();
-                    if (buyerName.isEmpty()) {
-                        buyerName = "Buyer";
-                    }
-                    
-                    System.out.println("Creating order for buyer: " + buyerEmail + " (" + buyerName + "), userId: " + buyerUserId);
-                    
-                    // Use buyerUserId from request, or fallback to "unknown"
-                    if (buyerUserId == null || buyerUserId.isEmpty()) {
-                        buyerUserId = "unknown";
-                    }
-                    
-                    // Create order
-                    Order order = orderService.createOrder(listingId, buyerEmail, buyerName, buyerUserId);
-                    
-                    if (order != null) {
-                        System.out.println("Order created successfully: " + order.getId());
-                        return ResponseEntity.ok(Map.of(
-                            "status", "success",
-                            "message", paymentAlreadyDone ? "Payment was already completed, order created" : "Payment completed successfully",
-                            "orderId", order.getId(),
-                            "buyerEmail", buyerEmail
-                        ));
-                    } else {
-                        System.out.println("Failed to create order - item not found");
-                        return ResponseEntity.status(404).body(Map.of("error", "Listing not found"));
-                    }
-                } else {
-                    System.out.println("Failed to mark item as sold - listing not found");
-                    return ResponseEntity.status(404).body(Map.of("error", "Listing not found"));
+                log.debug("Order already exists for payment {}", paymentId);
+                return alreadyProcessed();
+            } catch (RuntimeException e) {
+                // A timeout can arrive after the insert was written, so only release when the order is really missing
+                if (orderRecorded(paymentId)) {
+                    log.warn("Order insert for payment {} reported an error but the order exists", paymentId, e);
+                    return alreadyProcessed();
                 }
-            } else {
-                System.out.println("Payment not approved, state: " + (payment != null ? payment.getState() : "null"));
-                return ResponseEntity.status(400).body(Map.of("error", "Payment not approved", "state", payment != null ? payment.getState() : "null"));
+                itemService.releaseListing(listingId);
+                throw e;
             }
+            
+            log.info("Created order {} for payment {}, listing {}", order.getId(), paymentId, listingId);
+            return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "message", paymentAlreadyDone ? "Payment was already completed, order created" : "Payment completed successfully",
+                "orderId", order.getId(),
+                "buyerEmail", buyerEmail
+            ));
         } catch (PayPalRESTException e) {
-            System.out.println("PayPal execution error: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("PayPal execution failed (status {})", e.getResponsecode(), e);
+            if (e.getResponsecode() == 503) {
+                return ResponseEntity.status(503).header("Retry-After", "5").body(Map.of("error", "PayPal is busy or unavailable", "message", e.getMessage()));
+            }
             return ResponseEntity.status(500).body(Map.of("error", "Payment execution failed", "message", e.getMessage()));
         } catch (Exception e) {
-            System.out.println("Error executing payment: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error executing payment", e);
             return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
         }
     }
+    
+    // Whether an order exists for the payment; if the lookup fails as well the state is unknown, so answer yes and keep the claim
+    private boolean orderRecorded(String paymentId) {
+        try {
+            return orderService.getOrderByPaymentId(paymentId).isPresent();
+        } catch (RuntimeException e) {
+            log.warn("Could not check for an order for payment {}, keeping its listing claimed", paymentId, e);
+            return true;
+        }
+    }
+    
+    // create-payment stores the listing ID in the transaction's custom field
+    private static Long listingIdOf(Payment payment) {
+        if (payment == null || payment.getTransactions() == null || payment.getTransactions().isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(payment.getTransactions().get(0).getCustom());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    private ResponseEntity<?> alreadyProcessed() {
+        return ResponseEntity.ok(Map.of(
+            "status", "success",
+            "message", "Payment already processed",
+            "alreadyProcessed", true
+        ));
+    }
 }
@@ -0,0 +1,199 @@
+package com.example.demo.Controller;
+
+import java.util.Map;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.example.demo.Entity.Group;
+import com.example.demo.Entity.Items;
+import com.example.demo.Service.CatalogVersions;
+import com.example.demo.Service.ReactiveCatalogService;
+import com.example.demo.dto.ListingPage;
+import com.example.demo.dto.ListingQuery;
+import com.example.demo.util.FieldSelection;
+import com.example.demo.util.ListingCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The public catalog reads of ItemsController and GroupController on the reactive MongoDB driver,
+ * mounted under /api/reactive when the "reactive" profile is active so both can be compared side by side.
+ *
+ * Returning Mono/Flux releases the servlet thread while MongoDB works, so concurrent browse
+ * connections are no longer bounded by the request thread pool; the driver's small event-loop
+ * pool does the waiting. Same parameters, headers and 304 handling as the blocking endpoints.
+ */
+@RestController
+@RequestMapping("api/reactive")
+@Profile("reactive")
+@CrossOrigin(origins = {"http://localhost:5173", "https://tru-swap.vercel.app", "https://tru-swap-git-main-prabeen6260s-projects.vercel.app"})
+public class ReactiveCatalogController {
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final ReactiveCatalogService catalogService;
+    private final CatalogVersions catalogVersions;
+    private final CacheControl catalogCacheControl;
+    private final ObjectMapper objectMapper;
+
+    public ReactiveCatalogController(ReactiveCatalogService catalogService, CatalogVersions catalogVersions,
+                                     CacheControl catalogCacheControl, ObjectMapper objectMapper) {
+        this.catalogService = catalogService;
+        this.catalogVersions = catalogVersions;
+        this.catalogCacheControl = catalogCacheControl;
+        this.objectMapper = objectMapper;
+    }
+
+    // A page of listings (see ItemsController.getAllListings); cursor for the next page in X-Next-Cursor
+    @GetMapping("/listings")
+    public Mono<ResponseEntity<?>> getAllListings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String groupId,
+            @RequestParam(required = false) String listingType,
+            @RequestParam(required = false) String condition,
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+
+        boolean cards = "card".equals(view);
+        if (view != null && !cards) {
+            return Mono.just(ResponseEntity.status(400).body(Map.of("error", "Unknown view: " + view)));
+        }
+        if (cards && fields != null) {
+            return Mono.just(ResponseEntity.status(400).body(Map.of("error", "Use either view=card or fields, not both")));
+        }
+
+        ListingQuery query = new ListingQuery();
+        try {
+            query.setFields(FieldSelection.parse(fields, Items.class, objectMapper));
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.status(400).body(Map.of("error", e.getMessage())));
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                ListingCursor position = ListingCursor.decode(cursor);
+                query.setAfterDatePosted(position.getDatePosted());
+                query.setAfterId(position.getId());
+            } catch (IllegalArgumentException e) {
+                return Mono.just(ResponseEntity.status(400).body(Map.of("error", "Invalid cursor")));
+            }
+        }
+        query.setLimit(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        applyFilters(query, category, groupId, listingType, condition, minPrice, maxPrice);
+
+        // Validated first, so a malformed request gets its 400 rather than a 304
+        CatalogVersions.Stamp version = catalogVersions.listings();
+        if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(catalogCacheControl).build());
+        }
+
+        Mono<? extends ListingPage<?>> page = cards
+            ? catalogService.getListingCardsPage(query)
+            : catalogService.getListingsPage(query);
+        return page.map(result -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(catalogCacheControl);
+            if (result.getNextCursor() != null) {
+                response.header(ItemsController.NEXT_CURSOR_HEADER, result.getNextCursor());
+            }
+            return response.body(FieldSelection.render(query.getFields(), result.getItems()));
+        });
+    }
+
+    // Every unsold listing matching the filters as NDJSON, newest first
+    // Each document is written as it arrives and the next cursor batch is only requested once the
+    // client has taken the previous ones, so a slow reader slows the query instead of filling memory
+    @GetMapping(value = "/listings/export", produces = "application/x-ndjson")
+    public Flux<Items> exportListings(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String groupId,
+            @RequestParam(required = false) String listingType,
+            @RequestParam(required = false) String condition,
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice) {
+        ListingQuery query = new ListingQuery();
+        applyFilters(query, category, groupId, listingType, condition, minPrice, maxPrice);
+        return catalogService.streamListings(query);
+    }
+
+    // A single listing (see ItemsController.getListingById)
+    @GetMapping("/listings/{id}")
+    public Mono<ResponseEntity<?>> getListingById(@PathVariable Long id,
+                                                  @RequestParam(required = false) String fields,
+                                                  WebRequest request) {
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, Items.class, objectMapper);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.status(400).body(Map.of("error", e.getMessage())));
+        }
+        CatalogVersions.Stamp version = catalogVersions.listing(id);
+        if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(catalogCacheControl).build());
+        }
+        return catalogService.getItemById(id)
+            .<ResponseEntity<?>>map(item -> ResponseEntity.ok().cacheControl(catalogCacheControl).body(FieldSelection.render(selection, item)))
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // All groups (see GroupController.getAllGroups)
+    @GetMapping("/groups")
+    public Mono<ResponseEntity<?>> getAllGroups(@RequestParam(required = false) String fields, WebRequest request) {
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, Group.class, objectMapper);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.status(400).body(Map.of("error", e.getMessage())));
+        }
+        CatalogVersions.Stamp version = catalogVersions.groups();
+        if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(catalogCacheControl).build());
+        }
+        return catalogService.getAllGroups(selection).collectList()
+            .map(groups -> ResponseEntity.ok().cacheControl(catalogCacheControl).body(FieldSelection.render(selection, groups)));
+    }
+
+    // A single group (see GroupController.getGroupById)
+    @GetMapping("/groups/{id}")
+    public Mono<ResponseEntity<?>> getGroupById(@PathVariable String id,
+                                                @RequestParam(required = false) String fields,
+                                                WebRequest request) {
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, Group.class, objectMapper);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.status(400).body(Map.of("error", e.getMessage())));
+        }
+        CatalogVersions.Stamp version = catalogVersions.group(id);
+        if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(catalogCacheControl).build());
+        }
+        return catalogService.getGroupById(id)
+            .<ResponseEntity<?>>map(group -> ResponseEntity.ok().cacheControl(catalogCacheControl).body(FieldSelection.render(selection, group)))
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    private static void applyFilters(ListingQuery query, String category, String groupId, String listingType,
+                                     String condition, Integer minPrice, Integer maxPrice) {
+        query.setCategory(category);
+        query.setGroupId(groupId);
+        query.setListingType(listingType);
+        query.setCondition(condition);
+        query.setMinPrice(minPrice);
+        query.setMaxPrice(maxPrice);
+    }
+}
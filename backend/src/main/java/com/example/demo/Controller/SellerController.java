@@ -0,0 +1,24 @@
+package com.example.demo.Controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import com.example.demo.Service.SellerStatsService;
+import com.example.demo.util.JwtUtils;
+
+@RestController
+@RequestMapping("api")
+@CrossOrigin(origins = {"http://localhost:5173", "https://tru-swap.vercel.app", "https://tru-swap-git-main-prabeen6260s-projects.vercel.app"})
+public class SellerController {
+    private final SellerStatsService sellerStatsService;
+
+    public SellerController(SellerStatsService sellerStatsService) {
+        this.sellerStatsService = sellerStatsService;
+    }
+
+    // Seller profile figures (public): items sold, active listings, average time to sell; revenue only for the seller
+    @GetMapping("/sellers/{userId}/stats")
+    public ResponseEntity<?> getSellerStats(@PathVariable String userId, Authentication authentication) {
+        return ResponseEntity.ok(sellerStatsService.getStats(userId, JwtUtils.getUserId(authentication)));
+    }
+}
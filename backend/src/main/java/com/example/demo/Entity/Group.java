@@ -1,13 +1,17 @@
 package com.example.demo.Entity;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.Data;
+import com.example.demo.util.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 @Data
+@JsonFilter(FieldSelection.FILTER_ID) // Sparse fieldsets (?fields=)
 @Document(collection = "groups")
 public class Group {
     @Id
@@ -15,9 +19,13 @@ public class Group {
     private String id;
     private String name;
     private String description;
+    @Indexed(name = "createdBy_idx")
     private String createdBy; // Auth0 user ID of creator
     private String creatorName; // Name of creator
     private String creatorEmail; // Email of creator
+    // Kept up to date with atomic $inc as listings are created and sold (GroupRepoCustom.adjustListingCounts)
+    private long activeListingCount; // Unsold listings in the group
+    private long totalListingCount; // Every listing ever posted to the group
     
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime createdAt;
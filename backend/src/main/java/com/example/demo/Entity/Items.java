@@ -1,26 +1,44 @@
 package com.example.demo.Entity;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.Data;
+import com.example.demo.util.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 @Data
+@JsonFilter(FieldSelection.FILTER_ID) // Sparse fieldsets (?fields=)
 @Document(collection = "items")
+@CompoundIndexes({
+    // Public feed: unsold listings newest first, keyset-paged on (datePosted, _id)
+    @CompoundIndex(name = "feed_idx", def = "{'isSold': 1, 'datePosted': -1, '_id': -1}"),
+    @CompoundIndex(name = "category_feed_idx", def = "{'category': 1, 'isSold': 1, 'datePosted': -1, '_id': -1}"),
+    @CompoundIndex(name = "group_feed_idx", def = "{'groupId': 1, 'isSold': 1, 'datePosted': -1, '_id': -1}")
+})
 public class Items {
     @Id
     @JsonProperty("id")
     private long usserId;
+    // Weighted text index for /api/listings/search: name matches count most, description least
+    @TextIndexed(weight = 10)
     private String itemName;
+    @TextIndexed(weight = 4)
     private String category;
     private int price;
+    @TextIndexed(weight = 1)
     private String description;
     private String condition;
     private String imageUrl;
     private String name;
     private String email;
+    @Indexed(name = "userId_idx")
     private String userId;
     private String groupId; // Optional: ID of the group this item belongs to
     private String listingType = "sell"; // "sell" or "rent" - default to "sell"
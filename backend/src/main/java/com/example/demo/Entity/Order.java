@@ -1,13 +1,20 @@
 package com.example.demo.Entity;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.Data;
+import com.example.demo.util.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 @Data
+@JsonFilter(FieldSelection.FILTER_ID) // Sparse fieldsets (?fields=)
 @Document(collection = "orders")
+// Seller's sold-items page: orders for one seller, newest first
+@CompoundIndex(name = "seller_sales_idx", def = "{'sellerUserId': 1, 'purchaseDate': -1}")
 public class Order {
     @Id
     private String id;
@@ -15,12 +22,20 @@ public class Order {
     private String itemName;
     private String itemImageUrl;
     private Integer price;
+    @Indexed(name = "buyerEmail_idx")
     private String buyerEmail;
     private String buyerName;
+    @Indexed(name = "buyerUserId_idx")
     private String buyerUserId; // Store Auth0 user ID for lookup
+    @Indexed(name = "sellerEmail_idx")
     private String sellerEmail;
     private String sellerName;
+    private String sellerUserId; // Auth0 user ID of the listing owner at purchase time
     private String status; // "completed", "pending", "cancelled"
+
+    // PayPal payment ID; unique so a replayed execute cannot create a second order (sparse for legacy orders)
+    @Indexed(name = "paymentId_idx", unique = true, sparse = true)
+    private String paymentId;
     
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime purchaseDate;
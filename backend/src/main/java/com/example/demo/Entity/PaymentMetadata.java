@@ -0,0 +1,38 @@
+package com.example.demo.Entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.Instant;
+
+/**
+ * What we need to finish a PayPal payment after the buyer approves it (listingId and buyerUserId),
+ * keyed by PayPal payment ID. Documents expire truswap.payments.metadata-ttl after creation through
+ * a TTL index on createdAt, which MongoIndexBootstrapper creates from that setting.
+ */
+@Document(collection = "payment_metadata")
+public class PaymentMetadata {
+    @Id
+    private String paymentId;
+    private Long listingId;
+    private String buyerUserId;
+    private boolean executed = false;
+
+    private Instant createdAt;
+
+    public PaymentMetadata() {
+    }
+
+    public PaymentMetadata(String paymentId, Long listingId, String buyerUserId) {
+        this.paymentId = paymentId;
+        this.listingId = listingId;
+        this.buyerUserId = buyerUserId;
+        this.createdAt = Instant.now();
+    }
+
+    public String getPaymentId() { return paymentId; }
+    public Long getListingId() { return listingId; }
+    public String getBuyerUserId() { return buyerUserId; }
+    public boolean isExecuted() { return executed; }
+    public void setExecuted(boolean executed) { this.executed = executed; }
+    public Instant getCreatedAt() { return createdAt; }
+}
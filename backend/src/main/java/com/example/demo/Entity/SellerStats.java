@@ -0,0 +1,46 @@
+package com.example.demo.Entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import lombok.Data;
+import java.time.LocalDateTime;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Seller dashboard figures, one document per seller keyed by their Auth0 user ID.
+ * Kept current with atomic $inc as listings are created and sold (SellerStatsRepoCustom),
+ * and recomputed from orders and listings by SellerStatsRebuild.
+ */
+@Data
+@Document(collection = "seller_stats")
+public class SellerStats {
+    @Id
+    @JsonProperty("userId")
+    private String userId;
+    private long itemsSold;
+    private long revenue; // Sum of order prices
+    private long activeListings; // Unsold listings
+    private long totalListings; // Every listing ever posted
+    @JsonIgnore
+    private long timeToSellMillis; // Posted-to-purchased time summed over timedSales
+    @JsonIgnore
+    private long timedSales; // Sales whose listing has a datePosted (legacy listings may not)
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime lastSaleAt;
+
+    public SellerStats() {
+    }
+
+    public SellerStats(String userId) {
+        this.userId = userId;
+    }
+
+    // Average time from posting a listing to selling it, null before the first timed sale
+    @JsonProperty("averageTimeToSellSeconds")
+    public Long getAverageTimeToSellSeconds() {
+        return timedSales > 0 ? timeToSellMillis / timedSales / 1000 : null;
+    }
+}
@@ -4,7 +4,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import com.example.demo.Entity.Group;
 import java.util.List;
 
-public interface GroupRepo extends MongoRepository<Group, String> {
+public interface GroupRepo extends MongoRepository<Group, String>, GroupRepoCustom {
     List<Group> findByCreatedBy(String createdBy);
 }
 
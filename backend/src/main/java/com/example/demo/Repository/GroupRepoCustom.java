@@ -0,0 +1,10 @@
+package com.example.demo.Repository;
+
+/**
+ * Custom group writes that need MongoTemplate updates instead of repository saves
+ */
+public interface GroupRepoCustom {
+    // Atomically $inc the group's listing counters; no-op if the group does not exist or has no
+    // counters yet (a group from before them), which GroupListingCountBackfill counts from scratch
+    void adjustListingCounts(String groupId, long activeDelta, long totalDelta);
+}
@@ -0,0 +1,50 @@
+package com.example.demo.Repository;
+
+import org.bson.Document;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.example.demo.Entity.Group;
+
+public class GroupRepoImpl implements GroupRepoCustom {
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public GroupRepoImpl(MongoTemplate mongoTemplate, ApplicationEventPublisher eventPublisher) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void adjustListingCounts(String groupId, long activeDelta, long totalDelta) {
+        if (groupId == null || groupId.isEmpty() || (activeDelta == 0 && totalDelta == 0)) {
+            return;
+        }
+        Update counts = new Update();
+        if (activeDelta != 0) {
+            counts.inc("activeListingCount", activeDelta);
+        }
+        if (totalDelta != 0) {
+            counts.inc("totalListingCount", totalDelta);
+        }
+        // $inc on a missing field starts from 0, so a sale on an uncounted group would write -1
+        Group updated = mongoTemplate.findAndModify(counted(groupId), counts,
+            FindAndModifyOptions.options().returnNew(true), Group.class);
+        // findAndModify does not emit mapping events; publish the AfterSaveEvent a save would have produced
+        // so the group's cached copy and its ETag follow the new counts
+        if (updated != null) {
+            Document document = new Document();
+            mongoTemplate.getConverter().write(updated, document);
+            eventPublisher.publishEvent(new AfterSaveEvent<>(updated, document, mongoTemplate.getCollectionName(Group.class)));
+        }
+    }
+
+    static Query counted(String groupId) {
+        return new Query(Criteria.where("_id").is(groupId).and("totalListingCount").exists(true));
+    }
+}
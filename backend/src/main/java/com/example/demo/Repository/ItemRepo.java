@@ -1,9 +1,15 @@
 package com.example.demo.Repository;
 
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import com.example.demo.Entity.Items;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface ItemRepo extends MongoRepository<Items,Long>{
+public interface ItemRepo extends MongoRepository<Items,Long>, ItemRepoCustom {
     List<Items> findByUserId(String userId);
+
+    // Cursor-backed; close the stream to release the cursor
+    @Meta(cursorBatchSize = 500)
+    Stream<Items> streamByUserId(String userId);
 }
@@ -0,0 +1,31 @@
+package com.example.demo.Repository;
+
+import com.example.demo.Entity.Items;
+import com.example.demo.dto.ListingCard;
+import com.example.demo.dto.ListingQuery;
+import com.example.demo.dto.ScoredItem;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Custom item queries that need MongoTemplate criteria instead of derived query methods
+ */
+public interface ItemRepoCustom {
+    // Unsold listings newest first, filtered and keyset-paged inside MongoDB
+    List<Items> findListingsPage(ListingQuery query);
+
+    // The same page as browse-grid cards, reading only the card fields from MongoDB
+    List<ListingCard> findListingCards(ListingQuery query);
+
+    // The same feed as a cursor-backed stream (no limit); the caller must close it
+    Stream<Items> streamListings(ListingQuery query);
+
+    // Unsold listings matching a $text search, best textScore first, keyset-paged on (score, _id)
+    List<ScoredItem> searchListings(String text, Double afterScore, Long afterId, int limit);
+
+    // Atomically flip isSold false -> true; returns the sold listing, or null if missing or already sold
+    Items claimListing(long id);
+
+    // Undo a claim (isSold true -> false) when the sale could not be recorded; returns the released listing or null
+    Items releaseListing(long id);
+}
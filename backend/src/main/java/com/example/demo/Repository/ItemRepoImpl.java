@@ -0,0 +1,176 @@
+package com.example.demo.Repository;
+
+import org.bson.Document;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import com.example.demo.Entity.Items;
+import com.example.demo.dto.ListingCard;
+import com.example.demo.dto.ListingQuery;
+import com.example.demo.dto.ScoredItem;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ItemRepoImpl implements ItemRepoCustom {
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ItemRepoImpl(MongoTemplate mongoTemplate, ApplicationEventPublisher eventPublisher) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Rows fetched per cursor round trip when streaming; bounds memory on the streaming path
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    @Override
+    public List<Items> findListingsPage(ListingQuery listingQuery) {
+        Query query = feedQuery(listingQuery).limit(listingQuery.getLimit());
+        if (listingQuery.getFields() != null) {
+            // datePosted is the cursor key, so it is fetched even when not selected
+            listingQuery.getFields().fetching("datePosted").applyTo(query);
+        }
+        return mongoTemplate.find(query, Items.class);
+    }
+
+    @Override
+    public List<ListingCard> findListingCards(ListingQuery listingQuery) {
+        Query query = feedQuery(listingQuery).limit(listingQuery.getLimit());
+        query.fields().include("usserId", "itemName", "price", "imageUrl", "category", "listingType", "datePosted");
+        return mongoTemplate.query(Items.class).as(ListingCard.class).matching(query).all();
+    }
+
+    @Override
+    public Stream<Items> streamListings(ListingQuery listingQuery) {
+        return mongoTemplate.stream(feedQuery(listingQuery).cursorBatchSize(STREAM_BATCH_SIZE), Items.class);
+    }
+
+    // Filters, keyset position and sort shared by the paged and streamed feed (served by the *_feed_idx indexes)
+    // Also used by ReactiveItemRepoImpl, so both read paths run the same query
+    static Query feedQuery(ListingQuery listingQuery) {
+        List<Criteria> filters = new ArrayList<>();
+        filters.add(unsold());
+
+        if (hasText(listingQuery.getCategory())) {
+            filters.add(Criteria.where("category").is(listingQuery.getCategory()));
+        }
+        if (hasText(listingQuery.getGroupId())) {
+            filters.add(Criteria.where("groupId").is(listingQuery.getGroupId()));
+        }
+        if (hasText(listingQuery.getListingType())) {
+            filters.add(Criteria.where("listingType").is(listingQuery.getListingType()));
+        }
+        if (hasText(listingQuery.getCondition())) {
+            filters.add(Criteria.where("condition").is(listingQuery.getCondition()));
+        }
+        if (listingQuery.getMinPrice() != null || listingQuery.getMaxPrice() != null) {
+            Criteria price = Criteria.where("price");
+            if (listingQuery.getMinPrice() != null) {
+                price = price.gte(listingQuery.getMinPrice());
+            }
+            if (listingQuery.getMaxPrice() != null) {
+                price = price.lte(listingQuery.getMaxPrice());
+            }
+            filters.add(price);
+        }
+
+        // Keyset: (datePosted, _id) strictly after the cursor in descending order
+        // Listings without datePosted sort after every dated one, so they stay reachable from a dated cursor
+        if (listingQuery.getAfterId() != null) {
+            if (listingQuery.getAfterDatePosted() != null) {
+                filters.add(new Criteria().orOperator(
+                    Criteria.where("datePosted").lt(listingQuery.getAfterDatePosted()),
+                    new Criteria().andOperator(
+                        Criteria.where("datePosted").is(listingQuery.getAfterDatePosted()),
+                        Criteria.where("_id").lt(listingQuery.getAfterId())
+                    ),
+                    Criteria.where("datePosted").is(null)
+                ));
+            } else {
+                filters.add(new Criteria().andOperator(
+                    Criteria.where("datePosted").is(null),
+                    Criteria.where("_id").lt(listingQuery.getAfterId())
+                ));
+            }
+        }
+
+        return new Query(new Criteria().andOperator(filters))
+            .with(Sort.by(Sort.Direction.DESC, "datePosted").and(Sort.by(Sort.Direction.DESC, "_id")));
+    }
+
+    @Override
+    public List<ScoredItem> searchListings(String text, Double afterScore, Long afterId, int limit) {
+        List<ScoredItem> hits = new ArrayList<>();
+        for (Document document : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Items.class))
+                .aggregate(searchPipeline(text, afterScore, afterId, limit))) {
+            double score = document.get("score", Number.class).doubleValue();
+            hits.add(new ScoredItem(mongoTemplate.getConverter().read(Items.class, document), score));
+        }
+        return hits;
+    }
+
+    // Raw pipeline: textScore can only be filtered on after it is materialized with $addFields,
+    // and the text match must be the first stage so it is served by the text index
+    static List<Document> searchPipeline(String text, Double afterScore, Long afterId, int limit) {
+        List<Document> pipeline = new ArrayList<>();
+        pipeline.add(new Document("$match", new Document("$text", new Document("$search", text))
+            .append("isSold", new Document("$in", Arrays.asList(false, null)))));
+        pipeline.add(new Document("$addFields", new Document("score", new Document("$meta", "textScore"))));
+        if (afterScore != null && afterId != null) {
+            pipeline.add(new Document("$match", new Document("$or", List.of(
+                new Document("score", new Document("$lt", afterScore)),
+                new Document("score", afterScore).append("_id", new Document("$lt", afterId))
+            ))));
+        }
+        pipeline.add(new Document("$sort", new Document("score", -1).append("_id", -1)));
+        pipeline.add(new Document("$limit", limit));
+        return pipeline;
+    }
+
+    @Override
+    public Items claimListing(long id) {
+        Query unsold = new Query(new Criteria().andOperator(Criteria.where("_id").is(id), unsold()));
+        Items claimed = mongoTemplate.findAndModify(unsold, new Update().set("isSold", true),
+            FindAndModifyOptions.options().returnNew(true), Items.class);
+        publishSaved(claimed);
+        return claimed;
+    }
+
+    @Override
+    public Items releaseListing(long id) {
+        Query sold = new Query(Criteria.where("_id").is(id).and("isSold").is(true));
+        Items released = mongoTemplate.findAndModify(sold, new Update().set("isSold", false),
+            FindAndModifyOptions.options().returnNew(true), Items.class);
+        publishSaved(released);
+        return released;
+    }
+
+    // findAndModify does not emit mapping events, so listeners (e.g. the suggest index) would miss
+    // these state changes; publish the same AfterSaveEvent a repository save would have produced
+    private void publishSaved(Items item) {
+        if (item == null) {
+            return;
+        }
+        Document document = new Document();
+        mongoTemplate.getConverter().write(item, document);
+        eventPublisher.publishEvent(new AfterSaveEvent<>(item, document, mongoTemplate.getCollectionName(Items.class)));
+    }
+
+    // Unsold: isSold false or missing (legacy documents). $in gives two point bounds on the isSold
+    // index prefix, which MongoDB merges in (datePosted, _id) order; $ne true would be a range whose
+    // results need a blocking in-memory SORT
+    public static Criteria unsold() {
+        return Criteria.where("isSold").in(false, null);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
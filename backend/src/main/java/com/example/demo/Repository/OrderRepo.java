@@ -1,12 +1,22 @@
 package com.example.demo.Repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import com.example.demo.Entity.Order;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface OrderRepo extends MongoRepository<Order, String> {
     List<Order> findByBuyerEmail(String buyerEmail);
     List<Order> findByBuyerUserId(String buyerUserId);
     List<Order> findBySellerEmail(String sellerEmail);
+    List<Order> findBySellerUserIdOrderByPurchaseDateDesc(String sellerUserId, Pageable pageable);
+    Optional<Order> findByPaymentId(String paymentId);
+
+    // Every order, cursor-backed; close the stream to release the cursor
+    @Meta(cursorBatchSize = 500)
+    Stream<Order> streamAllBy();
 }
 
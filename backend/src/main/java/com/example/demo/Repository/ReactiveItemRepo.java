@@ -0,0 +1,10 @@
+package com.example.demo.Repository;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import com.example.demo.Entity.Items;
+
+// Non-blocking counterpart of ItemRepo for the reactive catalog API (profile "reactive")
+@Profile("reactive")
+public interface ReactiveItemRepo extends ReactiveMongoRepository<Items, Long>, ReactiveItemRepoCustom {
+}
@@ -0,0 +1,20 @@
+package com.example.demo.Repository;
+
+import com.example.demo.Entity.Items;
+import com.example.demo.dto.ListingCard;
+import com.example.demo.dto.ListingQuery;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive versions of the listing feed queries in {@link ItemRepoCustom}; same filters, sort and indexes
+ */
+public interface ReactiveItemRepoCustom {
+    // Unsold listings newest first, filtered and keyset-paged inside MongoDB
+    Flux<Items> findListingsPage(ListingQuery query);
+
+    // The same page as browse-grid cards, reading only the card fields from MongoDB
+    Flux<ListingCard> findListingCards(ListingQuery query);
+
+    // The same feed with no limit, pulled from the cursor only as fast as the subscriber requests
+    Flux<Items> streamListings(ListingQuery query);
+}
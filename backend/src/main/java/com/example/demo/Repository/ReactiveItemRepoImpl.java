@@ -0,0 +1,41 @@
+package com.example.demo.Repository;
+
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import com.example.demo.Entity.Items;
+import com.example.demo.dto.ListingCard;
+import com.example.demo.dto.ListingQuery;
+import reactor.core.publisher.Flux;
+
+public class ReactiveItemRepoImpl implements ReactiveItemRepoCustom {
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public ReactiveItemRepoImpl(ReactiveMongoTemplate reactiveMongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    // Rows fetched per cursor round trip when streaming; the driver only asks for the next batch on demand
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    @Override
+    public Flux<Items> findListingsPage(ListingQuery listingQuery) {
+        Query query = ItemRepoImpl.feedQuery(listingQuery).limit(listingQuery.getLimit());
+        if (listingQuery.getFields() != null) {
+            // datePosted is the cursor key, so it is fetched even when not selected
+            listingQuery.getFields().fetching("datePosted").applyTo(query);
+        }
+        return reactiveMongoTemplate.find(query, Items.class);
+    }
+
+    @Override
+    public Flux<ListingCard> findListingCards(ListingQuery listingQuery) {
+        Query query = ItemRepoImpl.feedQuery(listingQuery).limit(listingQuery.getLimit());
+        query.fields().include("usserId", "itemName", "price", "imageUrl", "category", "listingType", "datePosted");
+        return reactiveMongoTemplate.query(Items.class).as(ListingCard.class).matching(query).all();
+    }
+
+    @Override
+    public Flux<Items> streamListings(ListingQuery listingQuery) {
+        return reactiveMongoTemplate.find(ItemRepoImpl.feedQuery(listingQuery).cursorBatchSize(STREAM_BATCH_SIZE), Items.class);
+    }
+}
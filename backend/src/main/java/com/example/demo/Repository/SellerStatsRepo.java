@@ -0,0 +1,7 @@
+package com.example.demo.Repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import com.example.demo.Entity.SellerStats;
+
+public interface SellerStatsRepo extends MongoRepository<SellerStats, String>, SellerStatsRepoCustom {
+}
@@ -0,0 +1,14 @@
+package com.example.demo.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Atomic seller_stats updates; each is a single upsert with $inc, so concurrent sales never lose a count
+ */
+public interface SellerStatsRepoCustom {
+    // Listings created (totalDelta) and put on or taken off sale (activeDelta); no-op without a seller
+    void adjustListings(String userId, long activeDelta, long totalDelta);
+
+    // One completed sale; timeToSellMillis is null when the listing's posting date is unknown
+    void recordSale(String userId, long price, Long timeToSellMillis, LocalDateTime purchasedAt);
+}
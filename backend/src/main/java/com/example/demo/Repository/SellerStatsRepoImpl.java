@@ -0,0 +1,53 @@
+package com.example.demo.Repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.example.demo.Entity.SellerStats;
+
+public class SellerStatsRepoImpl implements SellerStatsRepoCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public SellerStatsRepoImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void adjustListings(String userId, long activeDelta, long totalDelta) {
+        if (userId == null || userId.isEmpty() || (activeDelta == 0 && totalDelta == 0)) {
+            return;
+        }
+        Update update = new Update();
+        if (activeDelta != 0) {
+            update.inc("activeListings", activeDelta);
+        }
+        if (totalDelta != 0) {
+            update.inc("totalListings", totalDelta);
+        }
+        mongoTemplate.upsert(bySeller(userId), update, SellerStats.class);
+    }
+
+    @Override
+    public void recordSale(String userId, long price, Long timeToSellMillis, LocalDateTime purchasedAt) {
+        if (userId == null || userId.isEmpty()) {
+            return;
+        }
+        Update update = new Update()
+            .inc("itemsSold", 1)
+            .inc("revenue", price)
+            // $max: a slower concurrent sale cannot move lastSaleAt backwards
+            .max("lastSaleAt", purchasedAt);
+        if (timeToSellMillis != null) {
+            update.inc("timeToSellMillis", timeToSellMillis).inc("timedSales", 1);
+        }
+        mongoTemplate.upsert(bySeller(userId), update, SellerStats.class);
+    }
+
+    private static Query bySeller(String userId) {
+        return new Query(Criteria.where("_id").is(userId));
+    }
+}
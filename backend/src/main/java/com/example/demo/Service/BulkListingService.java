@@ -0,0 +1,186 @@
+package com.example.demo.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.Entity.Items;
+import com.example.demo.Repository.GroupRepo;
+import com.example.demo.Repository.SellerStatsRepo;
+import com.example.demo.config.ListingIdAllocator;
+import com.example.demo.dto.BulkListingResult;
+import com.example.demo.dto.ItemsDto;
+import com.mongodb.bulk.BulkWriteError;
+
+/**
+ * Creates many listings for one seller in a single request (POST /api/listings/bulk).
+ *
+ * Every listing is validated first and reported on individually; the valid ones get their IDs in
+ * one allocator call and are inserted with unordered bulk writes of batchSize documents, so 10k
+ * listings cost a handful of round trips instead of 10k. A document MongoDB rejects only fails
+ * itself. The usual save events fire for every inserted listing, so the catalog versions, the
+ * suggest index and the entity cache see bulk imports like single ones, and the listing counters
+ * of each group and of the seller get one $inc for all of their new listings.
+ */
+@Service
+public class BulkListingService {
+    private static final Logger log = LoggerFactory.getLogger(BulkListingService.class);
+    private static final Set<String> LISTING_TYPES = Set.of("sell", "rent");
+
+    private final MongoTemplate mongoTemplate;
+    private final GroupRepo groupRepo;
+    private final SellerStatsRepo sellerStatsRepo;
+    private final ListingIdAllocator idAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxItems;
+
+    public BulkListingService(MongoTemplate mongoTemplate,
+                              GroupRepo groupRepo,
+                              SellerStatsRepo sellerStatsRepo,
+                              ListingIdAllocator idAllocator,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${truswap.listings.bulk.batch-size:1000}") int batchSize,
+                              @Value("${truswap.listings.bulk.max-items:10000}") int maxItems) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("truswap.listings.bulk.batch-size must be positive, got " + batchSize);
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.groupRepo = groupRepo;
+        this.sellerStatsRepo = sellerStatsRepo;
+        this.idAllocator = idAllocator;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxItems = maxItems;
+    }
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    public BulkListingResult importListings(List<ItemsDto> listings, String userId) {
+        BulkListingResult.Item[] results = new BulkListingResult.Item[listings.size()];
+        List<Integer> valid = new ArrayList<>(listings.size());
+        for (int i = 0; i < listings.size(); i++) {
+            String error = validate(listings.get(i));
+            if (error != null) {
+                results[i] = new BulkListingResult.Item(i, null, error);
+            } else {
+                valid.add(i);
+            }
+        }
+
+        long[] ids = idAllocator.nextIds(valid.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int start = 0; start < valid.size(); start += batchSize) {
+            int end = Math.min(start + batchSize, valid.size());
+            List<Items> batch = new ArrayList<>(end - start);
+            for (int v = start; v < end; v++) {
+                Items item = ItemService.newListing(listings.get(valid.get(v)), userId, now);
+                // A preset ID skips ListingIdGeneratorListener's one-at-a-time allocation
+                item.setUsserId(ids[v]);
+                batch.add(item);
+            }
+            String[] rejected;
+            try {
+                rejected = insert(batch);
+            } catch (DataAccessException e) {
+                // MongoDB is unreachable or refused the whole batch: report everything not yet written
+                log.error("Bulk import batch of {} listings failed", batch.size(), e);
+                for (int v = start; v < valid.size(); v++) {
+                    int index = valid.get(v);
+                    results[index] = new BulkListingResult.Item(index, null, "Not saved: " + e.getMessage());
+                }
+                break;
+            }
+            for (int v = start; v < end; v++) {
+                int index = valid.get(v);
+                results[index] = rejected[v - start] == null
+                    ? new BulkListingResult.Item(index, batch.get(v - start).getUsserId(), null)
+                    : new BulkListingResult.Item(index, null, rejected[v - start]);
+            }
+        }
+
+        int created = 0;
+        Map<String, Long> createdPerGroup = new HashMap<>();
+        for (BulkListingResult.Item result : results) {
+            if (result.getId() != null) {
+                created++;
+                String groupId = listings.get(result.getIndex()).getGroupId();
+                if (groupId != null && !groupId.isEmpty()) {
+                    createdPerGroup.merge(groupId, 1L, Long::sum);
+                }
+            }
+        }
+        // The listings are written; a counter failure must not turn that into a 500 the client would retry
+        try {
+            createdPerGroup.forEach((groupId, count) -> groupRepo.adjustListingCounts(groupId, count, count));
+            sellerStatsRepo.adjustListings(userId, created, created);
+        } catch (RuntimeException e) {
+            log.warn("Could not update the listing counters after a bulk import by {}", userId, e);
+        }
+        log.info("Bulk import by {}: {} of {} listings created", userId, created, listings.size());
+        return new BulkListingResult(created, listings.size() - created, List.of(results));
+    }
+
+    // Why this listing cannot be created, or null if it can
+    static String validate(ItemsDto listing) {
+        if (listing == null) {
+            return "Listing must be an object";
+        }
+        if (listing.getItemName() == null || listing.getItemName().isBlank()) {
+            return "itemName is required";
+        }
+        if (listing.getCategory() == null || listing.getCategory().isBlank()) {
+            return "category is required";
+        }
+        if (listing.getPrice() < 0) {
+            return "price must not be negative";
+        }
+        String listingType = listing.getListingType();
+        if (listingType != null && !listingType.isEmpty() && !LISTING_TYPES.contains(listingType)) {
+            return "listingType must be sell or rent";
+        }
+        return null;
+    }
+
+    // One unordered bulk insert
+    // Returns the error for each document MongoDB rejected, by position in the batch (null = inserted)
+    private String[] insert(List<Items> batch) {
+        String[] rejected = new String[batch.size()];
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Items.class).insert(batch).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                rejected[error.getIndex()] = "Not saved: " + error.getMessage();
+            }
+            log.warn("Bulk import: {} of {} listings in a batch were rejected, first: {}",
+                e.getErrors().size(), batch.size(), e.getErrors().get(0).getMessage());
+            // Spring Data only fires AfterSave when the whole batch succeeds, so fire it for the rest here
+            String collection = mongoTemplate.getCollectionName(Items.class);
+            for (int i = 0; i < batch.size(); i++) {
+                if (rejected[i] == null) {
+                    Document document = new Document();
+                    mongoTemplate.getConverter().write(batch.get(i), document);
+                    eventPublisher.publishEvent(new AfterSaveEvent<>(batch.get(i), document, collection));
+                }
+            }
+        }
+        return rejected;
+    }
+}
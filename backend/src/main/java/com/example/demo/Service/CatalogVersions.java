@@ -0,0 +1,160 @@
+package com.example.demo.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory change versions for the public catalog (listings and groups), used to answer
+ * conditional GETs with 304 without reading MongoDB.
+ *
+ * Every save or delete seen by CatalogVersionListener bumps the collection version and records
+ * the new version against the document id. Documents not changed since startup share a floor
+ * version; the per-document map is bounded by raising the floor (which makes every document look
+ * changed once) when it grows past max-tracked.
+ *
+ * ETags carry a random per-process epoch, so a restart or a different instance never produces a
+ * false match. Versions only see writes made by this process, so they expire after
+ * truswap.http.catalog-version-ttl (by default the shared max-age) and clients revalidate against
+ * fresh data at least that often, even when another instance made the change.
+ */
+@Component
+public class CatalogVersions {
+
+    /**
+     * A point in a resource's change history
+     */
+    public record Stamp(String etag, Instant modifiedAt) {
+        public long lastModifiedMillis() {
+            return modifiedAt.toEpochMilli();
+        }
+    }
+
+    private final Scope listings;
+    private final Scope groups;
+
+    @Autowired
+    public CatalogVersions(@Value("${truswap.http.catalog-version-ttl:${truswap.http.catalog-shared-max-age:5s}}") Duration ttl,
+                           @Value("${truswap.http.catalog-max-tracked:10000}") int maxTracked) {
+        this(ttl, maxTracked, Clock.systemUTC());
+    }
+
+    CatalogVersions(Duration ttl, int maxTracked, Clock clock) {
+        String epoch = Long.toString(clock.millis(), 36) + Integer.toString(ThreadLocalRandom.current().nextInt(1 << 20), 36);
+        this.listings = new Scope("L" + epoch, ttl, maxTracked, clock);
+        this.groups = new Scope("G" + epoch, ttl, maxTracked, clock);
+    }
+
+    // Version of the listings collection as a whole (feed pages, search results)
+    public Stamp listings() {
+        return listings.collection();
+    }
+
+    public Stamp listing(long id) {
+        return listings.document(id);
+    }
+
+    public Stamp groups() {
+        return groups.collection();
+    }
+
+    public Stamp group(String id) {
+        return groups.document(id);
+    }
+
+    public void listingChanged(Long id) {
+        listings.touch(id);
+    }
+
+    public void groupChanged(String id) {
+        groups.touch(id);
+    }
+
+    // A write whose target ids are unknown (e.g. a delete by arbitrary filter)
+    public void allListingsChanged() {
+        listings.touchAll();
+    }
+
+    public void allGroupsChanged() {
+        groups.touchAll();
+    }
+
+    private static final class Scope {
+        private final String prefix;
+        private final long ttlMillis;
+        private final int maxTracked;
+        private final Clock clock;
+        private final Map<Object, Stamp> documents = new ConcurrentHashMap<>();
+        private long version;
+        private volatile Stamp collection;
+        private volatile Stamp floor;
+
+        Scope(String prefix, Duration ttl, int maxTracked, Clock clock) {
+            this.prefix = prefix;
+            this.ttlMillis = ttl.toMillis();
+            this.maxTracked = maxTracked;
+            this.clock = clock;
+            this.collection = nextStamp();
+            this.floor = collection;
+        }
+
+        Stamp collection() {
+            expireIfStale();
+            return collection;
+        }
+
+        Stamp document(Object id) {
+            expireIfStale();
+            return documents.getOrDefault(id, floor);
+        }
+
+        synchronized void touch(Object id) {
+            if (id == null) {
+                touchAll();
+                return;
+            }
+            Stamp stamp = nextStamp();
+            if (documents.size() >= maxTracked) {
+                // Raise the floor before clearing: document() reads without the lock, and an entry
+                // removed while the old floor is still set would answer 304 for a changed listing
+                floor = stamp;
+                collection = stamp;
+                documents.clear();
+            } else {
+                documents.put(id, stamp);
+                collection = stamp;
+            }
+        }
+
+        synchronized void touchAll() {
+            Stamp stamp = nextStamp();
+            floor = stamp;
+            collection = stamp;
+            documents.clear();
+        }
+
+        private void expireIfStale() {
+            if (ttlMillis > 0 && clock.millis() - collection.modifiedAt().toEpochMilli() >= ttlMillis) {
+                synchronized (this) {
+                    if (clock.millis() - collection.modifiedAt().toEpochMilli() >= ttlMillis) {
+                        touchAll();
+                    }
+                }
+            }
+        }
+
+        // Last-Modified only has second precision, so round the timestamp the same way
+        private Stamp nextStamp() {
+            version++;
+            return new Stamp("\"" + prefix + "-" + version + "\"", clock.instant().truncatedTo(ChronoUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.demo.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ * Read-through cache in front of a repository findById, bounded by both TTL and entry count.
+ *
+ * Entities are mutable (@Data), so entries hold the mapped BSON document and every hit reads a fresh
+ * copy: a caller changing the returned object can never change the cached one.
+ * EntityCacheListener invalidates entries on every save and delete made through this process.
+ *
+ * A lookup that raced with an invalidation is not cached, so a load that started before a write can
+ * never re-insert the old state after the write's invalidation. Eviction follows the same FIFO
+ * scheme as InMemoryPaymentMetadataStore.
+ */
+public class EntityCache<K, T> {
+
+    private record Entry(Document document, Instant expiresAt) {
+    }
+
+    private final Class<T> type;
+    private final MongoConverter converter;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Clock clock;
+    private final Map<K, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<K> insertionOrder = new ConcurrentLinkedQueue<>();
+    // Bumped by every invalidation; a load only populates the cache if this did not move meanwhile
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public EntityCache(Class<T> type, MongoConverter converter, Duration ttl, int maxEntries) {
+        this(type, converter, ttl, maxEntries, Clock.systemUTC());
+    }
+
+    EntityCache(Class<T> type, MongoConverter converter, Duration ttl, int maxEntries, Clock clock) {
+        this.type = type;
+        this.converter = converter;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Cached copy of the entity, or the loader's result (which is cached if present)
+     */
+    public Optional<T> get(K id, Function<K, Optional<T>> loader) {
+        Instant now = clock.instant();
+        Entry entry = entries.get(id);
+        if (entry != null) {
+            if (entry.expiresAt().isAfter(now)) {
+                hits.increment();
+                return Optional.of(converter.read(type, entry.document()));
+            }
+            if (entries.remove(id, entry)) {
+                evictions.increment();
+            }
+        }
+        misses.increment();
+
+        long seen = generation.get();
+        Optional<T> loaded = loader.apply(id);
+        if (loaded.isPresent() && maxEntries > 0) {
+            Document document = new Document();
+            converter.write(loaded.get(), document);
+            if (generation.get() == seen) {
+                if (entries.put(id, new Entry(document, now.plus(ttl))) == null) {
+                    insertionOrder.add(id);
+                }
+                // Close the window between the check and the put
+                if (generation.get() != seen) {
+                    entries.remove(id);
+                }
+                evict(now);
+            }
+        }
+        return loaded;
+    }
+
+    public void invalidate(K id) {
+        generation.incrementAndGet();
+        if (entries.remove(id) != null) {
+            invalidations.increment();
+            // O(size), but this only runs on writes
+            insertionOrder.remove(id);
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        invalidations.add(entries.size());
+        entries.clear();
+        insertionOrder.clear();
+    }
+
+    public long size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    // Entries dropped for age or size (invalidations are counted separately)
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    private void evict(Instant now) {
+        K oldest;
+        while ((oldest = insertionOrder.peek()) != null) {
+            Entry entry = entries.get(oldest);
+            boolean stale = entry == null || !entry.expiresAt().isAfter(now);
+            if (!stale && entries.size() <= maxEntries) {
+                return;
+            }
+            if (insertionOrder.remove(oldest) && entry != null && entries.remove(oldest, entry)) {
+                evictions.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.demo.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.Entity.Group;
+import com.example.demo.Entity.Items;
+
+/**
+ * Counts Group.activeListingCount / totalListingCount from the listings; between runs ItemService
+ * keeps them current with $inc, which skips groups from before the counters until they are set here.
+ *
+ * Works in batches of groups ordered by _id, each counted with one aggregation over group_feed_idx.
+ * mode: if-empty (default) only counts groups that have no counters yet, and only writes them while
+ * they still have none, so it never overwrites figures that $inc is keeping. always recounts every
+ * group to repair wrong counters; an $inc landing between a batch's count and its write is lost, so
+ * that belongs in a quiet period. never turns the backfill off.
+ */
+@Component
+public class GroupListingCountBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupListingCountBackfill.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final EntityCache<String, Group> groupCache;
+    private final CatalogVersions catalogVersions;
+    private final String mode;
+    private final int batchSize;
+
+    public GroupListingCountBackfill(MongoTemplate mongoTemplate,
+                                     EntityCache<String, Group> groupCache,
+                                     CatalogVersions catalogVersions,
+                                     @Value("${truswap.backfill.group-listing-counts.mode:if-empty}") String mode,
+                                     @Value("${truswap.backfill.group-listing-counts.batch-size:200}") int batchSize) {
+        if (!List.of("if-empty", "always", "never").contains(mode)) {
+            throw new IllegalStateException("Unknown truswap.backfill.group-listing-counts.mode: " + mode);
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.groupCache = groupCache;
+        this.catalogVersions = catalogVersions;
+        this.mode = mode;
+        this.batchSize = batchSize;
+    }
+
+    // Run off the startup thread so a large backlog never delays serving traffic
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (mode.equals("never")) {
+            return;
+        }
+        Thread worker = new Thread(() -> {
+            try {
+                run();
+            } catch (Exception e) {
+                log.error("Group listing count backfill stopped, it will resume on next start", e);
+            }
+        }, "group-listing-count-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Count the listings of the groups the mode selects
+     * @return number of groups whose counters changed
+     */
+    public long run() {
+        boolean missingOnly = !mode.equals("always");
+        long updated = 0;
+        String lastId = null;
+        while (true) {
+            Criteria selection = lastId != null ? Criteria.where("_id").gt(lastId) : new Criteria();
+            if (missingOnly) {
+                selection = selection.and("totalListingCount").exists(false);
+            }
+            Query query = new Query(selection)
+                .with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+            query.fields().include("_id");
+            List<Group> batch = mongoTemplate.find(query, Group.class);
+            if (batch.isEmpty()) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+
+            // Items.groupId holds the group's id as a plain string
+            List<String> groupIds = batch.stream().map(Group::getId).toList();
+            Map<String, Document> countsByGroup = new HashMap<>();
+            Aggregation counts = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("groupId").in(groupIds)),
+                Aggregation.group("groupId")
+                    .count().as("total")
+                    .sum(ConditionalOperators.when(Criteria.where("isSold").is(true)).then(0).otherwise(1)).as("active"));
+            for (Document row : mongoTemplate.aggregate(counts, Items.class, Document.class)) {
+                countsByGroup.put(row.getString("_id"), row);
+            }
+
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Group.class);
+            for (Group group : batch) {
+                Document row = countsByGroup.get(group.getId());
+                Criteria target = Criteria.where("_id").is(group.getId());
+                if (missingOnly) {
+                    target = target.and("totalListingCount").exists(false);
+                }
+                bulk.updateOne(
+                    new Query(target),
+                    new Update()
+                        .set("activeListingCount", row != null ? row.get("active", Number.class).longValue() : 0L)
+                        .set("totalListingCount", row != null ? row.get("total", Number.class).longValue() : 0L));
+            }
+            updated += bulk.execute().getModifiedCount();
+        }
+        if (updated > 0) {
+            // Bulk updates emit no save events, so drop cached groups and their ETags here
+            groupCache.invalidateAll();
+            catalogVersions.allGroupsChanged();
+            log.info("Group listing count backfill updated {} groups", updated);
+        }
+        return updated;
+    }
+}
@@ -1,33 +1,47 @@
 package com.example.demo.Service;
 
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.time.LocalDateTime;
 import com.example.demo.Entity.Group;
 import com.example.demo.Repository.GroupRepo;
 import com.example.demo.dto.GroupDto;
+import com.example.demo.util.FieldSelection;
 
 @Service
 public class GroupService {
     private final GroupRepo groupRepo;
+    private final EntityCache<String, Group> groupCache;
+    private final MongoTemplate mongoTemplate;
     
-    public GroupService(GroupRepo groupRepo) {
+    public GroupService(GroupRepo groupRepo, EntityCache<String, Group> groupCache, MongoTemplate mongoTemplate) {
         this.groupRepo = groupRepo;
+        this.groupCache = groupCache;
+        this.mongoTemplate = mongoTemplate;
     }
     
-    // Get all groups
-    public List<Group> getAllGroups() {
-        return groupRepo.findAll();
+    // Get all groups, optionally only the selected fields (projected in MongoDB)
+    public List<Group> getAllGroups(FieldSelection fields) {
+        if (fields == null) {
+            return groupRepo.findAll();
+        }
+        return mongoTemplate.find(fields.applyTo(new Query()), Group.class);
     }
     
-    // Get groups created by a user
-    public List<Group> getGroupsByUser(String userId) {
-        return groupRepo.findByCreatedBy(userId);
+    // Get groups created by a user, optionally only the selected fields
+    public List<Group> getGroupsByUser(String userId, FieldSelection fields) {
+        if (fields == null) {
+            return groupRepo.findByCreatedBy(userId);
+        }
+        return mongoTemplate.find(fields.applyTo(new Query(Criteria.where("createdBy").is(userId))), Group.class);
     }
     
-    // Get a single group by ID
+    // Get a single group by ID, served from the local cache when possible
     public Group getGroupById(String id) {
-        return groupRepo.findById(id).orElse(null);
+        return groupCache.get(id, groupRepo::findById).orElse(null);
     }
     
     // Create a new group
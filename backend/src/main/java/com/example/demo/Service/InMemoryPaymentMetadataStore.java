@@ -0,0 +1,103 @@
+package com.example.demo.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.example.demo.Entity.PaymentMetadata;
+
+/**
+ * Single-instance store on a ConcurrentHashMap, bounded by both TTL and entry count.
+ *
+ * Every entry has the same TTL, so insertion order is also expiry order: a FIFO queue of
+ * payment IDs lets each save evict expired (or, past maxEntries, oldest) entries in O(1) amortized.
+ * Entries are lost on restart and are not visible to other instances - use the Mongo store for that.
+ */
+public class InMemoryPaymentMetadataStore implements PaymentMetadataStore {
+
+    private record Entry(PaymentMetadata metadata, Instant expiresAt, AtomicBoolean executed) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Clock clock;
+
+    public InMemoryPaymentMetadataStore(Duration ttl, int maxEntries) {
+        this(ttl, maxEntries, Clock.systemUTC());
+    }
+
+    InMemoryPaymentMetadataStore(Duration ttl, int maxEntries, Clock clock) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    @Override
+    public void save(PaymentMetadata metadata) {
+        Instant now = clock.instant();
+        Entry entry = new Entry(metadata, now.plus(ttl), new AtomicBoolean(metadata.isExecuted()));
+        if (entries.put(metadata.getPaymentId(), entry) == null) {
+            insertionOrder.add(metadata.getPaymentId());
+        }
+        evict(now);
+    }
+
+    @Override
+    public PaymentMetadata get(String paymentId) {
+        Entry entry = live(paymentId);
+        if (entry == null) {
+            return null;
+        }
+        entry.metadata().setExecuted(entry.executed().get());
+        return entry.metadata();
+    }
+
+    @Override
+    public boolean markExecuted(String paymentId) {
+        Entry entry = live(paymentId);
+        return entry != null && entry.executed().compareAndSet(false, true);
+    }
+
+    @Override
+    public void clearExecuted(String paymentId) {
+        Entry entry = live(paymentId);
+        if (entry != null) {
+            entry.executed().set(false);
+        }
+    }
+
+    @Override
+    public long size() {
+        return entries.size();
+    }
+
+    private Entry live(String paymentId) {
+        Entry entry = entries.get(paymentId);
+        if (entry != null && !entry.expiresAt().isAfter(clock.instant())) {
+            entries.remove(paymentId, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private void evict(Instant now) {
+        String oldest;
+        while ((oldest = insertionOrder.peek()) != null) {
+            Entry entry = entries.get(oldest);
+            boolean stale = entry == null || !entry.expiresAt().isAfter(now);
+            if (!stale && entries.size() <= maxEntries) {
+                return;
+            }
+            if (insertionOrder.remove(oldest) && entry != null) {
+                entries.remove(oldest, entry);
+            }
+        }
+    }
+}
@@ -1,41 +1,123 @@
 package com.example.demo.Service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
 import java.time.LocalDateTime;
 import com.example.demo.Entity.Items;
+import com.example.demo.Repository.GroupRepo;
 import com.example.demo.Repository.ItemRepo;
+import com.example.demo.Repository.SellerStatsRepo;
 import com.example.demo.dto.ItemsDto;
+import com.example.demo.dto.ListingCard;
+import com.example.demo.dto.ListingPage;
+import com.example.demo.dto.ListingQuery;
+import com.example.demo.dto.ScoredItem;
+import com.example.demo.util.ListingCursor;
+import com.example.demo.util.SearchCursor;
 
 @Service
 public class ItemService {
+    private static final Logger log = LoggerFactory.getLogger(ItemService.class);
+
     private final ItemRepo itemRepo;
+    private final GroupRepo groupRepo;
+    private final SellerStatsRepo sellerStatsRepo;
+    private final EntityCache<Long, Items> itemCache;
     
-    public ItemService(ItemRepo itemRepo) {
+    public ItemService(ItemRepo itemRepo, GroupRepo groupRepo, SellerStatsRepo sellerStatsRepo,
+                       EntityCache<Long, Items> itemCache) {
         this.itemRepo = itemRepo;
+        this.groupRepo = groupRepo;
+        this.sellerStatsRepo = sellerStatsRepo;
+        this.itemCache = itemCache;
+    }
+
+    // Get one page of unsold listings (for public browsing), newest first
+    // Filtering and paging happen in MongoDB, so cost depends on the page size only
+    public ListingPage<Items> getListingsPage(ListingQuery query) {
+        return page(query, itemRepo::findListingsPage, Items::getDatePosted, Items::getUsserId);
     }
 
-    // Get all items (for public browsing) - exclude sold items
-    public List<Items> getAllItems() {
-        List<Items> allItems = itemRepo.findAll();
-        // Filter out sold items
-        return allItems.stream()
-            .filter(item -> !item.getIsSold())
-            .toList();
+    // The same page as lightweight browse-grid cards
+    public ListingPage<ListingCard> getListingCardsPage(ListingQuery query) {
+        return page(query, itemRepo::findListingCards, ListingCard::getDatePosted, ListingCard::getUsserId);
+    }
+
+    private <T> ListingPage<T> page(ListingQuery query, Function<ListingQuery, List<T>> finder,
+                                    Function<T, LocalDateTime> datePosted, ToLongFunction<T> id) {
+        int pageSize = query.getLimit();
+        // Fetch one extra row to know whether another page exists (on a copy, the caller's query is left as is)
+        List<T> rows = finder.apply(query.withLimit(pageSize + 1));
+        return toPage(rows, pageSize, datePosted, id);
+    }
+
+    // Cut the pageSize + 1 rows fetched for a page down to pageSize, with a cursor if there is more
+    static <T> ListingPage<T> toPage(List<T> rows, int pageSize, Function<T, LocalDateTime> datePosted, ToLongFunction<T> id) {
+        if (rows.size() <= pageSize) {
+            return new ListingPage<>(rows, null);
+        }
+        List<T> page = rows.subList(0, pageSize);
+        T last = page.get(page.size() - 1);
+        // Legacy listings without datePosted sort last; their cursor carries a null date
+        return new ListingPage<>(page, new ListingCursor(datePosted.apply(last), id.applyAsLong(last)).encode());
+    }
+
+    // Relevance-ranked keyword search over unsold listings (MongoDB text index)
+    public ListingPage<Items> searchListings(String text, SearchCursor after, int limit) {
+        // Fetch one extra hit to know whether another page exists
+        List<ScoredItem> hits = itemRepo.searchListings(text,
+            after != null ? after.getScore() : null, after != null ? after.getId() : null, limit + 1);
+        String nextCursor = null;
+        if (hits.size() > limit) {
+            hits = hits.subList(0, limit);
+            ScoredItem last = hits.get(hits.size() - 1);
+            nextCursor = new SearchCursor(last.getScore(), last.getItem().getUsserId()).encode();
+        }
+        return new ListingPage<>(hits.stream().map(ScoredItem::getItem).toList(), nextCursor);
     }
 
-    // Get items by user ID (for user's own listings)
-    public List<Items> getItems(String userId) {
-        return itemRepo.findByUserId(userId);
+    // Every unsold listing matching the filters, newest first, straight off a Mongo cursor (caller closes)
+    public Stream<Items> streamListings(ListingQuery query) {
+        return itemRepo.streamListings(query);
     }
 
-    // Get a single item by ID
+    // Items by user ID (for user's own listings), straight off a Mongo cursor (caller closes)
+    public Stream<Items> streamItems(String userId) {
+        return itemRepo.streamByUserId(userId);
+    }
+
+    // Get a single item by ID (detail pages), served from the local cache when possible
     public Optional<Items> getItemById(Long id) {
-        return itemRepo.findById(id);
+        return itemCache.get(id, itemRepo::findById);
     }
 
+    // Also counts the listing (active and total) on its group and its seller's stats, so neither ever aggregates
     public Items createListing(ItemsDto itemsDto, String userId){
+        Items saved = itemRepo.save(newListing(itemsDto, userId, LocalDateTime.now()));
+        countListing(saved, 1, 1);
+        return saved;
+    }
+
+    // $inc the listing counters of the listing's group and seller
+    // The listing write already happened, so a failed counter update is logged rather than thrown:
+    // a claim must not look failed to checkout just because a counter could not be updated
+    private void countListing(Items item, long activeDelta, long totalDelta) {
+        try {
+            groupRepo.adjustListingCounts(item.getGroupId(), activeDelta, totalDelta);
+            sellerStatsRepo.adjustListings(item.getUserId(), activeDelta, totalDelta);
+        } catch (RuntimeException e) {
+            log.warn("Could not update the listing counters for listing {}", item.getUsserId(), e);
+        }
+    }
+
+    // A new unsold listing from the DTO (shared with the bulk import)
+    static Items newListing(ItemsDto itemsDto, String userId, LocalDateTime datePosted) {
         Items newItem = new Items();
         newItem.setItemName(itemsDto.getItemName());
         newItem.setCategory(itemsDto.getCategory());
@@ -49,31 +131,27 @@ public class ItemService {
         newItem.setGroupId(itemsDto.getGroupId()); // Set group ID if provided
         newItem.setListingType(itemsDto.getListingType() != null && !itemsDto.getListingType().isEmpty() 
             ? itemsDto.getListingType() : "sell"); // Default to "sell" if not provided
-        newItem.setDatePosted(LocalDateTime.now());
+        newItem.setDatePosted(datePosted);
         newItem.setIsSold(false);
-        return itemRepo.save(newItem);
+        return newItem;
     }
     
-    // Mark an item as sold
-    public boolean markItemAsSold(Long itemId) {
-        System.out.println("Attempting to mark item as sold, ID: " + itemId);
-        Optional<Items> itemOpt = itemRepo.findById(itemId);
-        if (itemOpt.isPresent()) {
-            Items item = itemOpt.get();
-            System.out.println("Found item: " + item.getItemName() + ", current isSold: " + item.getIsSold());
-            item.setIsSold(true);
-            Items saved = itemRepo.save(item);
-            System.out.println("Item saved, new isSold: " + saved.getIsSold());
-            return true;
-        } else {
-            System.out.println("Item not found with ID: " + itemId);
-            // Try to find by usserId (MongoDB _id field)
-            List<Items> allItems = itemRepo.findAll();
-            System.out.println("Total items in database: " + allItems.size());
-            for (Items item : allItems) {
-                System.out.println("Item ID: " + item.getUsserId() + ", Name: " + item.getItemName());
-            }
+    // Claim an unsold listing for a sale in a single atomic findAndModify
+    // Empty if the listing does not exist or someone else already bought it
+    public Optional<Items> claimListing(Long itemId) {
+        Items claimed = itemRepo.claimListing(itemId);
+        if (claimed != null) {
+            countListing(claimed, -1, 0);
+        }
+        return Optional.ofNullable(claimed);
+    }
+
+    // Put a claimed listing back on sale (used when the order could not be recorded)
+    public boolean releaseListing(Long itemId) {
+        Items released = itemRepo.releaseListing(itemId);
+        if (released != null) {
+            countListing(released, 1, 0);
         }
-        return false;
+        return released != null;
     }
 }
@@ -0,0 +1,225 @@
+package com.example.demo.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.Entity.Items;
+import com.example.demo.Repository.ItemRepoImpl;
+import com.example.demo.dto.ListingSuggestion;
+
+/**
+ * In-memory prefix index over unsold listings' itemName and category words, for typeahead.
+ *
+ * Terms live in a ConcurrentSkipListMap (a sorted term array that can be updated in place), so a
+ * prefix lookup is a range scan over [prefix, prefix + MAX_VALUE). Reads are lock-free; writes come from
+ * ListingSuggestIndexListener on every listing save/delete and are serialized, since they are rare.
+ *
+ * A rebuild's cursor can return a listing as it was before a sale that happened during the scan, so
+ * listener changes made while a rebuild runs are recorded and replayed over the rebuilt entries.
+ */
+@Component
+public class ListingSuggestIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ListingSuggestIndex.class);
+
+    private record Entry(long id, String itemName, String category, String lowerName, long postedAt, Set<String> terms) {
+    }
+
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final MongoTemplate mongoTemplate;
+    // Latest listener change per listing while a rebuild runs (empty = removed); null otherwise
+    private Map<Long, Optional<Items>> changedDuringRebuild;
+
+    public ListingSuggestIndex(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    // Build from Mongo off the startup thread; listener updates that arrive meanwhile win over the scan
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        Thread builder = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("Failed to build listing suggest index", e);
+            }
+        }, "listing-suggest-index");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    public void rebuild() {
+        Query unsold = new Query(ItemRepoImpl.unsold());
+        unsold.fields().include("itemName").include("category").include("datePosted").include("isSold");
+        long started = System.nanoTime();
+        synchronized (this) {
+            changedDuringRebuild = new LinkedHashMap<>();
+        }
+        try (Stream<Items> items = mongoTemplate.stream(unsold, Items.class)) {
+            items.forEach(this::index);
+        } finally {
+            synchronized (this) {
+                Map<Long, Optional<Items>> changes = changedDuringRebuild;
+                changedDuringRebuild = null;
+                changes.forEach((id, change) -> change.ifPresentOrElse(this::index, () -> unindex(id)));
+            }
+        }
+        log.info("Listing suggest index built with {} listings in {} ms", entries.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Add or replace a listing; sold listings are removed
+    public synchronized void upsert(Items item) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(item.getUsserId(), Optional.of(item));
+        }
+        index(item);
+    }
+
+    public synchronized void remove(long id) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(id, Optional.empty());
+        }
+        unindex(id);
+    }
+
+    private synchronized void index(Items item) {
+        if (item.getIsSold() || item.getItemName() == null) {
+            unindex(item.getUsserId());
+            return;
+        }
+        Set<String> terms = new LinkedHashSet<>(tokenize(item.getItemName()));
+        if (item.getCategory() != null) {
+            terms.addAll(tokenize(item.getCategory()));
+        }
+        LocalDateTime posted = item.getDatePosted();
+        Entry entry = new Entry(item.getUsserId(), item.getItemName(), item.getCategory(),
+            item.getItemName().toLowerCase(Locale.ROOT), posted != null ? posted.toEpochSecond(ZoneOffset.UTC) : 0L, terms);
+
+        Entry previous = entries.put(entry.id(), entry);
+        if (previous != null) {
+            unlink(previous);
+        }
+        for (String term : terms) {
+            postings.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(entry.id());
+        }
+    }
+
+    private synchronized void unindex(long id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            unlink(previous);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Listings whose words start with every word of q, best first:
+     * whole-name prefix, then a name word prefix, then category-only matches; newer listings first within each.
+     */
+    public List<ListingSuggestion> suggest(String q, int limit) {
+        List<String> tokens = tokenize(q);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        // Seed from the longest word (usually the fewest postings), then keep the listings that match every other word
+        String seed = tokens.stream().max(Comparator.comparingInt(String::length)).get();
+        Set<Long> candidates = new LinkedHashSet<>();
+        for (Set<Long> ids : postings.subMap(seed, true, seed + Character.MAX_VALUE, false).values()) {
+            candidates.addAll(ids);
+        }
+        for (String token : tokens) {
+            candidates.removeIf(id -> !matchesPrefix(entries.get(id), token));
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        String lowerQuery = q.trim().toLowerCase(Locale.ROOT);
+        String firstToken = tokens.get(0);
+        List<Entry> ranked = new ArrayList<>(candidates.size());
+        for (Long id : candidates) {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                ranked.add(entry);
+            }
+        }
+        ranked.sort(Comparator.<Entry>comparingInt(entry -> rank(entry, lowerQuery, firstToken))
+            .thenComparing(Comparator.comparingLong(Entry::postedAt).reversed()));
+
+        return ranked.stream()
+            .limit(limit)
+            .map(entry -> new ListingSuggestion(entry.id(), entry.itemName(), entry.category()))
+            .toList();
+    }
+
+    private static int rank(Entry entry, String lowerQuery, String firstToken) {
+        if (entry.lowerName().startsWith(lowerQuery)) {
+            return 0;
+        }
+        for (String word : tokenize(entry.itemName())) {
+            if (word.startsWith(firstToken)) {
+                return 1;
+            }
+        }
+        return 2;
+    }
+
+    private static boolean matchesPrefix(Entry entry, String token) {
+        if (entry == null) {
+            return false;
+        }
+        for (String term : entry.terms()) {
+            if (term.startsWith(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void unlink(Entry entry) {
+        for (String term : entry.terms()) {
+            postings.computeIfPresent(term, (key, ids) -> {
+                ids.remove(entry.id());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
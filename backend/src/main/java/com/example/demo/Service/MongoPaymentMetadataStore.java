@@ -0,0 +1,49 @@
+package com.example.demo.Service;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.example.demo.Entity.PaymentMetadata;
+
+/**
+ * Shared store in the payment_metadata collection, so any instance can finish a payment
+ * started on another. Expiry is handled by the TTL index on createdAt, and the executed
+ * flag is flipped with a conditional update so only one caller wins.
+ */
+public class MongoPaymentMetadataStore implements PaymentMetadataStore {
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoPaymentMetadataStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void save(PaymentMetadata metadata) {
+        mongoTemplate.save(metadata);
+    }
+
+    @Override
+    public PaymentMetadata get(String paymentId) {
+        return mongoTemplate.findById(paymentId, PaymentMetadata.class);
+    }
+
+    @Override
+    public boolean markExecuted(String paymentId) {
+        Query notYetExecuted = new Query(Criteria.where("_id").is(paymentId).and("executed").is(false));
+        return mongoTemplate.updateFirst(notYetExecuted, new Update().set("executed", true), PaymentMetadata.class)
+            .getModifiedCount() == 1;
+    }
+
+    @Override
+    public void clearExecuted(String paymentId) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(paymentId)), new Update().set("executed", false), PaymentMetadata.class);
+    }
+
+    @Override
+    public long size() {
+        return mongoTemplate.estimatedCount(PaymentMetadata.class);
+    }
+}
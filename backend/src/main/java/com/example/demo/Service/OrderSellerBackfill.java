@@ -0,0 +1,122 @@
+package com.example.demo.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.Entity.Items;
+import com.example.demo.Entity.Order;
+import com.example.demo.Repository.ItemRepo;
+
+/**
+ * Fills in Order.sellerUserId for orders created before the field existed.
+ *
+ * Works in batches ordered by _id. Every batch only selects orders that still lack the field,
+ * so a restart simply picks up whatever is left - no checkpoint document is needed. Orders whose
+ * listing no longer exists are skipped for the rest of the run and retried on the next start.
+ */
+@Component
+public class OrderSellerBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderSellerBackfill.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ItemRepo itemRepo;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public OrderSellerBackfill(MongoTemplate mongoTemplate,
+                               ItemRepo itemRepo,
+                               @Value("${truswap.backfill.order-seller.enabled:true}") boolean enabled,
+                               @Value("${truswap.backfill.order-seller.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.itemRepo = itemRepo;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    // Run off the startup thread so a large backlog never delays serving traffic
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread worker = new Thread(() -> {
+            try {
+                run();
+            } catch (Exception e) {
+                log.error("Order seller backfill stopped, it will resume on next start", e);
+            }
+        }, "order-seller-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Process every order missing sellerUserId
+     * @return number of orders updated
+     */
+    public long run() {
+        long updated = 0;
+        String lastId = null;
+        while (true) {
+            Criteria criteria = Criteria.where("sellerUserId").exists(false);
+            if (lastId != null) {
+                criteria = criteria.and("_id").gt(lastId);
+            }
+            Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+            query.fields().include("_id").include("listingId");
+            List<Order> batch = mongoTemplate.find(query, Order.class);
+            if (batch.isEmpty()) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+
+            // One lookup for all listings referenced by this batch
+            Set<Long> listingIds = batch.stream()
+                .map(Order::getListingId)
+                .filter(id -> id != null)
+                .collect(Collectors.toSet());
+            Map<Long, String> sellerByListing = new HashMap<>();
+            for (Items item : itemRepo.findAllById(listingIds)) {
+                if (item.getUserId() != null) {
+                    sellerByListing.put(item.getUsserId(), item.getUserId());
+                }
+            }
+
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class);
+            int pending = 0;
+            for (Order order : batch) {
+                String sellerUserId = order.getListingId() != null ? sellerByListing.get(order.getListingId()) : null;
+                if (sellerUserId != null) {
+                    bulk.updateOne(
+                        new Query(Criteria.where("_id").is(order.getId()).and("sellerUserId").exists(false)),
+                        new Update().set("sellerUserId", sellerUserId));
+                    pending++;
+                }
+            }
+            if (pending > 0) {
+                updated += bulk.execute().getModifiedCount();
+            }
+        }
+        if (updated > 0) {
+            log.info("Order seller backfill updated {} orders", updated);
+        }
+        return updated;
+    }
+}
@@ -1,83 +1,115 @@
 package com.example.demo.Service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import java.util.List;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import com.example.demo.Entity.Order;
 import com.example.demo.Entity.Items;
 import com.example.demo.Repository.OrderRepo;
-import com.example.demo.Repository.ItemRepo;
+import com.example.demo.Repository.SellerStatsRepo;
+import com.example.demo.util.FieldSelection;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class OrderService {
+    private static final Logger log = LoggerFactory.getLogger(OrderService.class);
     private final OrderRepo orderRepo;
-    private final ItemRepo itemRepo;
+    private final SellerStatsRepo sellerStatsRepo;
+    private final MongoTemplate mongoTemplate;
     
-    public OrderService(OrderRepo orderRepo, ItemRepo itemRepo) {
+    public OrderService(OrderRepo orderRepo, SellerStatsRepo sellerStatsRepo, MongoTemplate mongoTemplate) {
         this.orderRepo = orderRepo;
-        this.itemRepo = itemRepo;
+        this.sellerStatsRepo = sellerStatsRepo;
+        this.mongoTemplate = mongoTemplate;
     }
     
-    // Create an order from a completed payment
-    public Order createOrder(Long listingId, String buyerEmail, String buyerName, String buyerUserId) {
-        Optional<Items> itemOpt = itemRepo.findById(listingId);
-        if (itemOpt.isPresent()) {
-            Items item = itemOpt.get();
-            
-            Order order = new Order();
-            order.setListingId(listingId);
-            order.setItemName(item.getItemName());
-            order.setItemImageUrl(item.getImageUrl());
-            order.setPrice(item.getPrice());
-            order.setBuyerEmail(buyerEmail);
-            order.setBuyerName(buyerName);
-            order.setBuyerUserId(buyerUserId);
-            order.setSellerEmail(item.getEmail());
-            order.setSellerName(item.getName());
-            order.setStatus("completed");
-            order.setPurchaseDate(LocalDateTime.now());
-            
-            return orderRepo.save(order);
+    // Create an order from a completed payment, using the listing snapshot returned by the claim (no extra read)
+    // Throws DuplicateKeyException if an order already exists for this paymentId
+    // Once the order is in, the sale is added to the seller's stats with one atomic upsert (a duplicate never gets that far)
+    public Order createOrder(Items item, String paymentId, String buyerEmail, String buyerName, String buyerUserId) {
+        Order order = new Order();
+        order.setListingId(item.getUsserId());
+        order.setItemName(item.getItemName());
+        order.setItemImageUrl(item.getImageUrl());
+        order.setPrice(item.getPrice());
+        order.setBuyerEmail(buyerEmail);
+        order.setBuyerName(buyerName);
+        order.setBuyerUserId(buyerUserId);
+        order.setSellerEmail(item.getEmail());
+        order.setSellerName(item.getName());
+        order.setSellerUserId(item.getUserId());
+        order.setStatus("completed");
+        order.setPaymentId(paymentId);
+        order.setPurchaseDate(LocalDateTime.now());
+        
+        Order created = orderRepo.insert(order);
+        Long timeToSellMillis = item.getDatePosted() != null
+            ? Math.max(0, Duration.between(item.getDatePosted(), created.getPurchaseDate()).toMillis())
+            : null;
+        try {
+            sellerStatsRepo.recordSale(item.getUserId(), item.getPrice(), timeToSellMillis, created.getPurchaseDate());
+        } catch (RuntimeException e) {
+            // The order stands; failing here would make the caller release a listing that was sold.
+            // SellerStatsRebuild brings the figures back in line
+            log.warn("Could not add order {} to the stats of seller {}", created.getId(), item.getUserId(), e);
         }
-        return null;
+        return created;
+    }
+    
+    // Look up the order created for a PayPal payment
+    public Optional<Order> getOrderByPaymentId(String paymentId) {
+        return orderRepo.findByPaymentId(paymentId);
     }
     
+    // The order lookups below take an optional sparse fieldset; with one, the same indexed query runs
+    // through MongoTemplate with a field projection instead of the derived repository method
+    
     // Get orders by buyer email
-    public List<Order> getOrdersByBuyer(String buyerEmail) {
-        return orderRepo.findByBuyerEmail(buyerEmail);
+    public List<Order> getOrdersByBuyer(String buyerEmail, FieldSelection fields) {
+        if (fields == null) {
+            return orderRepo.findByBuyerEmail(buyerEmail);
+        }
+        return mongoTemplate.find(fields.applyTo(new Query(Criteria.where("buyerEmail").is(buyerEmail))), Order.class);
     }
     
     // Get orders by buyer user ID (Auth0 user ID)
-    public List<Order> getOrdersByBuyerUserId(String buyerUserId) {
-        return orderRepo.findByBuyerUserId(buyerUserId);
+    public List<Order> getOrdersByBuyerUserId(String buyerUserId, FieldSelection fields) {
+        if (fields == null) {
+            return orderRepo.findByBuyerUserId(buyerUserId);
+        }
+        return mongoTemplate.find(fields.applyTo(new Query(Criteria.where("buyerUserId").is(buyerUserId))), Order.class);
     }
     
     // Get orders by seller email
-    public List<Order> getOrdersBySeller(String sellerEmail) {
-        return orderRepo.findBySellerEmail(sellerEmail);
+    public List<Order> getOrdersBySeller(String sellerEmail, FieldSelection fields) {
+        if (fields == null) {
+            return orderRepo.findBySellerEmail(sellerEmail);
+        }
+        return mongoTemplate.find(fields.applyTo(new Query(Criteria.where("sellerEmail").is(sellerEmail))), Order.class);
     }
     
-    // Get orders by seller user ID (more reliable - finds orders for items owned by user)
-    public List<Order> getOrdersBySellerUserId(String sellerUserId) {
-        // Get all listings owned by this user
-        List<Items> userListings = itemRepo.findByUserId(sellerUserId);
-        // Extract listing IDs
-        List<Long> listingIds = userListings.stream()
-            .map(Items::getUsserId)
-            .map(Long::valueOf)
-            .toList();
-        
-        // Find all orders for these listings
-        List<Order> allOrders = orderRepo.findAll();
-        return allOrders.stream()
-            .filter(order -> order.getListingId() != null && listingIds.contains(order.getListingId()))
-            .toList();
+    // Get one page of orders by seller user ID, newest first (indexed on sellerUserId + purchaseDate)
+    public List<Order> getOrdersBySellerUserId(String sellerUserId, int page, int size, FieldSelection fields) {
+        if (fields == null) {
+            return orderRepo.findBySellerUserIdOrderByPurchaseDateDesc(sellerUserId, PageRequest.of(page, size));
+        }
+        Query query = new Query(Criteria.where("sellerUserId").is(sellerUserId))
+            .with(PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "purchaseDate")));
+        return mongoTemplate.find(fields.applyTo(query), Order.class);
     }
     
-    // Get all orders (for admin)
-    public List<Order> getAllOrders() {
-        return orderRepo.findAll();
+    // All orders (for admin), straight off a Mongo cursor (caller closes)
+    public Stream<Order> streamAllOrders() {
+        return orderRepo.streamAllBy();
     }
 }
 
@@ -0,0 +1,181 @@
+package com.example.demo.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.paypal.base.rest.PayPalRESTException;
+
+/**
+ * Keeps slow or failing PayPal calls from taking the rest of the API down with them.
+ *
+ * A bulkhead caps how many PayPal calls are in flight; a caller that cannot get a slot within
+ * the configured wait is rejected with 503 instead of queueing without bound. A circuit breaker
+ * counts consecutive outage failures (I/O errors and timeouts, 429, 5xx); once it opens, calls fail
+ * fast for a cool-down, then a single trial call decides whether it closes again.
+ * 4xx responses other than 429 mean PayPal is up and answering, so they count as healthy.
+ */
+public class PayPalBulkhead {
+
+    private static final Logger log = LoggerFactory.getLogger(PayPalBulkhead.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * A blocking PayPal call guarded by the bulkhead
+     */
+    @FunctionalInterface
+    public interface GuardedCall<T> {
+        T execute() throws PayPalRESTException;
+    }
+
+    private final Semaphore permits;
+    private final int maxConcurrentCalls;
+    private final Duration maxWait;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    // Breaker state, guarded by this
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean trialInFlight;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder shortCircuited = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public PayPalBulkhead(int maxConcurrentCalls, Duration maxWait, int failureThreshold, Duration openDuration) {
+        this(maxConcurrentCalls, maxWait, failureThreshold, openDuration, Clock.systemUTC());
+    }
+
+    PayPalBulkhead(int maxConcurrentCalls, Duration maxWait, int failureThreshold, Duration openDuration, Clock clock) {
+        this.maxConcurrentCalls = Math.max(1, maxConcurrentCalls);
+        this.permits = new Semaphore(this.maxConcurrentCalls, true);
+        this.maxWait = maxWait;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    public <T> T execute(GuardedCall<T> call) throws PayPalRESTException {
+        boolean trial = admit();
+        boolean acquired = false;
+        try {
+            acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!acquired) {
+            if (trial) {
+                abandonTrial();
+            }
+            rejected.increment();
+            throw unavailable("Too many concurrent PayPal calls, try again shortly");
+        }
+        try {
+            T result = call.execute();
+            recordSuccess();
+            return result;
+        } catch (PayPalRESTException e) {
+            if (isOutage(e)) {
+                recordFailure();
+            } else {
+                recordSuccess();
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            recordFailure();
+            throw e;
+        } finally {
+            permits.release();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public int getInFlightCount() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getShortCircuitedCount() {
+        return shortCircuited.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    // Outage failures trip the breaker: no HTTP status (I/O error, timeout), rate limiting, or a server error
+    static boolean isOutage(PayPalRESTException e) {
+        int status = e.getResponsecode();
+        return status == 0 || status == 429 || status >= 500;
+    }
+
+    // Returns true if this call is the half-open trial
+    private synchronized boolean admit() throws PayPalRESTException {
+        if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+            state = State.HALF_OPEN;
+        }
+        if (state == State.CLOSED) {
+            return false;
+        }
+        if (state == State.HALF_OPEN && !trialInFlight) {
+            trialInFlight = true;
+            return true;
+        }
+        shortCircuited.increment();
+        throw unavailable("PayPal is unavailable, try again shortly");
+    }
+
+    private synchronized void abandonTrial() {
+        trialInFlight = false;
+    }
+
+    private synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            log.info("PayPal circuit closed after a successful trial call");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    private synchronized void recordFailure() {
+        failures.increment();
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            log.warn("PayPal circuit opened after {} consecutive failures, failing fast for {}", consecutiveFailures, openDuration);
+            state = State.OPEN;
+            openedAt = clock.instant();
+        }
+        trialInFlight = false;
+    }
+
+    private static PayPalRESTException unavailable(String message) {
+        PayPalRESTException error = new PayPalRESTException(message);
+        error.setResponsecode(503);
+        return error;
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.demo.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.config.PayPalConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paypal.base.rest.APIContext;
+import com.paypal.base.rest.PayPalRESTException;
+
+/**
+ * Shared entry point for PayPal REST calls.
+ *
+ * Building `new APIContext(clientId, clientSecret, mode)` per call puts an OAuth token fetch on the
+ * request path. Instead we keep one access token, fetch it over a pooled HttpClient, and refresh it
+ * in the background shortly before it expires. Each call still gets its own lightweight APIContext:
+ * the SDK pins a PayPal-Request-Id (idempotency key) to the context, so contexts must not be shared.
+ *
+ * Every call runs through a {@link PayPalBulkhead} with socket timeouts on the SDK connection, so a slow
+ * PayPal cannot tie up more than a bounded number of request threads. Token refresh uses a lock rather
+ * than synchronized so a blocked fetch does not pin a carrier thread when virtual threads are enabled.
+ */
+@Component
+public class PayPalClient implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PayPalClient.class);
+    private static final ObjectMapper JSON = new ObjectMapper();
+    // Used when the token is close to expiry and a background refresh did not land in time
+    private static final Duration MIN_REMAINING = Duration.ofSeconds(30);
+
+    /**
+     * A PayPal SDK call made with a ready-to-use context
+     */
+    @FunctionalInterface
+    public interface PayPalCall<T> {
+        T execute(APIContext apiContext) throws PayPalRESTException;
+    }
+
+    private record AccessToken(String authorization, long expiresAtNanos) {
+    }
+
+    private final PayPalConfig payPalConfig;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService refresher;
+    private final PayPalBulkhead bulkhead;
+    private final ReentrantLock tokenLock = new ReentrantLock();
+    private volatile AccessToken token;
+    private ScheduledFuture<?> scheduledRefresh;
+
+    // Token fetch timing
+    private final AtomicLong tokenFetches = new AtomicLong();
+    private final AtomicLong tokenFetchNanosTotal = new AtomicLong();
+    private volatile long lastTokenFetchNanos;
+
+    public PayPalClient(PayPalConfig payPalConfig) {
+        this.payPalConfig = payPalConfig;
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        this.bulkhead = new PayPalBulkhead(payPalConfig.getMaxConcurrentCalls(), payPalConfig.getMaxWait(),
+            payPalConfig.getFailureThreshold(), payPalConfig.getOpenDuration());
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "paypal-token-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Warm the token off the startup path so the first checkout does not pay for it
+    @EventListener(ApplicationReadyEvent.class)
+    public void prefetch() {
+        if (hasCredentials()) {
+            refresher.execute(this::refreshQuietly);
+        }
+    }
+
+    /**
+     * Run an SDK call with a cached token. If PayPal rejects the token (401), fetch a new one and retry once.
+     * Fails fast with response code 503 when the bulkhead is full or the circuit is open.
+     */
+    public <T> T call(PayPalCall<T> call) throws PayPalRESTException {
+        return bulkhead.execute(() -> callWithToken(call));
+    }
+
+    private <T> T callWithToken(PayPalCall<T> call) throws PayPalRESTException {
+        AccessToken current = currentToken();
+        try {
+            return call.execute(newContext(current));
+        } catch (PayPalRESTException e) {
+            if (e.getResponsecode() != 401) {
+                throw e;
+            }
+            invalidate(current);
+            return call.execute(newContext(currentToken()));
+        }
+    }
+
+    /**
+     * A fresh APIContext carrying the cached token (no network I/O unless the token must be fetched)
+     */
+    public APIContext apiContext() throws PayPalRESTException {
+        return newContext(currentToken());
+    }
+
+    public PayPalBulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    public long getTokenFetchCount() {
+        return tokenFetches.get();
+    }
+
+    public Duration getLastTokenFetchDuration() {
+        return Duration.ofNanos(lastTokenFetchNanos);
+    }
+
+    public Duration getTotalTokenFetchDuration() {
+        return Duration.ofNanos(tokenFetchNanosTotal.get());
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+
+    // The only constructors that are not deprecated take client credentials and fetch their own token
+    @SuppressWarnings("deprecation")
+    private APIContext newContext(AccessToken accessToken) {
+        APIContext apiContext = new APIContext(accessToken.authorization());
+        Map<String, String> configuration = new HashMap<>();
+        configuration.put("mode", payPalConfig.getMode());
+        configuration.put("service.EndPoint", payPalConfig.getApiBaseUrl());
+        configuration.put("http.ConnectionTimeOut", String.valueOf(payPalConfig.getConnectTimeout().toMillis()));
+        configuration.put("http.ReadTimeOut", String.valueOf(payPalConfig.getReadTimeout().toMillis()));
+        // One attempt per call: the SDK sleeps a fixed second after every failed attempt, so its retries
+        // multiply the time a slow PayPal holds a thread (a timed-out call costs read-timeout + 1s as it is)
+        configuration.put("http.Retry", "1");
+        apiContext.setConfigurationMap(configuration);
+        return apiContext;
+    }
+
+    private AccessToken currentToken() throws PayPalRESTException {
+        AccessToken current = token;
+        if (current != null && current.expiresAtNanos() - System.nanoTime() > MIN_REMAINING.toNanos()) {
+            return current;
+        }
+        return refresh(current);
+    }
+
+    private void invalidate(AccessToken stale) {
+        tokenLock.lock();
+        try {
+            if (token == stale) {
+                token = null;
+            }
+        } finally {
+            tokenLock.unlock();
+        }
+    }
+
+    // Only one thread fetches; others waiting here reuse the token it obtained
+    private AccessToken refresh(AccessToken seen) throws PayPalRESTException {
+        tokenLock.lock();
+        try {
+            AccessToken current = token;
+            if (current != seen && current != null) {
+                return current;
+            }
+            AccessToken fresh = fetchToken();
+            token = fresh;
+            scheduleRefresh(fresh);
+            return fresh;
+        } finally {
+            tokenLock.unlock();
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh(token);
+        } catch (Exception e) {
+            log.warn("Background PayPal token refresh failed, will fetch on next call: {}", e.getMessage());
+        }
+    }
+
+    private void scheduleRefresh(AccessToken fresh) {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+        }
+        long lifetime = fresh.expiresAtNanos() - System.nanoTime();
+        // Refresh a margin before expiry, but never later than 90% into the token's lifetime
+        long delay = Math.min(lifetime - payPalConfig.getTokenRefreshMargin().toNanos(), lifetime * 9 / 10);
+        scheduledRefresh = refresher.schedule(this::refreshQuietly, Math.max(delay, 0), TimeUnit.NANOSECONDS);
+    }
+
+    private AccessToken fetchToken() throws PayPalRESTException {
+        if (!hasCredentials()) {
+            throw new PayPalRESTException("PayPal client credentials are not configured");
+        }
+        String basic = Base64.getEncoder().encodeToString(
+            (payPalConfig.getClientId() + ":" + payPalConfig.getClientSecret()).getBytes(StandardCharsets.UTF_8));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(payPalConfig.getApiBaseUrl() + "/v1/oauth2/token"))
+            .timeout(payPalConfig.getReadTimeout().isZero() ? Duration.ofSeconds(10) : payPalConfig.getReadTimeout())
+            .header("Authorization", "Basic " + basic)
+            .header("Accept", "application/json")
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .POST(HttpRequest.BodyPublishers.ofString("grant_type=client_credentials"))
+            .build();
+
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                PayPalRESTException error = new PayPalRESTException("PayPal token request failed with status " + response.statusCode());
+                error.setResponsecode(response.statusCode());
+                throw error;
+            }
+            JsonNode body = JSON.readTree(response.body());
+            long expiresIn = body.path("expires_in").asLong(0);
+            String accessToken = body.path("access_token").asText(null);
+            if (accessToken == null || expiresIn <= 0) {
+                throw new PayPalRESTException("PayPal token response is missing access_token or expires_in");
+            }
+            return new AccessToken(body.path("token_type").asText("Bearer") + " " + accessToken,
+                started + TimeUnit.SECONDS.toNanos(expiresIn));
+        } catch (IOException e) {
+            throw new PayPalRESTException("PayPal token request failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PayPalRESTException("Interrupted while fetching PayPal token", e);
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            lastTokenFetchNanos = elapsed;
+            tokenFetchNanosTotal.addAndGet(elapsed);
+            tokenFetches.incrementAndGet();
+        }
+    }
+
+    private boolean hasCredentials() {
+        return payPalConfig.getClientId() != null && !payPalConfig.getClientId().isEmpty()
+            && payPalConfig.getClientSecret() != null && !payPalConfig.getClientSecret().isEmpty();
+    }
+}
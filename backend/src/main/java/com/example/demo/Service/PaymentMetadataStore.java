@@ -0,0 +1,27 @@
+package com.example.demo.Service;
+
+import com.example.demo.Entity.PaymentMetadata;
+
+/**
+ * Storage for in-flight PayPal payment metadata between create-payment and execute.
+ * Implementations must be safe for concurrent request threads.
+ */
+public interface PaymentMetadataStore {
+
+    void save(PaymentMetadata metadata);
+
+    // Returns null if unknown or expired
+    PaymentMetadata get(String paymentId);
+
+    /**
+     * Atomically flip executed from false to true
+     * @return true only for the caller that performed the transition
+     */
+    boolean markExecuted(String paymentId);
+
+    // Undo markExecuted after the PayPal call failed, so the buyer can retry
+    void clearExecuted(String paymentId);
+
+    // Approximate number of stored entries
+    long size();
+}
@@ -1,10 +1,13 @@
 package com.example.demo.Service;
 
 import com.example.demo.dto.PayPalPaymentRequest;
-import com.example.demo.config.PayPalConfig;
+import com.example.demo.Entity.PaymentMetadata;
 import com.paypal.api.payments.*;
-import com.paypal.base.rest.APIContext;
 import com.paypal.base.rest.PayPalRESTException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.util.ArrayList;
@@ -18,35 +21,23 @@ import java.nio.charset.StandardCharsets;
 @Service
 public class PaymentService {
     
+    private static final Logger log = LoggerFactory.getLogger(PaymentService.class);
+    
     @Autowired
-    private PayPalConfig payPalConfig;
+    private PayPalClient payPalClient;
     
-    // Store payment metadata (in production, use Redis or database)
-    private final Map<String, PaymentMetadata> paymentMetadata = new HashMap<>();
+    // Payment metadata between create and execute (bounded, concurrent; see PaymentMetadataStoreConfig)
+    @Autowired
+    private PaymentMetadataStore paymentMetadataStore;
     
-    // Metadata class to store payment info
-    public static class PaymentMetadata {
-        private Long listingId;
-        private String buyerUserId;
-        private boolean executed = false;
-        
-        public PaymentMetadata(Long listingId, String buyerUserId) {
-            this.listingId = listingId;
-            this.buyerUserId = buyerUserId;
-        }
-        
-        public Long getListingId() { return listingId; }
-        public String getBuyerUserId() { return buyerUserId; }
-        public boolean isExecuted() { return executed; }
-        public void setExecuted(boolean executed) { this.executed = executed; }
-    }
+    // paypal.calls timers per operation, including bulkhead wait and any token fetch
+    @Autowired
+    private MeterRegistry meterRegistry;
     
     /**
      * Create a PayPal payment
      */
     public Map<String, String> createPayment(PayPalPaymentRequest request) throws PayPalRESTException {
-        APIContext apiContext = new APIContext(payPalConfig.getClientId(), payPalConfig.getClientSecret(), payPalConfig.getMode());
-        
         // Set up payment details
         Amount amount = new Amount();
         amount.setCurrency("USD");
@@ -90,7 +81,7 @@ public class PaymentService {
         }
         
         String returnUrl = baseUrl + queryString.toString();
-        System.out.println("Return URL: " + returnUrl);
+        log.debug("Return URL: {}", returnUrl);
         redirectUrls.setReturnUrl(returnUrl);
         
         Payment payment = new Payment();
@@ -100,11 +91,11 @@ public class PaymentService {
         payment.setRedirectUrls(redirectUrls);
         
         // Create payment
-        Payment createdPayment = payment.create(apiContext);
+        Payment createdPayment = timedCall("create", payment::create);
         
         // Store metadata for this payment
-        paymentMetadata.put(createdPayment.getId(), new PaymentMetadata(request.getListingId(), request.getBuyerUserId()));
-        System.out.println("Stored payment metadata - paymentId: " + createdPayment.getId() + ", listingId: " + request.getListingId() + ", buyerUserId: " + request.getBuyerUserId());
+        paymentMetadataStore.save(new PaymentMetadata(createdPayment.getId(), request.getListingId(), request.getBuyerUserId()));
+        log.debug("Stored metadata for payment {} (listing {}, buyer {})", createdPayment.getId(), request.getListingId(), request.getBuyerUserId());
         
         // Get approval URL
         String approvalUrl = null;
@@ -126,34 +117,77 @@ public class PaymentService {
      * Execute PayPal payment after user approval
      */
     public Payment executePayment(String paymentId, String payerId) throws PayPalRESTException {
-        // Check if payment was already executed
-        PaymentMetadata metadata = paymentMetadata.get(paymentId);
-        if (metadata != null && metadata.isExecuted()) {
+        // Claim the payment before calling PayPal (atomic, so a concurrent execute on this or
+        // another instance loses here instead of reaching PayPal a second time)
+        PaymentMetadata metadata = paymentMetadataStore.get(paymentId);
+        if (metadata != null && !paymentMetadataStore.markExecuted(paymentId)) {
             throw new PayPalRESTException("Payment already executed");
         }
         
-        APIContext apiContext = new APIContext(payPalConfig.getClientId(), payPalConfig.getClientSecret(), payPalConfig.getMode());
-        
         Payment payment = new Payment();
         payment.setId(paymentId);
         
         PaymentExecution paymentExecution = new PaymentExecution();
         paymentExecution.setPayerId(payerId);
         
-        Payment executedPayment = payment.execute(apiContext, paymentExecution);
-        
-        // Mark as executed
-        if (metadata != null) {
-            metadata.setExecuted(true);
+        try {
+            return timedCall("execute", apiContext -> payment.execute(apiContext, paymentExecution));
+        } catch (PayPalRESTException e) {
+            // Only a 4xx means PayPal refused the capture, so the buyer may retry. After a timeout,
+            // I/O error or 5xx the capture may have happened; the payment stays marked executed
+            if (metadata != null && isDeclined(e)) {
+                paymentMetadataStore.clearExecuted(paymentId);
+            }
+            throw e;
         }
-        
-        return executedPayment;
+    }
+    
+    /**
+     * Let the buyer execute again once PayPal has confirmed this payment was not captured
+     */
+    public void allowRetry(String paymentId) {
+        paymentMetadataStore.clearExecuted(paymentId);
+    }
+    
+    /**
+     * Whether PayPal definitively rejected the call (4xx, e.g. INSTRUMENT_DECLINED). Response code 0
+     * (timeout, I/O error) and 5xx leave the outcome unknown.
+     */
+    public static boolean isDeclined(PayPalRESTException e) {
+        return e.getResponsecode() >= 400 && e.getResponsecode() < 500;
+    }
+    
+    /**
+     * Look up a PayPal payment (e.g. to verify one that was already executed)
+     */
+    public Payment getPayment(String paymentId) throws PayPalRESTException {
+        return timedCall("get", apiContext -> Payment.get(apiContext, paymentId));
     }
     
     /**
      * Get payment metadata (listingId and buyerUserId)
      */
     public PaymentMetadata getPaymentMetadata(String paymentId) {
-        return paymentMetadata.get(paymentId);
+        return paymentMetadataStore.get(paymentId);
+    }
+    
+    // Time one PayPal SDK call; on failure status is the HTTP code PayPal returned (503 also when the bulkhead rejects)
+    private <T> T timedCall(String operation, PayPalClient.PayPalCall<T> call) throws PayPalRESTException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        String status = "none";
+        try {
+            return payPalClient.call(call);
+        } catch (PayPalRESTException e) {
+            outcome = "error";
+            status = String.valueOf(e.getResponsecode());
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            status = "0";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("paypal.calls", "operation", operation, "outcome", outcome, "status", status));
+        }
     }
 }
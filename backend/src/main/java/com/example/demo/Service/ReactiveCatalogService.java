@@ -0,0 +1,72 @@
+package com.example.demo.Service;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import com.example.demo.Entity.Group;
+import com.example.demo.Entity.Items;
+import com.example.demo.Repository.ReactiveGroupRepo;
+import com.example.demo.Repository.ReactiveItemRepo;
+import com.example.demo.dto.ListingCard;
+import com.example.demo.dto.ListingPage;
+import com.example.demo.dto.ListingQuery;
+import com.example.demo.util.FieldSelection;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only catalog (listings and groups) on the reactive MongoDB driver (profile "reactive").
+ * Same queries and paging as ItemService/GroupService, but no request thread waits on MongoDB.
+ * Detail lookups go straight to MongoDB: the entity caches are only filled by the blocking read path.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveCatalogService {
+    private final ReactiveItemRepo itemRepo;
+    private final ReactiveGroupRepo groupRepo;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public ReactiveCatalogService(ReactiveItemRepo itemRepo, ReactiveGroupRepo groupRepo,
+                                  ReactiveMongoTemplate reactiveMongoTemplate) {
+        this.itemRepo = itemRepo;
+        this.groupRepo = groupRepo;
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    // One page of unsold listings, newest first (see ItemService.getListingsPage)
+    public Mono<ListingPage<Items>> getListingsPage(ListingQuery query) {
+        int pageSize = query.getLimit();
+        // Fetch one extra row to know whether another page exists
+        return itemRepo.findListingsPage(query.withLimit(pageSize + 1)).collectList()
+            .map(rows -> ItemService.toPage(rows, pageSize, Items::getDatePosted, Items::getUsserId));
+    }
+
+    // The same page as lightweight browse-grid cards
+    public Mono<ListingPage<ListingCard>> getListingCardsPage(ListingQuery query) {
+        int pageSize = query.getLimit();
+        return itemRepo.findListingCards(query.withLimit(pageSize + 1)).collectList()
+            .map(rows -> ItemService.toPage(rows, pageSize, ListingCard::getDatePosted, ListingCard::getUsserId));
+    }
+
+    // Every unsold listing matching the filters, newest first, at the pace the subscriber requests
+    public Flux<Items> streamListings(ListingQuery query) {
+        return itemRepo.streamListings(query);
+    }
+
+    public Mono<Items> getItemById(Long id) {
+        return itemRepo.findById(id);
+    }
+
+    // All groups, optionally only the selected fields (projected in MongoDB)
+    public Flux<Group> getAllGroups(FieldSelection fields) {
+        if (fields == null) {
+            return groupRepo.findAll();
+        }
+        return reactiveMongoTemplate.find(fields.applyTo(new Query()), Group.class);
+    }
+
+    public Mono<Group> getGroupById(String id) {
+        return groupRepo.findById(id);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.demo.Service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.Entity.Items;
+import com.example.demo.Entity.Order;
+import com.example.demo.Entity.SellerStats;
+
+/**
+ * Recomputes every seller_stats document from the listings and orders, entirely inside MongoDB.
+ *
+ * One aggregation over items, with the orders folded in through $unionWith (each order joined to
+ * its listing for the posting date, and for the seller when the order predates sellerUserId),
+ * grouped per seller and written with $merge, replacing each seller's document. Sales and
+ * listings recorded by $inc while the pipeline runs can be overwritten by the recomputed figures,
+ * so an explicit rebuild belongs in a quiet period; the next rebuild settles any drift.
+ * mode: if-empty (default, the first deployment fills the collection), always, never.
+ */
+@Component
+public class SellerStatsRebuild {
+
+    private static final Logger log = LoggerFactory.getLogger(SellerStatsRebuild.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final String mode;
+
+    public SellerStatsRebuild(MongoTemplate mongoTemplate,
+                              @Value("${truswap.seller-stats.rebuild:if-empty}") String mode) {
+        if (!List.of("if-empty", "always", "never").contains(mode)) {
+            throw new IllegalStateException("Unknown truswap.seller-stats.rebuild: " + mode);
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.mode = mode;
+    }
+
+    // Run off the startup thread so a large catalog never delays serving traffic
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (mode.equals("never")) {
+            return;
+        }
+        Thread worker = new Thread(() -> {
+            try {
+                if (mode.equals("always") || mongoTemplate.estimatedCount(SellerStats.class) == 0) {
+                    run();
+                }
+            } catch (Exception e) {
+                log.error("Seller stats rebuild failed, the $inc-maintained figures stay in place", e);
+            }
+        }, "seller-stats-rebuild");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Recompute the stats of every seller with at least one listing or sale
+     */
+    public void run() {
+        long start = System.nanoTime();
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Items.class))
+            .aggregate(pipeline(mongoTemplate.getCollectionName(Items.class),
+                mongoTemplate.getCollectionName(Order.class),
+                mongoTemplate.getCollectionName(SellerStats.class)))
+            .allowDiskUse(true)
+            .toCollection();
+        log.info("Seller stats rebuilt for {} sellers in {} ms", mongoTemplate.estimatedCount(SellerStats.class),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    // Every input row carries all the counters, zero where it does not apply, so one $group adds them up
+    static List<Document> pipeline(String itemsCollection, String ordersCollection, String statsCollection) {
+        Document timed = new Document("$and", List.of(
+            new Document("$eq", List.of(new Document("$type", "$posted"), "date")),
+            new Document("$eq", List.of(new Document("$type", "$purchaseDate"), "date"))));
+        // Orders from before sellerUserId (not yet reached by OrderSellerBackfill) take the seller from their listing
+        List<Document> orders = List.of(
+            new Document("$lookup", new Document("from", itemsCollection)
+                .append("localField", "listingId")
+                .append("foreignField", "_id")
+                .append("as", "listing")),
+            new Document("$set", new Document("posted", new Document("$arrayElemAt", List.of("$listing.datePosted", 0)))
+                .append("seller", new Document("$ifNull", List.of("$sellerUserId", new Document("$arrayElemAt", List.of("$listing.userId", 0)))))),
+            new Document("$match", new Document("seller", new Document("$type", "string"))),
+            new Document("$project", new Document("_id", 0)
+                .append("seller", "$seller")
+                .append("active", new Document("$literal", 0))
+                .append("total", new Document("$literal", 0))
+                .append("sold", new Document("$literal", 1))
+                .append("revenue", new Document("$ifNull", List.of("$price", 0)))
+                .append("timeToSell", new Document("$cond", List.of(timed,
+                    new Document("$max", List.of(0L, new Document("$subtract", List.of("$purchaseDate", "$posted")))), 0L)))
+                .append("timed", new Document("$cond", List.of(timed, 1, 0)))
+                .append("saleAt", "$purchaseDate")));
+
+        return List.of(
+            new Document("$match", new Document("userId", new Document("$type", "string"))),
+            new Document("$project", new Document("_id", 0)
+                .append("seller", "$userId")
+                // Legacy listings may not have isSold at all, so only an explicit true counts as sold
+                .append("active", new Document("$cond", List.of(new Document("$eq", List.of("$isSold", true)), 0, 1)))
+                .append("total", new Document("$literal", 1))
+                .append("sold", new Document("$literal", 0))
+                .append("revenue", new Document("$literal", 0))
+                .append("timeToSell", new Document("$literal", 0L))
+                .append("timed", new Document("$literal", 0))),
+            new Document("$unionWith", new Document("coll", ordersCollection).append("pipeline", orders)),
+            new Document("$group", new Document("_id", "$seller")
+                .append("itemsSold", new Document("$sum", "$sold"))
+                .append("revenue", new Document("$sum", "$revenue"))
+                .append("activeListings", new Document("$sum", "$active"))
+                .append("totalListings", new Document("$sum", "$total"))
+                .append("timeToSellMillis", new Document("$sum", "$timeToSell"))
+                .append("timedSales", new Document("$sum", "$timed"))
+                .append("lastSaleAt", new Document("$max", "$saleAt"))),
+            new Document("$merge", new Document("into", statsCollection)
+                .append("on", "_id")
+                .append("whenMatched", "replace")
+                .append("whenNotMatched", "insert")));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demo.Service;
+
+import org.springframework.stereotype.Service;
+import com.example.demo.Entity.SellerStats;
+import com.example.demo.Repository.SellerStatsRepo;
+import com.example.demo.dto.PublicSellerStats;
+
+@Service
+public class SellerStatsService {
+    private final SellerStatsRepo sellerStatsRepo;
+
+    public SellerStatsService(SellerStatsRepo sellerStatsRepo) {
+        this.sellerStatsRepo = sellerStatsRepo;
+    }
+
+    // A seller's figures as the viewer may see them: everything for the seller, without revenue for anyone else
+    // One _id lookup of the precomputed seller_stats document; a seller with no activity yet gets zeros
+    public Object getStats(String userId, String viewerUserId) {
+        SellerStats stats = sellerStatsRepo.findById(userId).orElseGet(() -> new SellerStats(userId));
+        if (userId.equals(viewerUserId)) {
+            return stats;
+        }
+        return PublicSellerStats.of(stats);
+    }
+}
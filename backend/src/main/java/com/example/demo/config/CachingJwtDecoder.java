@@ -0,0 +1,140 @@
+package com.example.demo.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Remembers tokens the delegate has already verified, so a client sending the same bearer token on
+ * every request pays for parsing and the RS256 signature check once per token instead of per request.
+ *
+ * Entries are keyed by the token's SHA-256 (the token itself is never stored) and live until the
+ * token's exp, capped at maxTtl so rotated keys and changed validation rules take effect. Rejected
+ * tokens are not cached. Size is bounded with the same FIFO eviction as EntityCache.
+ */
+public class CachingJwtDecoder implements JwtDecoder, Closeable {
+
+    private record Entry(Jwt jwt, Instant expiresAt) {
+    }
+
+    private final JwtDecoder delegate;
+    private final int maxEntries;
+    private final Duration maxTtl;
+    private final Clock clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxEntries, Duration maxTtl) {
+        this(delegate, maxEntries, maxTtl, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, int maxEntries, Duration maxTtl, Clock clock) {
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.maxTtl = maxTtl;
+        this.clock = clock;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        if (maxEntries <= 0 || token == null) {
+            return delegate.decode(token);
+        }
+        String key = hash(token);
+        Instant now = clock.instant();
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiresAt().isAfter(now)) {
+                hits.increment();
+                return entry.jwt();
+            }
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+        }
+        misses.increment();
+
+        Jwt jwt = delegate.decode(token);
+        Instant expiresAt = now.plus(maxTtl);
+        if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isBefore(expiresAt)) {
+            expiresAt = jwt.getExpiresAt();
+        }
+        if (expiresAt.isAfter(now)) {
+            if (entries.put(key, new Entry(jwt, expiresAt)) == null) {
+                insertionOrder.add(key);
+            }
+            evict(now);
+        }
+        return jwt;
+    }
+
+    // Stops the delegate's background work, if any
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    public JwtDecoder getDelegate() {
+        return delegate;
+    }
+
+    public long size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private void evict(Instant now) {
+        String oldest;
+        while ((oldest = insertionOrder.peek()) != null) {
+            Entry entry = entries.get(oldest);
+            boolean stale = entry == null || !entry.expiresAt().isAfter(now);
+            if (!stale && entries.size() <= maxEntries) {
+                return;
+            }
+            if (insertionOrder.remove(oldest) && entry != null && entries.remove(oldest, entry)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+
+@Configuration
+public class CatalogCacheConfig {
+
+    // Browsers revalidate on every poll by default; with an ETag that round trip is a cheap 304
+    @Value("${truswap.http.catalog-max-age:0s}")
+    private Duration maxAge;
+
+    // How long a CDN may serve a catalog response without revalidating (0 = always revalidate)
+    @Value("${truswap.http.catalog-shared-max-age:5s}")
+    private Duration sharedMaxAge;
+
+    /**
+     * Cache-Control for the public listing and group endpoints
+     */
+    @Bean
+    public CacheControl catalogCacheControl() {
+        CacheControl cacheControl = CacheControl.maxAge(maxAge).cachePublic().mustRevalidate();
+        if (!sharedMaxAge.isZero()) {
+            cacheControl = cacheControl.sMaxAge(sharedMaxAge);
+        }
+        return cacheControl;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demo.config;
+
+import org.bson.Document;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.Entity.Group;
+import com.example.demo.Entity.Items;
+import com.example.demo.Service.CatalogVersions;
+
+/**
+ * Bumps the catalog versions behind the listing and group ETags on every save or delete.
+ * The atomic claim/release paths publish AfterSaveEvent themselves, so a sale changes the ETag too.
+ */
+@Component
+public class CatalogVersionListener {
+
+  private final CatalogVersions catalogVersions;
+
+  public CatalogVersionListener(CatalogVersions catalogVersions) {
+    this.catalogVersions = catalogVersions;
+  }
+
+  @EventListener
+  public void onAfterSave(AfterSaveEvent<?> event) {
+    if (event.getSource() instanceof Items item) {
+      catalogVersions.listingChanged(item.getUsserId());
+    } else if (event.getSource() instanceof Group group) {
+      catalogVersions.groupChanged(group.getId());
+    }
+  }
+
+  @EventListener
+  public void onAfterDelete(AfterDeleteEvent<?> event) {
+    // The source is the delete filter, e.g. {_id: 42} or {_id: {$in: [...]}}
+    Object id = event.getSource().get("_id");
+    if (Items.class.equals(event.getType())) {
+      if (id instanceof Number number) {
+        catalogVersions.listingChanged(number.longValue());
+      } else {
+        catalogVersions.allListingsChanged();
+      }
+    } else if (Group.class.equals(event.getType())) {
+      if (id != null && !(id instanceof Document)) {
+        catalogVersions.groupChanged(id.toString());
+      } else {
+        catalogVersions.allGroupsChanged();
+      }
+    }
+  }
+}
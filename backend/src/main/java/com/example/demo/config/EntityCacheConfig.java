@@ -0,0 +1,40 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import com.example.demo.Entity.Group;
+import com.example.demo.Entity.Items;
+import com.example.demo.Service.EntityCache;
+
+@Configuration
+public class EntityCacheConfig {
+
+    // TTL caps staleness for writes made by other instances; local writes invalidate immediately
+    @Value("${truswap.cache.items.ttl:2m}")
+    private Duration itemTtl;
+
+    // 0 disables caching
+    @Value("${truswap.cache.items.max-entries:5000}")
+    private int itemMaxEntries;
+
+    @Value("${truswap.cache.groups.ttl:10m}")
+    private Duration groupTtl;
+
+    @Value("${truswap.cache.groups.max-entries:1000}")
+    private int groupMaxEntries;
+
+    @Bean
+    public EntityCache<Long, Items> itemCache(MongoConverter mongoConverter) {
+        return new EntityCache<>(Items.class, mongoConverter, itemTtl, itemMaxEntries);
+    }
+
+    @Bean
+    public EntityCache<String, Group> groupCache(MongoConverter mongoConverter) {
+        return new EntityCache<>(Group.class, mongoConverter, groupTtl, groupMaxEntries);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.config;
+
+import org.bson.Document;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.Entity.Group;
+import com.example.demo.Entity.Items;
+import com.example.demo.Service.EntityCache;
+
+/**
+ * Drops cached listings and groups as soon as this process saves or deletes them.
+ * Events fire on the writing thread after the write is acknowledged, so the next local read misses.
+ */
+@Component
+public class EntityCacheListener {
+
+  private final EntityCache<Long, Items> itemCache;
+  private final EntityCache<String, Group> groupCache;
+
+  public EntityCacheListener(EntityCache<Long, Items> itemCache, EntityCache<String, Group> groupCache) {
+    this.itemCache = itemCache;
+    this.groupCache = groupCache;
+  }
+
+  @EventListener
+  public void onAfterSave(AfterSaveEvent<?> event) {
+    if (event.getSource() instanceof Items item) {
+      itemCache.invalidate(item.getUsserId());
+    } else if (event.getSource() instanceof Group group) {
+      if (group.getId() != null) {
+        groupCache.invalidate(group.getId());
+      } else {
+        groupCache.invalidateAll();
+      }
+    }
+  }
+
+  @EventListener
+  public void onAfterDelete(AfterDeleteEvent<?> event) {
+    // The source is the delete filter, e.g. {_id: 42} or {_id: {$in: [...]}}
+    Object id = event.getSource().get("_id");
+    if (Items.class.equals(event.getType())) {
+      if (id instanceof Number number) {
+        itemCache.invalidate(number.longValue());
+      } else {
+        itemCache.invalidateAll();
+      }
+    } else if (Group.class.equals(event.getType())) {
+      if (id != null && !(id instanceof Document)) {
+        groupCache.invalidate(id.toString());
+      } else {
+        groupCache.invalidateAll();
+      }
+    }
+  }
+}
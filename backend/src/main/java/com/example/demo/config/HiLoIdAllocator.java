@@ -0,0 +1,75 @@
+package com.example.demo.config;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hi/lo listing IDs: reserves a block of IDs from a shared counter and hands them out locally.
+ * Only one round trip per block, and instances never overlap because each block is reserved atomically.
+ * The block reservation holds a lock rather than a monitor, so it does not pin a virtual thread's carrier.
+ */
+public class HiLoIdAllocator implements ListingIdAllocator {
+
+    /**
+     * Atomically reserves blockSize IDs and returns the highest one reserved
+     */
+    public interface BlockSource {
+        long reserve(int blockSize);
+    }
+
+    private final BlockSource source;
+    private final int blockSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next = 1;
+    private long max = 0;
+
+    public HiLoIdAllocator(BlockSource source, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive, got " + blockSize);
+        }
+        this.source = source;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public long nextId() {
+        lock.lock();
+        try {
+            if (next > max) {
+                long hi = source.reserve(blockSize);
+                next = hi - blockSize + 1;
+                max = hi;
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Served from the current block when it has room, otherwise from one reservation of exactly
+    // count IDs, leaving the current block for nextId()
+    @Override
+    public long[] nextIds(int count) {
+        long[] ids = new long[count];
+        if (count == 0) {
+            return ids;
+        }
+        long first = 0;
+        lock.lock();
+        try {
+            if (max - next + 1 >= count) {
+                first = next;
+                next += count;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (first == 0) {
+            // The range is ours alone, so the round trip does not need to hold up nextId()
+            first = source.reserve(count) - count + 1;
+        }
+        for (int i = 0; i < count; i++) {
+            ids[i] = first + i;
+        }
+        return ids;
+    }
+}
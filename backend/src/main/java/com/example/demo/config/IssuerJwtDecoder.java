@@ -0,0 +1,175 @@
+package com.example.demo.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+
+/**
+ * Validates tokens from an OpenID issuer (Auth0) like JwtDecoders.fromIssuerLocation, without
+ * its network I/O at startup or on the request path:
+ *  - issuer discovery runs on first use, or earlier via prefetchInBackground(); the application
+ *    starts even if the issuer is slow or down, and a failed discovery is retried after retryInterval
+ *  - the JWKS is cached and refreshed by a background task refreshAhead before it expires; an
+ *    unknown key ID (rotation) still triggers a rate-limited refresh, and during an issuer outage
+ *    the last known keys keep being used for a while
+ *
+ * Claims are checked with Spring's default validators plus the issuer, as before.
+ */
+public class IssuerJwtDecoder implements JwtDecoder, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(IssuerJwtDecoder.class);
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int JWKS_SIZE_LIMIT = 64 * 1024;
+
+    private final String issuer;
+    private final Duration timeout;
+    private final Duration jwksTtl;
+    private final Duration refreshAhead;
+    private final Duration retryInterval;
+    private final HttpClient httpClient;
+    private final ReentrantLock resolveLock = new ReentrantLock();
+    private volatile NimbusJwtDecoder delegate;
+    private volatile JWKSource<SecurityContext> jwkSource;
+    private volatile long retryNotBeforeNanos;
+    private volatile JwtException lastFailure;
+
+    public IssuerJwtDecoder(String issuer, Duration timeout, Duration jwksTtl, Duration refreshAhead, Duration retryInterval) {
+        this.issuer = issuer;
+        this.timeout = timeout;
+        this.jwksTtl = jwksTtl;
+        this.refreshAhead = refreshAhead;
+        this.retryInterval = retryInterval;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        return resolve().decode(token);
+    }
+
+    // Discover the issuer and load its keys off the request path
+    public void prefetchInBackground() {
+        Thread.ofVirtual().name("jwt-issuer-prefetch").start(() -> {
+            try {
+                resolve();
+                jwkSource.get(new JWKSelector(new JWKMatcher.Builder().build()), null);
+            } catch (Exception e) {
+                log.warn("Prefetching keys of JWT issuer {} failed, will retry on first request: {}", issuer, e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (jwkSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private NimbusJwtDecoder resolve() {
+        NimbusJwtDecoder current = delegate;
+        if (current != null) {
+            return current;
+        }
+        resolveLock.lock();
+        try {
+            if (delegate != null) {
+                return delegate;
+            }
+            // While the issuer is unreachable, fail fast instead of queueing every request behind a timeout
+            if (lastFailure != null && System.nanoTime() - retryNotBeforeNanos < 0) {
+                throw lastFailure;
+            }
+            try {
+                delegate = build(discoverJwksUri());
+                lastFailure = null;
+                return delegate;
+            } catch (JwtException e) {
+                lastFailure = e;
+                retryNotBeforeNanos = System.nanoTime() + retryInterval.toNanos();
+                throw e;
+            }
+        } finally {
+            resolveLock.unlock();
+        }
+    }
+
+    private URL discoverJwksUri() {
+        String location = issuer.endsWith("/") ? issuer : issuer + "/";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(location + ".well-known/openid-configuration"))
+            .timeout(timeout)
+            .header("Accept", "application/json")
+            .GET()
+            .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new JwtException("Issuer discovery for " + issuer + " failed with status " + response.statusCode());
+            }
+            JsonNode configuration = JSON.readTree(response.body());
+            if (!issuer.equals(configuration.path("issuer").asText())) {
+                throw new JwtException("Issuer " + configuration.path("issuer").asText() + " in discovery document does not match " + issuer);
+            }
+            String jwksUri = configuration.path("jwks_uri").asText(null);
+            if (jwksUri == null) {
+                throw new JwtException("Discovery document of " + issuer + " has no jwks_uri");
+            }
+            return URI.create(jwksUri).toURL();
+        } catch (MalformedURLException | IllegalArgumentException e) {
+            throw new JwtException("Invalid jwks_uri from " + issuer + ": " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new JwtException("Issuer discovery for " + issuer + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JwtException("Interrupted during issuer discovery for " + issuer, e);
+        }
+    }
+
+    private NimbusJwtDecoder build(URL jwksUri) {
+        int timeoutMillis = (int) timeout.toMillis();
+        jwkSource = JWKSourceBuilder.<SecurityContext>create(jwksUri,
+                new DefaultResourceRetriever(timeoutMillis, timeoutMillis, JWKS_SIZE_LIMIT))
+            .cache(jwksTtl.toMillis(), timeout.toMillis())
+            // scheduled: refreshed by a background task, not by the request that finds it near expiry
+            .refreshAheadCache(refreshAhead.toMillis(), true)
+            .outageTolerant(true)
+            .build();
+
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.Family.RSA, jwkSource));
+        // Claims are validated by Spring below, not by Nimbus
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuer));
+        log.info("Resolved JWT issuer {}, keys from {}", issuer, jwksUri);
+        return decoder;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.demo.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,6 +16,8 @@ public class JacksonConfig {
     public ObjectMapper objectMapper(Jackson2ObjectMapperBuilder builder) {
         return builder
             .modules(new JavaTimeModule())
+            // Entities carry @JsonFilter for ?fields=; without a selection every property is written
+            .filters(new SimpleFilterProvider().setFailOnUnknownId(false))
             .build();
     }
 }
@@ -0,0 +1,20 @@
+package com.example.demo.config;
+
+/**
+ * Source of new Items._id values.
+ * Implementations must be thread-safe and must not need a database round trip per ID.
+ */
+public interface ListingIdAllocator {
+    long nextId();
+
+    /**
+     * count new IDs at once, for bulk imports; implementations that can reserve a range in one step override this
+     */
+    default long[] nextIds(int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = nextId();
+        }
+        return ids;
+    }
+}
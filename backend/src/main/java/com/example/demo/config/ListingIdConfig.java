@@ -0,0 +1,33 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.example.demo.Entity.Items;
+
+@Configuration
+public class ListingIdConfig {
+
+    // "hilo" (default, safe across any number of instances) or "snowflake" (needs a distinct node-id per instance)
+    @Value("${truswap.listing-id.strategy:hilo}")
+    private String strategy;
+
+    @Value("${truswap.listing-id.block-size:100}")
+    private int blockSize;
+
+    @Value("${truswap.listing-id.node-id:0}")
+    private long nodeId;
+
+    @Bean
+    public ListingIdAllocator listingIdAllocator(MongoTemplate mongoTemplate) {
+        if ("snowflake".equalsIgnoreCase(strategy)) {
+            return new SnowflakeIdAllocator(nodeId);
+        }
+        if (!"hilo".equalsIgnoreCase(strategy)) {
+            throw new IllegalStateException("Unknown truswap.listing-id.strategy: " + strategy);
+        }
+        return new HiLoIdAllocator(new MongoCounterBlockSource(mongoTemplate, "items", Items.class), blockSize);
+    }
+}
@@ -1,26 +1,24 @@
 package com.example.demo.config;
 
-import java.time.Instant;
-
 import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
 import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
 import org.springframework.stereotype.Component;
 
 import com.example.demo.Entity.Items;
-import com.example.demo.Repository.ItemRepo;
 
 /**
  * Ensures each listing has a unique Mongo identifier before persisting.
  * The original Items entity uses a primitive long @Id (usserId) which defaults to 0,
  * so we assign a unique value when the entity is first saved.
+ * IDs come from the configured {@link ListingIdAllocator}, which never probes the database per insert.
  */
 @Component
 public class ListingIdGeneratorListener extends AbstractMongoEventListener<Items> {
 
-  private final ItemRepo itemRepo;
+  private final ListingIdAllocator idAllocator;
 
-  public ListingIdGeneratorListener(ItemRepo itemRepo) {
-    this.itemRepo = itemRepo;
+  public ListingIdGeneratorListener(ListingIdAllocator idAllocator) {
+    this.idAllocator = idAllocator;
   }
 
   @Override
@@ -31,16 +29,7 @@ public class ListingIdGeneratorListener extends AbstractMongoEventListener<Items
     }
 
     if (item.getUsserId() == 0L) {
-      item.setUsserId(generateUniqueId());
+      item.setUsserId(idAllocator.nextId());
     }
   }
-
-  private long generateUniqueId() {
-    long candidate = Instant.now().toEpochMilli();
-    while (itemRepo.existsById(candidate)) {
-      candidate++;
-    }
-    return candidate;
-  }
 }
-
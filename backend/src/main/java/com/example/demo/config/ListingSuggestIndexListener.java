@@ -0,0 +1,48 @@
+package com.example.demo.config;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.Entity.Items;
+import com.example.demo.Service.ListingSuggestIndex;
+
+/**
+ * Keeps the typeahead index in step with the items collection.
+ * Saves (including the atomic claim/release paths, which publish AfterSaveEvent themselves)
+ * re-index the listing, so a listing drops out as soon as it is marked sold.
+ */
+@Component
+public class ListingSuggestIndexListener extends AbstractMongoEventListener<Items> {
+
+  private final ListingSuggestIndex suggestIndex;
+
+  public ListingSuggestIndexListener(ListingSuggestIndex suggestIndex) {
+    this.suggestIndex = suggestIndex;
+  }
+
+  @Override
+  public void onAfterSave(AfterSaveEvent<Items> event) {
+    Items item = event.getSource();
+    if (item != null) {
+      suggestIndex.upsert(item);
+    }
+  }
+
+  @Override
+  public void onAfterDelete(AfterDeleteEvent<Items> event) {
+    // The source is the delete filter, e.g. {_id: 42} or {_id: {$in: [...]}}
+    Object id = event.getSource().get("_id");
+    if (id instanceof Number number) {
+      suggestIndex.remove(number.longValue());
+    } else if (id instanceof Document filter && filter.get("$in") instanceof Iterable<?> ids) {
+      for (Object each : ids) {
+        if (each instanceof Number number) {
+          suggestIndex.remove(number.longValue());
+        }
+      }
+    }
+  }
+}
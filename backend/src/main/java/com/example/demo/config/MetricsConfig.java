@@ -0,0 +1,118 @@
+package com.example.demo.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.demo.Entity.Group;
+import com.example.demo.Entity.Items;
+import com.example.demo.Service.EntityCache;
+import com.example.demo.Service.PayPalBulkhead;
+import com.example.demo.Service.PayPalClient;
+import com.example.demo.Service.PaymentMetadataStore;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Application meters next to Boot's own (http.server.requests, JVM, Mongo connection pools).
+ * Counters already kept by the components are read at scrape time rather than duplicated.
+ * PayPal SDK call timers are recorded in PaymentService.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Applied to both the blocking and the reactive MongoClient
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandMetrics(MeterRegistry registry) {
+        return settings -> settings.addCommandListener(new MongoCommandMetrics(registry));
+    }
+
+    @Bean
+    public MeterBinder payPalMetrics(PayPalClient payPalClient) {
+        return registry -> {
+            FunctionTimer.builder("paypal.token.fetch", payPalClient,
+                    PayPalClient::getTokenFetchCount,
+                    client -> client.getTotalTokenFetchDuration().toNanos(), TimeUnit.NANOSECONDS)
+                .description("OAuth token fetches, foreground and background")
+                .register(registry);
+
+            PayPalBulkhead bulkhead = payPalClient.getBulkhead();
+            Gauge.builder("paypal.bulkhead.in-flight", bulkhead, PayPalBulkhead::getInFlightCount)
+                .register(registry);
+            Gauge.builder("paypal.bulkhead.waiting", bulkhead, PayPalBulkhead::getWaitingCount)
+                .register(registry);
+            // 0 closed, 1 half-open, 2 open
+            Gauge.builder("paypal.circuit.state", bulkhead, b -> switch (b.getState()) {
+                    case CLOSED -> 0;
+                    case HALF_OPEN -> 1;
+                    case OPEN -> 2;
+                })
+                .register(registry);
+            FunctionCounter.builder("paypal.bulkhead.rejected", bulkhead, PayPalBulkhead::getRejectedCount)
+                .register(registry);
+            FunctionCounter.builder("paypal.circuit.short-circuited", bulkhead, PayPalBulkhead::getShortCircuitedCount)
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder paymentMetadataMetrics(PaymentMetadataStore paymentMetadataStore) {
+        return registry -> Gauge.builder("payment.metadata.size", paymentMetadataStore, PaymentMetadataStore::size)
+            .description("Stored payment metadata entries (created but not yet expired)")
+            .register(registry);
+    }
+
+    @Bean
+    public MeterBinder entityCacheMetrics(EntityCache<Long, Items> itemCache, EntityCache<String, Group> groupCache) {
+        return registry -> {
+            bindCache(registry, "items", itemCache);
+            bindCache(registry, "groups", groupCache);
+        };
+    }
+
+    @Bean
+    public MeterBinder jwtCacheMetrics(CachingJwtDecoder jwtDecoder) {
+        return registry -> {
+            Gauge.builder("cache.size", jwtDecoder, CachingJwtDecoder::size).tag("cache", "jwt").register(registry);
+            FunctionCounter.builder("cache.gets", jwtDecoder, CachingJwtDecoder::getHitCount)
+                .tags("cache", "jwt", "result", "hit").register(registry);
+            FunctionCounter.builder("cache.gets", jwtDecoder, CachingJwtDecoder::getMissCount)
+                .tags("cache", "jwt", "result", "miss").register(registry);
+            FunctionCounter.builder("cache.evictions", jwtDecoder, CachingJwtDecoder::getEvictionCount)
+                .tag("cache", "jwt").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetrics(RateLimitFilter rateLimitFilter) {
+        return registry -> {
+            for (RateLimiter.Route route : rateLimitFilter.getRateLimiter().getRoutes()) {
+                FunctionCounter.builder("ratelimit.rejected", route, RateLimiter.Route::getRejectedCount)
+                    .description("Requests answered with 429")
+                    .tag("route", route.getName()).register(registry);
+                Gauge.builder("ratelimit.callers", route, RateLimiter.Route::getTrackedCallers)
+                    .description("Callers with a partly used bucket")
+                    .tag("route", route.getName()).register(registry);
+            }
+        };
+    }
+
+    // Same names and tags as Micrometer's cache binders
+    private static void bindCache(MeterRegistry registry, String name, EntityCache<?, ?> cache) {
+        Gauge.builder("cache.size", cache, EntityCache::size).tag("cache", name).register(registry);
+        FunctionCounter.builder("cache.gets", cache, EntityCache::getHitCount)
+            .tags("cache", name, "result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", cache, EntityCache::getMissCount)
+            .tags("cache", name, "result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", cache, EntityCache::getEvictionCount)
+            .tag("cache", name).register(registry);
+        FunctionCounter.builder("cache.invalidations", cache, EntityCache::getInvalidationCount)
+            .tag("cache", name).register(registry);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.demo.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Times every MongoDB command by command name and collection, and records how many documents
+ * each read returned (cursor batch size, or 0/1 for findAndModify):
+ *  - mongodb.commands{command,collection,status}
+ *  - mongodb.commands.documents{command,collection}
+ *
+ * Only the started event carries the command document, so the collection is remembered by
+ * request ID until the command completes. Replaces Boot's listener (management.metrics.mongo.command.enabled=false),
+ * which has no document counts.
+ */
+public class MongoCommandMetrics implements CommandListener {
+
+    private static final String UNKNOWN = "none";
+
+    private final MeterRegistry registry;
+    private final Map<Integer, String> collections = new ConcurrentHashMap<>();
+
+    public MongoCommandMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        collections.put(event.getRequestId(), collection(event.getCommandName(), event.getCommand()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Tags tags = tags(event.getRequestId(), event.getCommandName());
+        registry.timer("mongodb.commands", tags.and("status", "SUCCESS"))
+            .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        int documents = documentsReturned(event.getResponse());
+        if (documents >= 0) {
+            registry.summary("mongodb.commands.documents", tags).record(documents);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        registry.timer("mongodb.commands", tags(event.getRequestId(), event.getCommandName()).and("status", "FAILED"))
+            .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    private Tags tags(int requestId, String commandName) {
+        String collection = collections.remove(requestId);
+        return Tags.of("command", commandName, "collection", collection != null ? collection : UNKNOWN);
+    }
+
+    // The collection is the value of the command's own key ({find: "items", ...}), except for getMore
+    static String collection(String commandName, BsonDocument command) {
+        BsonValue value = "getMore".equals(commandName) ? command.get("collection") : command.get(commandName);
+        return value != null && value.isString() ? value.asString().getValue() : UNKNOWN;
+    }
+
+    // Documents in the reply's cursor batch, 0/1 for findAndModify, -1 for commands that return none
+    static int documentsReturned(BsonDocument response) {
+        if (response == null) {
+            return -1;
+        }
+        BsonValue cursor = response.get("cursor");
+        if (cursor != null && cursor.isDocument()) {
+            BsonValue batch = cursor.asDocument().containsKey("firstBatch")
+                ? cursor.asDocument().get("firstBatch")
+                : cursor.asDocument().get("nextBatch");
+            return batch != null && batch.isArray() ? batch.asArray().size() : 0;
+        }
+        BsonValue value = response.get("value");
+        if (value != null) {
+            return value.isDocument() ? 1 : 0;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.demo.config;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Hi/lo block source backed by a counter document ({_id: name, value: long}) in the counters collection.
+ * On first use the counter is raised to at least the highest existing _id of the target collection,
+ * so blocks never overlap IDs issued by an earlier strategy.
+ */
+public class MongoCounterBlockSource implements HiLoIdAllocator.BlockSource {
+
+    static final String COUNTERS_COLLECTION = "counters";
+
+    private final MongoTemplate mongoTemplate;
+    private final String counterName;
+    private final Class<?> seedFrom;
+    private volatile boolean seeded = false;
+    private final ReentrantLock seedLock = new ReentrantLock();
+
+    public MongoCounterBlockSource(MongoTemplate mongoTemplate, String counterName, Class<?> seedFrom) {
+        this.mongoTemplate = mongoTemplate;
+        this.counterName = counterName;
+        this.seedFrom = seedFrom;
+    }
+
+    @Override
+    public long reserve(int blockSize) {
+        if (!seeded) {
+            seed();
+        }
+        Document counter = mongoTemplate.findAndModify(
+            counterQuery(),
+            new Update().inc("value", (long) blockSize),
+            FindAndModifyOptions.options().returnNew(true).upsert(true),
+            Document.class,
+            COUNTERS_COLLECTION);
+        return ((Number) counter.get("value")).longValue();
+    }
+
+    private void seed() {
+        seedLock.lock();
+        try {
+            if (seeded) {
+                return;
+            }
+            Query highest = new Query().with(Sort.by(Sort.Direction.DESC, "_id")).limit(1);
+            highest.fields().include("_id");
+            Document top = mongoTemplate.findOne(highest, Document.class, mongoTemplate.getCollectionName(seedFrom));
+            long floor = top != null && top.get("_id") instanceof Number id ? id.longValue() : 0L;
+            // $max only ever raises the counter, so concurrent seeding from several instances is harmless
+            mongoTemplate.upsert(counterQuery(), new Update().max("value", floor), COUNTERS_COLLECTION);
+            seeded = true;
+        } finally {
+            seedLock.unlock();
+        }
+    }
+
+    private Query counterQuery() {
+        return new Query(Criteria.where("_id").is(counterName));
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOptions;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.Entity.PaymentMetadata;
+
+/**
+ * Creates or validates the indexes declared with @Indexed/@CompoundIndex on our @Document entities.
+ *
+ * Spring Data's auto-index-creation is off by default, so without this every repository
+ * finder runs as a collection scan. Modes (truswap.mongo.index-mode):
+ *  - create:   create missing indexes and log any other drift (default)
+ *  - validate: only log drift, never touch the database
+ *  - off:      skip entirely
+ *
+ * Indexes that exist with different keys or options (unique, sparse, TTL, partial filter),
+ * or that exist but are not declared, are only reported - dropping indexes is left to a human.
+ * The one exception is a TTL, which create mode changes in place with collMod.
+ *
+ * Indexes whose options come from configuration rather than an annotation (the payment
+ * metadata TTL) are declared in {@link #configuredIndexes}.
+ */
+@Component
+public class MongoIndexBootstrapper {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexBootstrapper.class);
+
+    // Options that change what an index enforces or keeps; changing them needs a drop and recreate
+    static final List<String> COMPARED_OPTIONS = List.of("unique", "sparse", "expireAfterSeconds", "partialFilterExpression");
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final String mode;
+    private final Duration paymentMetadataTtl;
+    private volatile boolean done = false;
+
+    public MongoIndexBootstrapper(MongoTemplate mongoTemplate,
+                                  MongoMappingContext mappingContext,
+                                  @Value("${truswap.mongo.index-mode:create}") String mode,
+                                  @Value("${truswap.payments.metadata-ttl:24h}") Duration paymentMetadataTtl) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+        this.mode = mode;
+        this.paymentMetadataTtl = paymentMetadataTtl;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void onContextRefreshed() {
+        if (done || "off".equalsIgnoreCase(mode)) {
+            return;
+        }
+        done = true;
+        List<String> drift = ensureIndexes("create".equalsIgnoreCase(mode));
+        if (drift.isEmpty()) {
+            log.info("Mongo index set verified, no drift");
+        } else {
+            drift.forEach(message -> log.warn("Mongo index drift: {}", message));
+        }
+    }
+
+    /**
+     * Compare declared indexes against the live collections.
+     * @param createMissing create declared indexes that do not exist yet
+     * @return human-readable drift messages (created indexes are reported too)
+     */
+    public List<String> ensureIndexes(boolean createMissing) {
+        List<String> drift = new ArrayList<>();
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+                continue;
+            }
+            String collection = entity.getCollection();
+
+            Map<String, Document> existing = new HashMap<>();
+            for (Document index : mongoTemplate.getCollection(collection).listIndexes()) {
+                existing.put(index.getString("name"), index);
+            }
+
+            List<IndexDefinition> declared = new ArrayList<>();
+            resolver.resolveIndexFor(entity.getTypeInformation()).forEach(declared::add);
+            declared.addAll(configuredIndexes(entity.getType()));
+
+            Set<String> declaredNames = new TreeSet<>();
+            for (IndexDefinition definition : declared) {
+                Document keys = definition.getIndexKeys();
+                String name = definition.getIndexOptions().getString("name");
+                declaredNames.add(name);
+
+                Document live = existing.get(name);
+                Document liveKeys = live != null ? live.get("key", Document.class) : null;
+                if (live == null) {
+                    if (createMissing) {
+                        mongoTemplate.indexOps(collection).createIndex(definition);
+                        drift.add(collection + "." + name + " was missing and has been created " + keys.toJson());
+                    } else {
+                        drift.add(collection + "." + name + " is missing " + keys.toJson());
+                    }
+                } else if (liveKeys.containsKey("_fts")) {
+                    // Text indexes are stored as {_fts, _ftsx}; what can drift is the field weights
+                    Document declaredWeights = definition.getIndexOptions().get("weights", Document.class);
+                    Document liveWeights = live.get("weights", Document.class);
+                    if (declaredWeights != null && !sameWeights(declaredWeights, liveWeights)) {
+                        drift.add(collection + "." + name + " has weights " + liveWeights.toJson() + " but " + declaredWeights.toJson() + " is declared");
+                    }
+                } else if (!sameKeys(keys, liveKeys)) {
+                    drift.add(collection + "." + name + " has keys " + liveKeys.toJson() + " but " + keys.toJson() + " is declared");
+                }
+
+                if (live != null) {
+                    for (String option : COMPARED_OPTIONS) {
+                        Object wanted = definition.getIndexOptions().get(option);
+                        Object actual = live.get(option);
+                        if (sameOption(wanted, actual)) {
+                            continue;
+                        }
+                        if (createMissing && "expireAfterSeconds".equals(option) && wanted instanceof Number seconds && actual != null) {
+                            mongoTemplate.indexOps(collection).alterIndex(name, IndexOptions.expireAfter(Duration.ofSeconds(seconds.longValue())));
+                            drift.add(collection + "." + name + " had expireAfterSeconds=" + actual + " and has been changed to " + wanted);
+                        } else {
+                            drift.add(collection + "." + name + " has " + option + "=" + actual + " but " + option + "=" + wanted + " is declared");
+                        }
+                    }
+                }
+            }
+
+            for (String name : existing.keySet()) {
+                if (!"_id_".equals(name) && !declaredNames.contains(name)) {
+                    drift.add(collection + "." + name + " exists but is not declared on " + entity.getType().getSimpleName());
+                }
+            }
+        }
+        return drift;
+    }
+
+    // Indexes whose options are configured per deployment, so they cannot be fixed in an annotation
+    List<IndexDefinition> configuredIndexes(Class<?> type) {
+        if (type == PaymentMetadata.class) {
+            return List.of(new Index().on("createdAt", Sort.Direction.ASC).named("createdAt_ttl").expire(paymentMetadataTtl));
+        }
+        return List.of();
+    }
+
+    private static boolean sameWeights(Document declared, Document live) {
+        if (live == null || declared.size() != live.size()) {
+            return false;
+        }
+        for (Map.Entry<String, Object> weight : declared.entrySet()) {
+            Object liveWeight = live.get(weight.getKey());
+            if (!(liveWeight instanceof Number number) || number.intValue() != ((Number) weight.getValue()).intValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // An absent flag is the same as false, and numbers may come back as a different numeric type
+    static boolean sameOption(Object declared, Object live) {
+        if (declared == null || Boolean.FALSE.equals(declared)) {
+            return live == null || Boolean.FALSE.equals(live);
+        }
+        if (declared instanceof Number dn && live instanceof Number ln) {
+            return dn.longValue() == ln.longValue();
+        }
+        if (declared instanceof Document dd && live instanceof Document ld) {
+            return dd.toJson().equals(ld.toJson());
+        }
+        return declared.equals(live);
+    }
+
+    // Index keys are ordered, and the server may echo directions back as a different numeric type
+    private static boolean sameKeys(Document declared, Document live) {
+        if (declared.size() != live.size()) {
+            return false;
+        }
+        Iterator<Map.Entry<String, Object>> a = declared.entrySet().iterator();
+        Iterator<Map.Entry<String, Object>> b = live.entrySet().iterator();
+        while (a.hasNext()) {
+            Map.Entry<String, Object> x = a.next();
+            Map.Entry<String, Object> y = b.next();
+            if (!x.getKey().equals(y.getKey())) {
+                return false;
+            }
+            Object xv = x.getValue();
+            Object yv = y.getValue();
+            if (xv instanceof Number xn && yv instanceof Number yn) {
+                if (xn.intValue() != yn.intValue()) {
+                    return false;
+                }
+            } else if (!String.valueOf(xv).equals(String.valueOf(yv))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.demo.config;
 
+import java.time.Duration;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @Configuration
+@ImportRuntimeHints(PayPalRuntimeHints.class)
 public class PayPalConfig {
     
     @Value("${paypal.client.id}")
@@ -15,6 +19,46 @@ public class PayPalConfig {
     @Value("${paypal.mode}")
     private String mode;
     
+    // Overrides the REST endpoint derived from mode (e.g. a local stub PayPal server in tests)
+    @Value("${paypal.api.base-url:}")
+    private String apiBaseUrl;
+    
+    // How long before expiry the cached OAuth token is refreshed in the background
+    @Value("${paypal.token.refresh-margin:5m}")
+    private Duration tokenRefreshMargin;
+    
+    // Socket timeouts for every SDK call (the SDK has none by default); zero means wait forever
+    @Value("${paypal.http.connect-timeout:5s}")
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    
+    @Value("${paypal.http.read-timeout:15s}")
+    private Duration readTimeout = Duration.ofSeconds(15);
+    
+    // Bulkhead: at most this many PayPal calls in flight; callers wait up to max-wait for a slot, then get 503
+    @Value("${paypal.bulkhead.max-concurrent-calls:16}")
+    private int maxConcurrentCalls = 16;
+    
+    @Value("${paypal.bulkhead.max-wait:500ms}")
+    private Duration maxWait = Duration.ofMillis(500);
+    
+    // Circuit breaker: this many consecutive outage failures open it; calls then fail fast for open-duration
+    @Value("${paypal.circuit-breaker.failure-threshold:5}")
+    private int failureThreshold = 5;
+    
+    @Value("${paypal.circuit-breaker.open-duration:30s}")
+    private Duration openDuration = Duration.ofSeconds(30);
+    
+    public PayPalConfig() {
+    }
+    
+    public PayPalConfig(String clientId, String clientSecret, String mode, String apiBaseUrl, Duration tokenRefreshMargin) {
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.mode = mode;
+        this.apiBaseUrl = apiBaseUrl;
+        this.tokenRefreshMargin = tokenRefreshMargin;
+    }
+    
     public String getClientId() {
         return clientId;
     }
@@ -26,5 +70,63 @@ public class PayPalConfig {
     public String getMode() {
         return mode;
     }
+    
+    public String getApiBaseUrl() {
+        if (apiBaseUrl != null && !apiBaseUrl.isEmpty()) {
+            return apiBaseUrl;
+        }
+        return "live".equalsIgnoreCase(mode) ? "https://api.paypal.com" : "https://api.sandbox.paypal.com";
+    }
+    
+    public Duration getTokenRefreshMargin() {
+        return tokenRefreshMargin;
+    }
+    
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+    
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+    
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+    
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+    
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+    
+    public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+    
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+    
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+    
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+    
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+    
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+    
+    public void setOpenDuration(Duration openDuration) {
+        this.openDuration = openDuration;
+    }
 }
-
@@ -0,0 +1,40 @@
+package com.example.demo.config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+/**
+ * Reflection the PayPal SDK needs in a GraalVM native image: its Gson-based JSON mapping reads and
+ * writes the fields of every model class, and it loads its bundled CA certificate from the classpath.
+ * Evaluated at build time only (AOT processing), so listing the package there costs nothing at runtime.
+ */
+class PayPalRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String MODEL_CLASSES = "classpath*:com/paypal/api/payments/*.class";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver(classLoader).getResources(MODEL_CLASSES)) {
+                String file = resource.getFilename();
+                if (file == null) {
+                    continue;
+                }
+                hints.reflection().registerType(TypeReference.of("com.paypal.api.payments." + file.substring(0, file.length() - ".class".length())),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.DECLARED_FIELDS);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list PayPal model classes", e);
+        }
+        hints.reflection().registerType(TypeReference.of("com.paypal.base.rest.PayPalModel"),
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS);
+        hints.resources().registerPattern("DigiCertSHA2ExtendedValidationServerCA.crt");
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.example.demo.Service.InMemoryPaymentMetadataStore;
+import com.example.demo.Service.MongoPaymentMetadataStore;
+import com.example.demo.Service.PaymentMetadataStore;
+
+@Configuration
+public class PaymentMetadataStoreConfig {
+
+    // "mongo" (default, shared by all instances) or "memory" (single instance only)
+    @Value("${truswap.payments.metadata-store:mongo}")
+    private String store;
+
+    @Value("${truswap.payments.metadata-ttl:24h}")
+    private Duration ttl;
+
+    @Value("${truswap.payments.metadata-max-entries:10000}")
+    private int maxEntries;
+
+    @Bean
+    public PaymentMetadataStore paymentMetadataStore(MongoTemplate mongoTemplate) {
+        if ("memory".equalsIgnoreCase(store)) {
+            return new InMemoryPaymentMetadataStore(ttl, maxEntries);
+        }
+        if (!"mongo".equalsIgnoreCase(store)) {
+            throw new IllegalStateException("Unknown truswap.payments.metadata-store: " + store);
+        }
+        return new MongoPaymentMetadataStore(mongoTemplate);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.demo.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.demo.util.JwtUtils;
+import com.example.demo.util.LogSampler;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Per-caller rate limits on the endpoints that write to MongoDB or call PayPal, answering 429 with
+ * Retry-After once a caller's bucket is empty. Limits are requests/period per route
+ * (truswap.rate-limit.*), each route with its own buckets.
+ *
+ * Runs right after the Spring Security filter chain, so signed-in callers are keyed on their JWT
+ * sub; anything else is keyed on the client IP: the last X-Forwarded-For hop when client-ip-header is
+ * set (the address Cloud Run's front end saw, which a client cannot forge), the socket address otherwise.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+    private static final byte[] TOO_MANY_REQUESTS = "{\"error\":\"Too many requests\"}".getBytes();
+
+    private final RateLimiter rateLimiter;
+    private final boolean enabled;
+    private final String clientIpHeader;
+    private final LogSampler rejectionLog = new LogSampler(Duration.ofMinutes(1));
+
+    public RateLimitFilter(@Value("${truswap.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${truswap.rate-limit.create-listing:30/1m}") String createListing,
+                           @Value("${truswap.rate-limit.bulk-listings:5/1m}") String bulkListings,
+                           @Value("${truswap.rate-limit.create-group:10/1m}") String createGroup,
+                           @Value("${truswap.rate-limit.create-payment:20/1m}") String createPayment,
+                           @Value("${truswap.rate-limit.execute-payment:20/1m}") String executePayment,
+                           @Value("${truswap.rate-limit.client-ip-header:X-Forwarded-For}") String clientIpHeader,
+                           @Value("${truswap.rate-limit.idle-sweep-interval:1m}") Duration sweepInterval) {
+        List<RateLimiter.Route> routes = new ArrayList<>();
+        addRoute(routes, RateLimiter.Route.parse("create-listing", "POST", "/api/createListing", createListing));
+        addRoute(routes, RateLimiter.Route.parse("bulk-listings", "POST", "/api/listings/bulk", bulkListings));
+        addRoute(routes, RateLimiter.Route.parse("create-group", "POST", "/api/groups", createGroup));
+        addRoute(routes, RateLimiter.Route.parse("create-payment", "POST", "/api/payments/create-payment", createPayment));
+        addRoute(routes, RateLimiter.Route.parse("execute-payment", "POST", "/api/payments/execute", executePayment));
+        this.rateLimiter = new RateLimiter(routes, sweepInterval);
+        this.enabled = enabled;
+        this.clientIpHeader = clientIpHeader == null || clientIpHeader.isBlank() ? null : clientIpHeader;
+    }
+
+    private static void addRoute(List<RateLimiter.Route> routes, RateLimiter.Route route) {
+        if (route != null) {
+            routes.add(route);
+        }
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimiter.Route route = rateLimiter.route(request.getMethod(), request.getRequestURI());
+        if (route != null) {
+            String caller = caller(request);
+            long waitNanos = rateLimiter.tryAcquire(route, caller);
+            if (waitNanos > 0) {
+                long suppressed = rejectionLog.sample();
+                if (suppressed >= 0) {
+                    log.warn("Rate limit hit on {} by {} ({} more rejections since the last report)", route.getName(), caller, suppressed);
+                }
+                response.setStatus(429);
+                // Whole seconds, rounded up so a client waiting exactly that long gets through
+                response.setHeader("Retry-After", String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L))));
+                response.setContentType("application/json");
+                response.getOutputStream().write(TOO_MANY_REQUESTS);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private String caller(HttpServletRequest request) {
+        String userId = JwtUtils.getUserId(SecurityContextHolder.getContext().getAuthentication());
+        if (userId != null) {
+            return userId;
+        }
+        return "ip:" + clientIp(request);
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (clientIpHeader != null) {
+            String forwarded = request.getHeader(clientIpHeader);
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.lastIndexOf(',');
+                return forwarded.substring(comma + 1).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.demo.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * In-memory token buckets per route and caller, for RateLimitFilter.
+ *
+ * Each bucket is a single AtomicLong holding the time at which it will be full again (the
+ * "theoretical arrival time" of GCRA, which behaves exactly like a token bucket of capacity requests
+ * refilled evenly over period). Taking a token is one CAS, with no lock and no allocation once the
+ * caller's bucket exists. A bucket that has refilled completely carries no state, so idle buckets
+ * are dropped by a sweep every sweepInterval, started on a virtual thread by the request that
+ * notices it is due.
+ */
+public class RateLimiter {
+
+    /**
+     * A rate-limited endpoint: method and exact path, with capacity requests per period
+     */
+    public static final class Route {
+        private final String name;
+        private final String method;
+        private final String path;
+        private final int capacity;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final LongAdder rejected = new LongAdder();
+
+        public Route(String name, String method, String path, int capacity, Duration period) {
+            if (capacity < 1 || period.isNegative() || period.isZero()) {
+                throw new IllegalArgumentException("Rate limit for " + name + " needs a positive capacity and period");
+            }
+            this.name = name;
+            this.method = method;
+            this.path = path;
+            this.capacity = capacity;
+            // One token comes back every intervalNanos; a full bucket covers burstNanos of them
+            this.intervalNanos = Math.max(1, period.toNanos() / capacity);
+            this.burstNanos = intervalNanos * capacity;
+        }
+
+        /**
+         * Parses a limit written as requests/period, e.g. "30/1m"; "0" means the route is not limited
+         * @return null when the route is not limited
+         */
+        public static Route parse(String name, String method, String path, String limit) {
+            String value = limit.trim();
+            if (value.equals("0")) {
+                return null;
+            }
+            int slash = value.indexOf('/');
+            if (slash < 0) {
+                throw new IllegalArgumentException("Rate limit for " + name + " must look like 30/1m, got " + limit);
+            }
+            return new Route(name, method, path, Integer.parseInt(value.substring(0, slash).trim()),
+                DurationStyle.detectAndParse(value.substring(slash + 1).trim()));
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public long getRejectedCount() {
+            return rejected.sum();
+        }
+
+        public int getTrackedCallers() {
+            return buckets.size();
+        }
+    }
+
+    private final List<Route> routes;
+    private final long sweepIntervalNanos;
+    private final Clock clock;
+    private final AtomicLong nextSweep;
+
+    public RateLimiter(List<Route> routes, Duration sweepInterval) {
+        this(routes, sweepInterval, Clock.systemUTC());
+    }
+
+    RateLimiter(List<Route> routes, Duration sweepInterval, Clock clock) {
+        this.routes = List.copyOf(routes);
+        this.sweepIntervalNanos = sweepInterval.toNanos();
+        this.clock = clock;
+        this.nextSweep = new AtomicLong(now() + sweepIntervalNanos);
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * The route limiting this request, or null; a short list compared by path first, so unlimited
+     * requests cost a few string comparisons
+     */
+    public Route route(String method, String path) {
+        for (Route route : routes) {
+            if (route.path.equals(path) && route.method.equals(method)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes one token from the caller's bucket
+     * @return 0 when the request may go ahead, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(Route route, String caller) {
+        long now = now();
+        maybeSweep(now);
+        AtomicLong bucket = route.buckets.get(caller);
+        if (bucket == null) {
+            bucket = route.buckets.computeIfAbsent(caller, key -> new AtomicLong(now));
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + route.intervalNanos;
+            long overdraw = next - now - route.burstNanos;
+            if (overdraw > 0) {
+                route.rejected.increment();
+                return overdraw;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely; a new bucket would behave the same
+     * @return number of buckets removed
+     */
+    public int evictIdle() {
+        long now = now();
+        int removed = 0;
+        for (Route route : routes) {
+            for (var entry : route.buckets.entrySet()) {
+                AtomicLong bucket = entry.getValue();
+                // A request racing the removal only loses its own token: one extra request at most
+                if (bucket.get() <= now && route.buckets.remove(entry.getKey(), bucket)) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    private void maybeSweep(long now) {
+        long due = nextSweep.get();
+        if (now >= due && nextSweep.compareAndSet(due, now + sweepIntervalNanos)) {
+            Thread.ofVirtual().name("rate-limit-sweep").start(this::evictIdle);
+        }
+    }
+
+    // Millisecond resolution is plenty for limits measured in requests per second or minute
+    private long now() {
+        return clock.millis() * 1_000_000L;
+    }
+}
@@ -1,13 +1,13 @@
 package com.example.demo.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.jwt.JwtDecoders;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
@@ -16,6 +16,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
@@ -25,10 +26,40 @@ public class SecurityConfig {
     @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}")
     private String issuerUri;
 
+    // Verified tokens kept (0 disables) and for how long at most, even if the token lives longer
+    @Value("${truswap.jwt.cache.max-entries:10000}")
+    private int jwtCacheMaxEntries;
+
+    @Value("${truswap.jwt.cache.max-ttl:10m}")
+    private Duration jwtCacheMaxTtl;
+
+    @Value("${truswap.jwt.issuer.timeout:5s}")
+    private Duration issuerTimeout;
+
+    @Value("${truswap.jwt.issuer.retry-interval:10s}")
+    private Duration issuerRetryInterval;
+
+    @Value("${truswap.jwt.jwks.ttl:15m}")
+    private Duration jwksTtl;
+
+    @Value("${truswap.jwt.jwks.refresh-ahead:1m}")
+    private Duration jwksRefreshAhead;
+
     @Bean
-    public JwtDecoder jwtDecoder() {
+    public CachingJwtDecoder jwtDecoder() {
         // Use the issuer URI as-is (should match Auth0's discovery endpoint exactly)
-        return JwtDecoders.fromIssuerLocation(issuerUri);
+        // Discovery and key loading happen lazily or in the background, never during startup
+        IssuerJwtDecoder issuerDecoder = new IssuerJwtDecoder(issuerUri, issuerTimeout, jwksTtl, jwksRefreshAhead, issuerRetryInterval);
+        return new CachingJwtDecoder(issuerDecoder, jwtCacheMaxEntries, jwtCacheMaxTtl);
+    }
+
+    // Warm issuer discovery and the JWKS as soon as the context is up, alongside StartupWarmup and before
+    // readiness, so the first authenticated request does not pay for it
+    @EventListener(ApplicationStartedEvent.class)
+    public void prefetchIssuerKeys() {
+        if (jwtDecoder().getDelegate() instanceof IssuerJwtDecoder issuerDecoder) {
+            issuerDecoder.prefetchInBackground();
+        }
     }
 
     @Bean
@@ -44,7 +75,7 @@ public class SecurityConfig {
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
         configuration.setAllowCredentials(true);
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "X-Next-Cursor", "X-Request-Id"));
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         return source;
@@ -58,9 +89,12 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 // Allow OPTIONS requests for CORS preflight
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                // Bulk import is under /api/listings, so it must be matched before the public listings rule
+                .requestMatchers(HttpMethod.POST, "/api/listings/bulk").authenticated()
                 // Public endpoints - no auth required
                 .requestMatchers("/api/listings", "/api/listings/**").permitAll()
-                .requestMatchers("/api/groups", "/api/groups/{id}").permitAll() // Public group browsing
+                .requestMatchers("/api/groups", "/api/groups/{id}", "/api/groups/{id}/listings").permitAll() // Public group browsing
+                .requestMatchers("/api/sellers/{userId}/stats").permitAll() // Public seller profile figures (revenue only with the seller's own token)
                 // PayPal payment execution - public (called from frontend after PayPal approval)
                 .requestMatchers("/api/payments/execute").permitAll()
                 // Protected endpoints - require authentication
@@ -0,0 +1,54 @@
+package com.example.demo.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style listing IDs: timestamp | node | sequence, generated with a single CAS.
+ *
+ * The frontend reads listing IDs as JavaScript numbers, so IDs must stay below 2^53:
+ *  - 41 bits of milliseconds since 2024-01-01 (~69 years)
+ *  - 5 bits of node ID (up to 32 instances, set per instance)
+ *  - 7 bits of sequence (128 IDs per millisecond per node)
+ * A full sequence rolls into the next millisecond instead of waiting for the clock, and a clock
+ * that steps backwards keeps counting from the last issued value, so IDs are strictly increasing.
+ * All values are far above the legacy epoch-millisecond IDs, so the two never collide.
+ */
+public class SnowflakeIdAllocator implements ListingIdAllocator {
+
+    static final long EPOCH = 1704067200000L; // 2024-01-01T00:00:00Z
+    static final int NODE_BITS = 5;
+    static final int SEQUENCE_BITS = 7;
+    static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+    private final LongSupplier clock;
+    // Packed (timestamp << SEQUENCE_BITS | sequence) of the last issued ID
+    private final AtomicLong last = new AtomicLong();
+
+    public SnowflakeIdAllocator(long node) {
+        this(node, System::currentTimeMillis);
+    }
+
+    SnowflakeIdAllocator(long node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE + ", got " + node);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            long previous = last.get();
+            long now = (clock.getAsLong() - EPOCH) << SEQUENCE_BITS;
+            long next = Math.max(previous + 1, now);
+            if (last.compareAndSet(previous, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+}
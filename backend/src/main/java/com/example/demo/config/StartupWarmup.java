@@ -0,0 +1,142 @@
+package com.example.demo.config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.Service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Replays the hot read paths before the instance reports ready, so the first users after a cold
+ * start do not pay for class loading, JIT compilation and opening MongoDB connections.
+ *
+ * Spring Boot only switches readiness to ACCEPTING_TRAFFIC (/readyz) once every ApplicationRunner
+ * has returned. The public listing and group reads are sent over HTTP to this instance, through the
+ * filter chain, MVC and Jackson; order reads need a signed-in user, so those call OrderService and
+ * serialize the result directly. concurrency workers share the rounds so the MongoDB pool opens
+ * several connections. Failures are logged and end the warmup early, they never fail startup.
+ */
+@Component
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    // Matches no real account or document; only the query plans, mapping and serialization matter
+    static final String WARMUP_USER = "warmup|startup";
+    static final List<String> PUBLIC_READS = List.of(
+        "/api/listings?limit=20",
+        "/api/listings?limit=20&view=card",
+        "/api/listings/0",
+        "/api/groups",
+        "/api/groups/warmup",
+        "/api/groups/warmup/listings?limit=20");
+
+    private final Environment environment;
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int rounds;
+    private final int concurrency;
+    private final Duration timeout;
+
+    public StartupWarmup(Environment environment,
+                         OrderService orderService,
+                         ObjectMapper objectMapper,
+                         @Value("${truswap.warmup.enabled:true}") boolean enabled,
+                         @Value("${truswap.warmup.rounds:50}") int rounds,
+                         @Value("${truswap.warmup.concurrency:4}") int concurrency,
+                         @Value("${truswap.warmup.timeout:20s}") Duration timeout) {
+        this.environment = environment;
+        this.orderService = orderService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.rounds = rounds;
+        this.concurrency = Math.max(1, concurrency);
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!enabled || rounds < 1) {
+            return;
+        }
+        String port = environment.getProperty("local.server.port");
+        String baseUrl = port != null ? "http://127.0.0.1:" + port : null;
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+        long start = System.nanoTime();
+        AtomicInteger remaining = new AtomicInteger(rounds);
+        AtomicInteger completed = new AtomicInteger();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        ExecutorService workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("warmup-", 0).factory());
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(() -> {
+                while (failure.get() == null && remaining.getAndDecrement() > 0) {
+                    try {
+                        round(client, baseUrl);
+                        completed.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        return;
+                    } catch (Exception e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        boolean finished = workers.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (!finished) {
+            workers.shutdownNow();
+        }
+        client.close();
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (failure.get() != null) {
+            log.warn("Warmup stopped after {} of {} rounds in {} ms: {}", completed.get(), rounds, millis, failure.get().toString());
+        } else if (!finished) {
+            log.warn("Warmup timed out after {} of {} rounds ({})", completed.get(), rounds, timeout);
+        } else {
+            log.info("Warmup finished {} rounds in {} ms", completed.get(), millis);
+        }
+    }
+
+    // One pass over every warmed path; a server error or an unreachable MongoDB ends the warmup
+    private void round(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        if (baseUrl != null) {
+            for (String path : PUBLIC_READS) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("X-Request-Id", "warmup")
+                    .timeout(Duration.ofSeconds(10))
+                    .GET()
+                    .build();
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 500) {
+                    throw new IOException("GET " + path + " returned " + response.statusCode());
+                }
+            }
+        }
+        objectMapper.writeValueAsBytes(orderService.getOrdersByBuyerUserId(WARMUP_USER, null));
+        objectMapper.writeValueAsBytes(orderService.getOrdersBySellerUserId(WARMUP_USER, 0, 20, null));
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkListingResult {
+    private int created;
+    private int failed;
+    private List<Item> results; // One per submitted listing, in request order
+
+    // Outcome of one submitted listing: its new ID, or why it was not created
+    @Data
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Item {
+        private int index;
+        private Long id;
+        private String error;
+    }
+}
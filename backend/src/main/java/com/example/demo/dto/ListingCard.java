@@ -0,0 +1,26 @@
+package com.example.demo.dto;
+
+import org.springframework.data.annotation.Id;
+import lombok.Data;
+import java.time.LocalDateTime;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * What the browse grid shows for one listing, read from Mongo with a field projection
+ * (no description, seller contact details or userId)
+ */
+@Data
+public class ListingCard {
+    @Id
+    @JsonProperty("id")
+    private long usserId;
+    private String itemName;
+    private int price;
+    private String imageUrl;
+    private String category;
+    private String listingType;
+
+    @JsonIgnore
+    private LocalDateTime datePosted; // Only fetched to build the next-page cursor
+}
@@ -0,0 +1,12 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ListingPage<T> {
+    private List<T> items; // Items, or ListingCard for the card view
+    private String nextCursor; // null when there are no more listings
+}
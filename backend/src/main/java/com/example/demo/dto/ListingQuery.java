@@ -0,0 +1,40 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+import com.example.demo.util.FieldSelection;
+
+@Data
+public class ListingQuery {
+    // Keyset position: only listings strictly after (datePosted, id) in feed order are returned
+    private LocalDateTime afterDatePosted;
+    private Long afterId;
+    private int limit;
+
+    // Optional filters, all evaluated inside MongoDB
+    private String category;
+    private String groupId;
+    private String listingType;
+    private String condition;
+    private Integer minPrice;
+    private Integer maxPrice;
+
+    // Sparse fieldset projected inside MongoDB; null fetches whole documents
+    private FieldSelection fields;
+
+    // The same query with another limit (e.g. one extra row to detect a next page), leaving this one untouched
+    public ListingQuery withLimit(int limit) {
+        ListingQuery copy = new ListingQuery();
+        copy.setAfterDatePosted(afterDatePosted);
+        copy.setAfterId(afterId);
+        copy.setLimit(limit);
+        copy.setCategory(category);
+        copy.setGroupId(groupId);
+        copy.setListingType(listingType);
+        copy.setCondition(condition);
+        copy.setMinPrice(minPrice);
+        copy.setMaxPrice(maxPrice);
+        copy.setFields(fields);
+        return copy;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.demo.Entity.SellerStats;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Seller figures anyone may see; revenue is only returned to the seller themselves
+ */
+@Data
+@AllArgsConstructor
+public class PublicSellerStats {
+    private String userId;
+    private long itemsSold;
+    private long activeListings;
+    private long totalListings;
+    private Long averageTimeToSellSeconds;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime lastSaleAt;
+
+    public static PublicSellerStats of(SellerStats stats) {
+        return new PublicSellerStats(stats.getUserId(), stats.getItemsSold(), stats.getActiveListings(),
+            stats.getTotalListings(), stats.getAverageTimeToSellSeconds(), stats.getLastSaleAt());
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import com.example.demo.Entity.Items;
+
+@Data
+@AllArgsConstructor
+public class ScoredItem {
+    private Items item;
+    private double score; // MongoDB textScore
+}
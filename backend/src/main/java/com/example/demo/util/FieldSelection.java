@@ -0,0 +1,116 @@
+package com.example.demo.util;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * A sparse fieldset from a ?fields=itemName,price request parameter.
+ *
+ * Names are the JSON property names clients see; each maps to the entity property Mongo projects on,
+ * so unselected fields are neither fetched nor serialized. "id" is always included. Entities opt in with
+ * {@code @JsonFilter(FieldSelection.FILTER_ID)}; JacksonConfig registers a provider that serializes
+ * everything when no selection is in effect.
+ */
+public class FieldSelection {
+
+    public static final String FILTER_ID = "fields";
+    private static final String ID = "id";
+    // JSON name -> entity property, per entity type
+    private static final Map<Class<?>, Map<String, String>> PROPERTIES = new ConcurrentHashMap<>();
+
+    private final Set<String> names;
+    private final Set<String> properties;
+
+    private FieldSelection(Set<String> names, Set<String> properties) {
+        this.names = names;
+        this.properties = properties;
+    }
+
+    /**
+     * Parse a comma-separated fields parameter for an entity type
+     * @return null when the parameter is absent or blank (all fields)
+     * @throws IllegalArgumentException naming the first unknown field
+     */
+    public static FieldSelection parse(String fields, Class<?> type, ObjectMapper objectMapper) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Map<String, String> known = PROPERTIES.computeIfAbsent(type, t -> introspect(t, objectMapper));
+        Set<String> names = new LinkedHashSet<>();
+        Set<String> properties = new LinkedHashSet<>();
+        if (known.containsKey(ID)) {
+            names.add(ID);
+            properties.add(known.get(ID));
+        }
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String property = known.get(trimmed);
+            if (property == null) {
+                throw new IllegalArgumentException("Unknown field: " + trimmed);
+            }
+            names.add(trimmed);
+            properties.add(property);
+        }
+        return new FieldSelection(names, properties);
+    }
+
+    /**
+     * Also fetch these entity properties (e.g. the keys a paging cursor is built from) without rendering them
+     */
+    public FieldSelection fetching(String... extraProperties) {
+        Set<String> all = new LinkedHashSet<>(properties);
+        all.addAll(Arrays.asList(extraProperties));
+        return new FieldSelection(names, all);
+    }
+
+    // Push the selection down to Mongo as a field projection
+    public Query applyTo(Query query) {
+        properties.forEach(property -> query.fields().include(property));
+        return query;
+    }
+
+    // Wrap a response body so Jackson only writes the selected properties
+    public MappingJacksonValue render(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(new SimpleFilterProvider()
+            .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(names)));
+        return value;
+    }
+
+    // Apply to a query if a selection is present
+    public static Query applyTo(FieldSelection fields, Query query) {
+        return fields != null ? fields.applyTo(query) : query;
+    }
+
+    // Render a body with a selection, or as-is when there is none
+    public static Object render(FieldSelection fields, Object body) {
+        return fields != null ? fields.render(body) : body;
+    }
+
+    private static Map<String, String> introspect(Class<?> type, ObjectMapper objectMapper) {
+        BeanDescription description = objectMapper.getSerializationConfig().introspect(objectMapper.constructType(type));
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            if (property.couldSerialize() && property.hasField()) {
+                properties.put(property.getName(), property.getField().getName());
+            }
+        }
+        return properties;
+    }
+}
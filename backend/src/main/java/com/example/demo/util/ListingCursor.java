@@ -0,0 +1,59 @@
+package com.example.demo.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for the listings feed.
+ * Encodes the (datePosted, id) of the last listing on a page so the next page
+ * can continue from it with an index range scan instead of skip/offset.
+ * datePosted is null for legacy listings posted without one (they come last in the feed).
+ */
+public class ListingCursor {
+
+    private final LocalDateTime datePosted;
+    private final long id;
+
+    public ListingCursor(LocalDateTime datePosted, long id) {
+        this.datePosted = datePosted;
+        this.id = id;
+    }
+
+    public LocalDateTime getDatePosted() {
+        return datePosted;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Encode the cursor as a URL-safe token
+     */
+    public String encode() {
+        String raw = datePosted + "|" + id; // "null|42" when there is no date
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static ListingCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            if (sep <= 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            String date = raw.substring(0, sep);
+            LocalDateTime datePosted = date.equals("null") ? null : LocalDateTime.parse(date);
+            long id = Long.parseLong(raw.substring(sep + 1));
+            return new ListingCursor(datePosted, id);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets one log event through per interval and counts the ones it held back, so a diagnostic
+ * that a client can trigger on every request stays bounded however often it fires.
+ */
+public class LogSampler {
+    private final long intervalMillis;
+    private final Clock clock;
+    private final AtomicLong nextAllowedMillis = new AtomicLong(Long.MIN_VALUE);
+    private final LongAdder suppressed = new LongAdder();
+
+    public LogSampler(Duration interval) {
+        this(interval, Clock.systemUTC());
+    }
+
+    LogSampler(Duration interval, Clock clock) {
+        this.intervalMillis = interval.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * @return -1 if this event should be dropped, otherwise how many were dropped since the last one let through
+     */
+    public long sample() {
+        long now = clock.millis();
+        long next = nextAllowedMillis.get();
+        if (now >= next && nextAllowedMillis.compareAndSet(next, now + intervalMillis)) {
+            return suppressed.sumThenReset();
+        }
+        suppressed.increment();
+        return -1;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for relevance-ranked search.
+ * Encodes the (textScore, id) of the last hit on a page; the next page continues strictly after it.
+ */
+public class SearchCursor {
+
+    private final double score;
+    private final long id;
+
+    public SearchCursor(double score, long id) {
+        this.score = score;
+        this.id = id;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Encode the cursor as a URL-safe token (the score is kept bit-exact)
+     */
+    public String encode() {
+        String raw = Long.toHexString(Double.doubleToLongBits(score)) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static SearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep <= 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            double score = Double.longBitsToDouble(Long.parseUnsignedLong(raw.substring(0, sep), 16));
+            long id = Long.parseLong(raw.substring(sep + 1));
+            return new SearchCursor(score, id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
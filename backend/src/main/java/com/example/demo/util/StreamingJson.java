@@ -0,0 +1,108 @@
+package com.example.demo.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes a Mongo cursor-backed Stream straight to the response, one document at a time,
+ * either as a JSON array or as NDJSON (one document per line).
+ *
+ * Memory use is one cursor batch plus Jackson's output buffer, however many documents there are.
+ * The stream is opened on the async response thread and always closed, which releases the cursor
+ * even if the client disconnects halfway.
+ */
+public class StreamingJson {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    // Flush after the first document (time to first byte) and then every FLUSH_EVERY documents
+    private static final int FLUSH_EVERY = 256;
+
+    private StreamingJson() {
+    }
+
+    /**
+     * True if the Accept header asks for NDJSON explicitly (application/x-ndjson or application/jsonl):
+     * it is the concrete type with the highest quality, the first one listed winning a tie
+     */
+    public static boolean wantsNdjson(String accept) {
+        if (accept == null || accept.isEmpty()) {
+            return false;
+        }
+        try {
+            MediaType preferred = null;
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                if (type.isWildcardType() || type.isWildcardSubtype() || type.getQualityValue() <= 0) {
+                    continue;
+                }
+                if (preferred == null || type.getQualityValue() > preferred.getQualityValue()) {
+                    preferred = type;
+                }
+            }
+            return preferred != null && (NDJSON.equalsTypeAndSubtype(preferred) || "jsonl".equals(preferred.getSubtype()));
+        } catch (InvalidMediaTypeException e) {
+            // Fall back to a JSON array
+            return false;
+        }
+    }
+
+    public static MediaType contentType(boolean ndjson) {
+        return ndjson ? NDJSON : MediaType.APPLICATION_JSON;
+    }
+
+    public static <T> StreamingResponseBody body(ObjectMapper objectMapper, boolean ndjson, Supplier<Stream<T>> source) {
+        return outputStream -> {
+            try (Stream<T> stream = source.get()) {
+                write(objectMapper, ndjson, stream.iterator(), outputStream);
+            }
+        };
+    }
+
+    /**
+     * A small JSON error body for endpoints whose declared body type is StreamingResponseBody
+     */
+    public static ResponseEntity<StreamingResponseBody> error(ObjectMapper objectMapper, int status, Map<String, ?> body) {
+        return ResponseEntity.status(status)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(outputStream -> objectMapper.writeValue(outputStream, body));
+    }
+
+    static <T> void write(ObjectMapper objectMapper, boolean ndjson, Iterator<T> documents, OutputStream outputStream) throws IOException {
+        // Flushing is ours to pace; the default flush after every value would send one chunk per document
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (ndjson) {
+                generator.setRootValueSeparator(null);
+            } else {
+                generator.writeStartArray();
+            }
+            int written = 0;
+            while (documents.hasNext()) {
+                writer.writeValue(generator, documents.next());
+                if (ndjson) {
+                    generator.writeRaw('\n');
+                }
+                if (++written % FLUSH_EVERY == 1) {
+                    generator.flush();
+                }
+            }
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.demo.Controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.demo.Entity.Items;
+import com.example.demo.Entity.Order;
+import com.example.demo.Entity.PaymentMetadata;
+import com.example.demo.Service.ItemService;
+import com.example.demo.Service.OrderService;
+import com.example.demo.Service.PaymentService;
+import com.paypal.api.payments.Payer;
+import com.paypal.api.payments.PayerInfo;
+import com.paypal.api.payments.Payment;
+import com.paypal.base.rest.PayPalRESTException;
+
+/**
+ * Checkout: the listing is claimed before PayPal captures, and every path that does not record
+ * an order puts the listing back on sale, unless PayPal may have captured and cannot confirm
+ */
+class PaymentControllerTest {
+
+    private final PaymentService paymentService = mock(PaymentService.class);
+    private final ItemService itemService = mock(ItemService.class);
+    private final OrderService orderService = mock(OrderService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new PaymentController(paymentService, itemService, orderService)).build();
+        when(paymentService.getPaymentMetadata("PAY-1")).thenReturn(new PaymentMetadata("PAY-1", 7L, "auth0|buyer"));
+    }
+
+    @Test
+    void buyerWhoLostTheClaimIsNeverCharged() throws Exception {
+        when(itemService.claimListing(7L)).thenReturn(Optional.empty());
+        when(orderService.getOrderByPaymentId("PAY-1")).thenReturn(Optional.empty());
+
+        execute("7").andExpect(status().isConflict());
+
+        verify(paymentService, never()).executePayment(anyString(), anyString());
+    }
+
+    @Test
+    void payPalDeclineReleasesTheListing() throws Exception {
+        when(itemService.claimListing(7L)).thenReturn(Optional.of(new Items()));
+        PayPalRESTException declined = new PayPalRESTException("INSTRUMENT_DECLINED");
+        declined.setResponsecode(400);
+        when(paymentService.executePayment("PAY-1", "PAYER")).thenThrow(declined);
+
+        execute("7").andExpect(status().isInternalServerError());
+
+        verify(itemService).releaseListing(7L);
+    }
+
+    @Test
+    void timeoutThatCannotBeConfirmedKeepsTheClaim() throws Exception {
+        when(itemService.claimListing(7L)).thenReturn(Optional.of(new Items()));
+        when(paymentService.executePayment("PAY-1", "PAYER")).thenThrow(new PayPalRESTException("Read timed out"));
+        when(paymentService.getPayment("PAY-1")).thenThrow(new PayPalRESTException("Read timed out"));
+
+        execute("7").andExpect(status().isBadGateway());
+
+        verify(itemService, never()).releaseListing(anyLong());
+        verify(paymentService, never()).allowRetry(anyString());
+    }
+
+    @Test
+    void timeoutAfterTheCaptureRecordsTheOrder() throws Exception {
+        when(itemService.claimListing(7L)).thenReturn(Optional.of(new Items()));
+        PayPalRESTException unavailable = new PayPalRESTException("INTERNAL_SERVICE_ERROR");
+        unavailable.setResponsecode(500);
+        when(paymentService.executePayment("PAY-1", "PAYER")).thenThrow(unavailable);
+        when(paymentService.getPayment("PAY-1")).thenReturn(approved());
+        when(orderService.createOrder(any(), any(), any(), any(), any())).thenReturn(order(7L));
+
+        execute("7")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.orderId").value("order-1"));
+
+        verify(itemService, never()).releaseListing(anyLong());
+    }
+
+    @Test
+    void timeoutConfirmedNotCapturedReleasesTheListing() throws Exception {
+        when(itemService.claimListing(7L)).thenReturn(Optional.of(new Items()));
+        when(paymentService.executePayment("PAY-1", "PAYER")).thenThrow(new PayPalRESTException("Read timed out"));
+        Payment created = approved();
+        created.setState("created");
+        when(paymentService.getPayment("PAY-1")).thenReturn(created);
+
+        execute("7").andExpect(status().isBadRequest());
+
+        verify(itemService).releaseListing(7L);
+        verify(paymentService).allowRetry("PAY-1");
+    }
+
+    @Test
+    void approvedPaymentRecordsTheOrder() throws Exception {
+        when(itemService.claimListing(7L)).thenReturn(Optional.of(new Items()));
+        when(paymentService.executePayment("PAY-1", "PAYER")).thenReturn(approved());
+        when(orderService.createOrder(any(), any(), any(), any(), any())).thenReturn(order(7L));
+
+        execute("7")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.orderId").value("order-1"));
+
+        verify(itemService, never()).releaseListing(anyLong());
+    }
+
+    @Test
+    void duplicateOrderForThisListingKeepsItSold() throws Exception {
+        when(itemService.claimListing(7L)).thenReturn(Optional.of(new Items()));
+        when(paymentService.executePayment("PAY-1", "PAYER")).thenReturn(approved());
+        when(orderService.createOrder(any(), any(), any(), any(), any())).thenThrow(new DuplicateKeyException("paymentId"));
+        when(orderService.getOrderByPaymentId("PAY-1")).thenReturn(Optional.of(order(7L)));
+
+        execute("7")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.alreadyProcessed").value(true));
+
+        verify(itemService, never()).releaseListing(anyLong());
+    }
+
+    @Test
+    void duplicateOrderForAnotherListingReleasesTheClaim() throws Exception {
+        when(itemService.claimListing(7L)).thenReturn(Optional.of(new Items()));
+        when(paymentService.executePayment("PAY-1", "PAYER")).thenReturn(approved());
+        when(orderService.createOrder(any(), any(), any(), any(), any())).thenThrow(new DuplicateKeyException("paymentId"));
+        when(orderService.getOrderByPaymentId("PAY-1")).thenReturn(Optional.of(order(9L)));
+
+        execute("7").andExpect(jsonPath("$.alreadyProcessed").value(true));
+
+        verify(itemService).releaseListing(7L);
+    }
+
+    @Test
+    void failedOrderInsertReleasesTheListing() throws Exception {
+        when(itemService.claimListing(7L)).thenReturn(Optional.of(new Items()));
+        when(paymentService.executePayment("PAY-1", "PAYER")).thenReturn(approved());
+        when(orderService.createOrder(any(), any(), any(), any(), any())).thenThrow(new DataAccessResourceFailureException("Timed out"));
+        when(orderService.getOrderByPaymentId("PAY-1")).thenReturn(Optional.empty());
+
+        execute("7").andExpect(status().isInternalServerError());
+
+        verify(itemService).releaseListing(7L);
+    }
+
+    @Test
+    void insertErrorAfterTheOrderWasWrittenKeepsTheListingSold() throws Exception {
+        when(itemService.claimListing(7L)).thenReturn(Optional.of(new Items()));
+        when(paymentService.executePayment("PAY-1", "PAYER")).thenReturn(approved());
+        when(orderService.createOrder(any(), any(), any(), any(), any())).thenThrow(new DataAccessResourceFailureException("Timed out"));
+        when(orderService.getOrderByPaymentId("PAY-1")).thenReturn(Optional.of(order(7L)));
+
+        execute("7").andExpect(jsonPath("$.alreadyProcessed").value(true));
+
+        verify(itemService, never()).releaseListing(anyLong());
+    }
+
+    @Test
+    void listingIdThatDoesNotMatchThePaymentIsRejected() throws Exception {
+        execute("8").andExpect(status().isBadRequest());
+
+        verify(itemService, never()).claimListing(anyLong());
+        verify(paymentService, never()).executePayment(anyString(), anyString());
+    }
+
+    private ResultActions execute(String listingId) throws Exception {
+        return mockMvc.perform(post("/api/payments/execute")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"paymentId\":\"PAY-1\",\"payerId\":\"PAYER\",\"listingId\":\"" + listingId + "\"}"));
+    }
+
+    private static Payment approved() {
+        PayerInfo payerInfo = new PayerInfo();
+        payerInfo.setEmail("buyer@example.com");
+        Payer payer = new Payer();
+        payer.setPayerInfo(payerInfo);
+        Payment payment = new Payment();
+        payment.setState("approved");
+        payment.setPayer(payer);
+        return payment;
+    }
+
+    private static Order order(Long listingId) {
+        Order order = new Order();
+        order.setId("order-1");
+        order.setListingId(listingId);
+        return order;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.demo.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.demo.Entity.Items;
+import com.example.demo.Service.CatalogVersions;
+import com.example.demo.Service.ReactiveCatalogService;
+import com.example.demo.config.JacksonConfig;
+import com.example.demo.dto.ListingPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The reactive catalog endpoints on Spring MVC: async dispatch, headers and NDJSON streaming
+ */
+class ReactiveCatalogControllerTest {
+
+    private final ReactiveCatalogService catalogService = mock(ReactiveCatalogService.class);
+    private final CatalogVersions catalogVersions = new CatalogVersions(Duration.ZERO, 100);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper(Jackson2ObjectMapperBuilder.json());
+        ReactiveCatalogController controller = new ReactiveCatalogController(catalogService,
+            catalogVersions, CacheControl.noCache(), objectMapper);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+            .build();
+    }
+
+    @Test
+    void listingsPageCarriesTheNextCursor() throws Exception {
+        when(catalogService.getListingsPage(any()))
+            .thenReturn(Mono.just(new ListingPage<>(List.of(item(2), item(1)), "next-page")));
+
+        MvcResult result = mockMvc.perform(get("/api/reactive/listings").param("limit", "2"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ItemsController.NEXT_CURSOR_HEADER, "next-page"))
+            .andExpect(header().exists("ETag"))
+            .andExpect(jsonPath("$[0].id").value(2))
+            .andExpect(jsonPath("$[1].id").value(1));
+    }
+
+    @Test
+    void unknownListingIsNotFound() throws Exception {
+        when(catalogService.getItemById(42L)).thenReturn(Mono.empty());
+
+        MvcResult result = mockMvc.perform(get("/api/reactive/listings/42")).andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void invalidCursorIsRejected() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/reactive/listings").param("cursor", "not-a-cursor")).andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void invalidCursorIsRejectedEvenWhenTheCatalogIsUnchanged() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/reactive/listings")
+                .param("cursor", "not-a-cursor")
+                .header("If-None-Match", catalogVersions.listings().etag()))
+            .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportStreamsOneListingPerLine() throws Exception {
+        when(catalogService.streamListings(any())).thenReturn(Flux.just(item(3), item(2), item(1)));
+
+        MvcResult result = mockMvc.perform(get("/api/reactive/listings/export").accept("application/x-ndjson"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        result.getAsyncResult(5000);
+        String body = result.getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).contains("\"id\":3"));
+        assertTrue(lines.get(2).contains("\"id\":1"));
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"));
+    }
+
+    private static Items item(long id) {
+        Items item = new Items();
+        item.setUsserId(id);
+        item.setItemName("Listing " + id);
+        item.setDatePosted(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(id));
+        return item;
+    }
+}
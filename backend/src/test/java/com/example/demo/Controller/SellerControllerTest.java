@@ -0,0 +1,66 @@
+package com.example.demo.Controller;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.demo.Entity.SellerStats;
+import com.example.demo.Repository.SellerStatsRepo;
+import com.example.demo.Service.SellerStatsService;
+
+/**
+ * Seller stats are public, except revenue, which only the seller sees
+ */
+class SellerControllerTest {
+
+    private final SellerStatsRepo sellerStatsRepo = mock(SellerStatsRepo.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new SellerController(new SellerStatsService(sellerStatsRepo))).build();
+        SellerStats stats = new SellerStats("auth0|seller");
+        stats.setItemsSold(3);
+        stats.setRevenue(120);
+        when(sellerStatsRepo.findById("auth0|seller")).thenReturn(Optional.of(stats));
+    }
+
+    @Test
+    void anonymousCallersDoNotSeeRevenue() throws Exception {
+        mockMvc.perform(get("/api/sellers/auth0|seller/stats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itemsSold").value(3))
+            .andExpect(jsonPath("$.revenue").doesNotExist());
+    }
+
+    @Test
+    void otherUsersDoNotSeeRevenue() throws Exception {
+        mockMvc.perform(get("/api/sellers/auth0|seller/stats").principal(token("auth0|someone-else")))
+            .andExpect(jsonPath("$.revenue").doesNotExist());
+    }
+
+    @Test
+    void sellerSeesTheirOwnRevenue() throws Exception {
+        mockMvc.perform(get("/api/sellers/auth0|seller/stats").principal(token("auth0|seller")))
+            .andExpect(jsonPath("$.itemsSold").value(3))
+            .andExpect(jsonPath("$.revenue").value(120));
+    }
+
+    private static JwtAuthenticationToken token(String subject) {
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject(subject)
+            .issuedAt(Instant.now()).expiresAt(Instant.now().plusSeconds(60)).build();
+        return new JwtAuthenticationToken(jwt);
+    }
+}
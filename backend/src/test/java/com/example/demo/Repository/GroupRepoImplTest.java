@@ -0,0 +1,14 @@
+package com.example.demo.Repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class GroupRepoImplTest {
+
+    @Test
+    void countersAreOnlyAdjustedOnGroupsThatHaveThem() {
+        assertEquals("{\"_id\": \"group-1\", \"totalListingCount\": {\"$exists\": true}}",
+            GroupRepoImpl.counted("group-1").getQueryObject().toJson());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.Repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.dto.ListingQuery;
+
+/**
+ * The feed query's and search pipeline's unsold filter and keyset position, as sent to MongoDB
+ */
+class ItemRepoImplTest {
+
+    @Test
+    void unsoldIsAnInListSoTheFeedIndexProvidesTheSort() {
+        Document filter = ItemRepoImpl.feedQuery(new ListingQuery()).getQueryObject();
+
+        assertEquals("{\"$and\": [{\"isSold\": {\"$in\": [false, null]}}]}", filter.toJson());
+    }
+
+    @Test
+    void datedCursorAlsoReachesListingsWithoutDate() {
+        ListingQuery query = new ListingQuery();
+        query.setAfterDatePosted(LocalDateTime.of(2025, 1, 1, 12, 0));
+        query.setAfterId(42L);
+
+        // (toString: toJson has no codec for LocalDateTime outside the mapping layer)
+        String filter = ItemRepoImpl.feedQuery(query).getQueryObject().toString();
+
+        assertTrue(filter.contains("Document{{datePosted=null}}"), filter);
+        assertTrue(filter.contains("Document{{_id=Document{{$lt=42}}}}"), filter);
+    }
+
+    @Test
+    void undatedCursorContinuesAmongUndatedListings() {
+        ListingQuery query = new ListingQuery();
+        query.setAfterId(42L);
+
+        Document filter = ItemRepoImpl.feedQuery(query).getQueryObject();
+
+        assertEquals("{\"$and\": [{\"isSold\": {\"$in\": [false, null]}}, "
+            + "{\"$and\": [{\"datePosted\": null}, {\"_id\": {\"$lt\": 42}}]}]}", filter.toJson());
+    }
+
+    @Test
+    void firstSearchPageHasNoCursorStage() {
+        List<Document> pipeline = ItemRepoImpl.searchPipeline("desk lamp", null, null, 21);
+
+        assertEquals(List.of("$match", "$addFields", "$sort", "$limit"), stages(pipeline));
+        assertEquals("{\"$match\": {\"$text\": {\"$search\": \"desk lamp\"}, \"isSold\": {\"$in\": [false, null]}}}",
+            pipeline.get(0).toJson());
+        assertEquals(21, pipeline.get(3).getInteger("$limit"));
+    }
+
+    @Test
+    void searchCursorContinuesAfterTheLastScoreAndId() {
+        List<Document> pipeline = ItemRepoImpl.searchPipeline("desk", 3.5, 42L, 21);
+
+        // The score only exists after $addFields, and must be filtered before the sort and limit
+        assertEquals(List.of("$match", "$addFields", "$match", "$sort", "$limit"), stages(pipeline));
+        assertEquals("{\"$match\": {\"$or\": [{\"score\": {\"$lt\": 3.5}}, {\"score\": 3.5, \"_id\": {\"$lt\": 42}}]}}",
+            pipeline.get(2).toJson());
+        assertEquals("{\"$sort\": {\"score\": -1, \"_id\": -1}}", pipeline.get(3).toJson());
+    }
+
+    private static List<String> stages(List<Document> pipeline) {
+        return pipeline.stream().map(stage -> stage.keySet().iterator().next()).toList();
+    }
+}
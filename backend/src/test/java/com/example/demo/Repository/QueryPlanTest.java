@@ -0,0 +1,176 @@
+package com.example.demo.Repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.example.demo.Entity.Items;
+import com.example.demo.config.MongoIndexBootstrapper;
+import com.example.demo.dto.ListingQuery;
+import com.example.demo.util.FieldSelection;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+
+/**
+ * Runs every repository query method against a real MongoDB, captures the command the
+ * driver sent, re-runs it through explain and fails if the winning plan is a COLLSCAN or
+ * sorts in memory (a blocking SORT stage means the index does not cover the sort).
+ *
+ * Needs MONGODB_URI pointing at a disposable server; a dedicated database is used.
+ * New repository query methods should get a case in {@link #queryPlans()}.
+ */
+@DataMongoTest(properties = "spring.data.mongodb.database=truswap_query_plan_test")
+@Import({MongoIndexBootstrapper.class, QueryPlanTest.CommandCapture.class})
+@EnabledIfEnvironmentVariable(named = "MONGODB_URI", matches = ".+")
+class QueryPlanTest {
+
+    private static final List<String> EXPLAINABLE = List.of("find", "aggregate", "count", "findAndModify", "update", "delete");
+
+    @Autowired
+    private ItemRepo itemRepo;
+
+    @Autowired
+    private OrderRepo orderRepo;
+
+    @Autowired
+    private GroupRepo groupRepo;
+
+    @Autowired
+    private SellerStatsRepo sellerStatsRepo;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CommandCapture capture;
+
+    @TestFactory
+    Stream<DynamicTest> queryPlans() {
+        return Stream.of(
+            plan("ItemRepo.findByUserId", () -> itemRepo.findByUserId("auth0|plan")),
+            plan("ItemRepo.findListingsPage", () -> itemRepo.findListingsPage(listingQuery(null))),
+            plan("ItemRepo.findListingsPage(category)", () -> itemRepo.findListingsPage(listingQuery("Books"))),
+            plan("ItemRepo.findListingsPage(cursor)", () -> {
+                ListingQuery query = listingQuery(null);
+                query.setAfterDatePosted(LocalDateTime.now());
+                query.setAfterId(42L);
+                itemRepo.findListingsPage(query);
+            }),
+            plan("ItemRepo.findListingsPage(group)", () -> {
+                ListingQuery query = listingQuery(null);
+                query.setGroupId("507f1f77bcf86cd799439011");
+                itemRepo.findListingsPage(query);
+            }),
+            plan("ItemRepo.findListingCards", () -> itemRepo.findListingCards(listingQuery(null))),
+            plan("ItemRepo.findListingsPage(fields)", () -> {
+                ListingQuery query = listingQuery("Books");
+                query.setFields(FieldSelection.parse("itemName,price", Items.class, new ObjectMapper()));
+                itemRepo.findListingsPage(query);
+            }),
+            plan("ItemRepo.streamListings", () -> itemRepo.streamListings(listingQuery("Books")).close()),
+            plan("ItemRepo.streamByUserId", () -> itemRepo.streamByUserId("auth0|plan").close()),
+            // Relevance order comes from the text score, which no index can provide
+            plan("ItemRepo.searchListings", true, () -> itemRepo.searchListings("desk lamp", null, null, 20)),
+            plan("ItemRepo.searchListings(cursor)", true, () -> itemRepo.searchListings("\"desk lamp\"", 3.5, 42L, 20)),
+            plan("ItemRepo.claimListing", () -> itemRepo.claimListing(42L)),
+            plan("ItemRepo.releaseListing", () -> itemRepo.releaseListing(42L)),
+            plan("OrderRepo.findByBuyerEmail", () -> orderRepo.findByBuyerEmail("buyer@example.com")),
+            plan("OrderRepo.findByBuyerUserId", () -> orderRepo.findByBuyerUserId("auth0|plan")),
+            plan("OrderRepo.findBySellerEmail", () -> orderRepo.findBySellerEmail("seller@example.com")),
+            plan("OrderRepo.findBySellerUserIdOrderByPurchaseDateDesc",
+                () -> orderRepo.findBySellerUserIdOrderByPurchaseDateDesc("auth0|plan", PageRequest.of(0, 20))),
+            plan("OrderRepo.findByPaymentId", () -> orderRepo.findByPaymentId("PAYID-PLAN")),
+            plan("GroupRepo.findByCreatedBy", () -> groupRepo.findByCreatedBy("auth0|plan")),
+            plan("SellerStatsRepo.findById", () -> sellerStatsRepo.findById("auth0|plan")),
+            plan("SellerStatsRepo.recordSale", () -> sellerStatsRepo.recordSale("auth0|plan", 25, 60_000L, LocalDateTime.now())),
+            plan("GroupRepo.adjustListingCounts", () -> groupRepo.adjustListingCounts("507f1f77bcf86cd799439011", -1, 0))
+        );
+    }
+
+    private DynamicTest plan(String name, Runnable query) {
+        return plan(name, false, query);
+    }
+
+    private DynamicTest plan(String name, boolean inMemorySort, Runnable query) {
+        return DynamicTest.dynamicTest(name, () -> {
+            capture.commands.clear();
+            query.run();
+            BsonDocument command = capture.commands.stream()
+                .filter(c -> EXPLAINABLE.contains(c.keySet().iterator().next()))
+                .reduce((first, second) -> second)
+                .orElse(null);
+            assertNotNull(command, name + " did not send an explainable command");
+
+            Document explain = mongoTemplate.getDb().runCommand(
+                new BsonDocument("explain", command).append("verbosity", new BsonString("queryPlanner")));
+            Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+            assertFalse(containsStage(winningPlan, "COLLSCAN"),
+                name + " uses a collection scan: " + winningPlan.toJson());
+            if (!inMemorySort) {
+                assertFalse(containsStage(winningPlan, "SORT"),
+                    name + " sorts in memory: " + winningPlan.toJson());
+            }
+        });
+    }
+
+    private static ListingQuery listingQuery(String category) {
+        ListingQuery query = new ListingQuery();
+        query.setCategory(category);
+        query.setLimit(20);
+        return query;
+    }
+
+    // Plans are trees (inputStage, inputStages, queryPlan for SBE), so search every nested document
+    private static boolean containsStage(Object node, String stage) {
+        if (node instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        if (node instanceof List<?> list) {
+            return list.stream().anyMatch(value -> containsStage(value, stage));
+        }
+        return false;
+    }
+
+    @TestConfiguration
+    static class CommandCapture implements CommandListener {
+
+        final List<BsonDocument> commands = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+            // The event's document is only valid during the callback, so keep a copy
+            BsonDocument command = event.getCommand().clone();
+            // Drop session/cluster metadata ($db, lsid, $clusterTime, ...) that explain would reject
+            command.keySet().removeIf(key -> key.startsWith("$") || "lsid".equals(key) || "txnNumber".equals(key));
+            commands.add(command);
+        }
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer captureCommands() {
+            return settings -> settings.addCommandListener(this);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+
+import com.example.demo.Entity.Items;
+import com.example.demo.Repository.GroupRepo;
+import com.example.demo.Repository.SellerStatsRepo;
+import com.example.demo.config.ListingIdAllocator;
+import com.example.demo.dto.BulkListingResult;
+import com.example.demo.dto.ItemsDto;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+
+/**
+ * Validation, ID allocation, batching and per-item results of the bulk listing import
+ */
+class BulkListingServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulkOperations = mock(BulkOperations.class);
+    private final GroupRepo groupRepo = mock(GroupRepo.class);
+    private final SellerStatsRepo sellerStatsRepo = mock(SellerStatsRepo.class);
+    private final ListingIdAllocator idAllocator = mock(ListingIdAllocator.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final List<List<Items>> batches = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Items.class)).thenReturn(bulkOperations);
+        when(mongoTemplate.getCollectionName(Items.class)).thenReturn("items");
+        when(mongoTemplate.getConverter()).thenReturn(mock(MongoConverter.class));
+        when(bulkOperations.insert(anyList())).thenAnswer(invocation -> {
+            batches.add(new ArrayList<>((List<Items>) invocation.getArgument(0)));
+            return bulkOperations;
+        });
+        when(idAllocator.nextIds(anyInt())).thenAnswer(invocation -> {
+            long[] ids = new long[(int) invocation.getArgument(0)];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = 100 + i;
+            }
+            return ids;
+        });
+    }
+
+    @Test
+    void invalidListingsAreReportedAndTheRestInsertedInBatches() {
+        List<ItemsDto> listings = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            listings.add(listing("Item " + i, 10));
+        }
+        listings.set(2, listing(" ", 10));
+        listings.set(5, listing("Item 5", -1));
+
+        BulkListingResult result = service(2).importListings(listings, "auth0|seller");
+
+        assertEquals(5, result.getCreated());
+        assertEquals(2, result.getFailed());
+        assertEquals("itemName is required", result.getResults().get(2).getError());
+        assertEquals("price must not be negative", result.getResults().get(5).getError());
+        assertEquals(100L, result.getResults().get(0).getId());
+        assertEquals(104L, result.getResults().get(6).getId());
+        for (int i = 0; i < 7; i++) {
+            assertEquals(i, result.getResults().get(i).getIndex());
+        }
+        // All IDs in one call, then 5 valid listings in batches of 2
+        verify(idAllocator).nextIds(5);
+        verify(idAllocator, never()).nextId();
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        Items first = batches.get(0).get(0);
+        assertEquals("auth0|seller", first.getUserId());
+        assertEquals("sell", first.getListingType());
+        assertTrue(!first.getIsSold() && first.getDatePosted() != null);
+    }
+
+    @Test
+    void rejectedDocumentsFailAloneAndTheOthersStillFireAfterSave() {
+        BulkWriteError duplicate = new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1);
+        when(bulkOperations.execute()).thenThrow(new BulkOperationException("Bulk write failed",
+            new MongoBulkWriteException(BulkWriteResult.acknowledged(2, 0, 0, 0, List.of(), List.of()),
+                List.of(duplicate), null, new ServerAddress(), Set.of())));
+
+        List<ItemsDto> listings = List.of(listing("A", 1), listing("B", 2), listing("C", 3));
+        listings.forEach(listing -> listing.setGroupId("group-1"));
+
+        BulkListingResult result = service(10).importListings(listings, "auth0|seller");
+
+        assertEquals(2, result.getCreated());
+        assertEquals(100L, result.getResults().get(0).getId());
+        assertNull(result.getResults().get(1).getId());
+        assertTrue(result.getResults().get(1).getError().contains("duplicate key"));
+        assertEquals(102L, result.getResults().get(2).getId());
+        ArgumentCaptor<AfterSaveEvent<Items>> events = ArgumentCaptor.forClass(AfterSaveEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(100L, 102L), events.getAllValues().stream().map(event -> event.getSource().getUsserId()).toList());
+        // One $inc for the group, counting only what was written
+        verify(groupRepo).adjustListingCounts("group-1", 2, 2);
+        verify(sellerStatsRepo).adjustListings("auth0|seller", 2, 2);
+    }
+
+    @Test
+    void failedBatchReportsEverythingNotYetWritten() {
+        when(bulkOperations.execute())
+            .thenReturn(null)
+            .thenThrow(new DataAccessResourceFailureException("Timed out"));
+
+        BulkListingResult result = service(2).importListings(
+            List.of(listing("A", 1), listing("B", 2), listing("C", 3), listing("D", 4), listing("E", 5)), "auth0|seller");
+
+        assertEquals(2, result.getCreated());
+        assertEquals(3, result.getFailed());
+        assertEquals("Not saved: Timed out", result.getResults().get(4).getError());
+        // Stops at the first failed batch
+        assertEquals(2, batches.size());
+        verify(groupRepo, never()).adjustListingCounts(any(), anyLong(), anyLong());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void counterFailureStillReportsTheWrittenListings() {
+        doThrow(new DataAccessResourceFailureException("Timed out")).when(sellerStatsRepo).adjustListings(any(), anyLong(), anyLong());
+
+        BulkListingResult result = service(10).importListings(List.of(listing("A", 1), listing("B", 2)), "auth0|seller");
+
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of(100L, 101L), result.getResults().stream().map(BulkListingResult.Item::getId).toList());
+    }
+
+    @Test
+    void listingTypeMustBeKnown() {
+        ItemsDto rental = listing("Bike", 5);
+        rental.setListingType("rent");
+        ItemsDto swap = listing("Bike", 5);
+        swap.setListingType("swap");
+        ItemsDto uncategorized = listing("Bike", 5);
+        uncategorized.setCategory(null);
+
+        assertNull(BulkListingService.validate(rental));
+        assertEquals("listingType must be sell or rent", BulkListingService.validate(swap));
+        assertEquals("category is required", BulkListingService.validate(uncategorized));
+        assertEquals("Listing must be an object", BulkListingService.validate(null));
+        verify(mongoTemplate, never()).bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq(Items.class));
+    }
+
+    private BulkListingService service(int batchSize) {
+        return new BulkListingService(mongoTemplate, groupRepo, sellerStatsRepo, idAllocator, eventPublisher, batchSize, 10_000);
+    }
+
+    private static ItemsDto listing(String itemName, int price) {
+        ItemsDto listing = new ItemsDto();
+        listing.setItemName(itemName);
+        listing.setCategory("Books");
+        listing.setPrice(price);
+        return listing;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.util.MutableClock;
+
+class CatalogVersionsTest {
+
+    @Test
+    void aChangeOnlyMovesTheChangedDocumentAndItsCollection() {
+        MutableClock clock = new MutableClock();
+        CatalogVersions versions = new CatalogVersions(Duration.ZERO, 100, clock);
+        CatalogVersions.Stamp feed = versions.listings();
+        CatalogVersions.Stamp one = versions.listing(1L);
+        CatalogVersions.Stamp two = versions.listing(2L);
+        CatalogVersions.Stamp groups = versions.groups();
+
+        clock.advance(Duration.ofSeconds(3));
+        versions.listingChanged(1L);
+
+        assertNotEquals(feed.etag(), versions.listings().etag());
+        assertNotEquals(one.etag(), versions.listing(1L).etag());
+        assertEquals(two.etag(), versions.listing(2L).etag());
+        assertEquals(groups.etag(), versions.groups().etag());
+        assertTrue(versions.listing(1L).modifiedAt().isAfter(one.modifiedAt()));
+    }
+
+    @Test
+    void etagsFromAnotherProcessNeverMatch() {
+        MutableClock clock = new MutableClock();
+        CatalogVersions first = new CatalogVersions(Duration.ZERO, 100, clock);
+        CatalogVersions second = new CatalogVersions(Duration.ZERO, 100, clock);
+
+        assertNotEquals(first.listings().etag(), second.listings().etag());
+        assertNotEquals(first.group("g1").etag(), second.group("g1").etag());
+    }
+
+    @Test
+    void trackingIsBoundedByRaisingTheFloor() {
+        MutableClock clock = new MutableClock();
+        CatalogVersions versions = new CatalogVersions(Duration.ZERO, 2, clock);
+        CatalogVersions.Stamp untouched = versions.group("untouched");
+
+        versions.groupChanged("a");
+        versions.groupChanged("b");
+        assertEquals(untouched.etag(), versions.group("untouched").etag());
+
+        // Past max-tracked every document looks changed once, never unchanged when it was not
+        CatalogVersions.Stamp a = versions.group("a");
+        versions.groupChanged("c");
+        assertNotEquals(untouched.etag(), versions.group("untouched").etag());
+        assertNotEquals(a.etag(), versions.group("a").etag());
+        assertEquals(versions.groups().etag(), versions.group("c").etag());
+    }
+
+    @Test
+    void versionsExpireAfterTtl() {
+        MutableClock clock = new MutableClock();
+        CatalogVersions versions = new CatalogVersions(Duration.ofSeconds(30), 100, clock);
+        CatalogVersions.Stamp feed = versions.listings();
+        CatalogVersions.Stamp item = versions.listing(5L);
+
+        clock.advance(Duration.ofSeconds(29));
+        assertEquals(feed.etag(), versions.listings().etag());
+
+        clock.advance(Duration.ofSeconds(2));
+        assertNotEquals(feed.etag(), versions.listings().etag());
+        assertNotEquals(item.etag(), versions.listing(5L).etag());
+    }
+}
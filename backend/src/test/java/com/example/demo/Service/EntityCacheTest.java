@@ -0,0 +1,105 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.example.demo.Entity.Items;
+import com.example.demo.util.MutableClock;
+
+class EntityCacheTest {
+
+    private final MappingMongoConverter converter = converter();
+
+    @Test
+    void hitsReturnIndependentCopies() {
+        EntityCache<Long, Items> cache = new EntityCache<>(Items.class, converter, Duration.ofMinutes(5), 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        Items first = cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(item(id, "Desk lamp"));
+        }).orElseThrow();
+        first.setIsSold(true);
+        Items second = cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        }).orElseThrow();
+
+        assertEquals(1, loads.get());
+        assertEquals("Desk lamp", second.getItemName());
+        assertFalse(second.getIsSold());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void invalidationForcesAReload() {
+        EntityCache<Long, Items> cache = new EntityCache<>(Items.class, converter, Duration.ofMinutes(5), 10);
+        cache.get(1L, id -> Optional.of(item(id, "Old name")));
+
+        cache.invalidate(1L);
+
+        assertEquals("New name", cache.get(1L, id -> Optional.of(item(id, "New name"))).orElseThrow().getItemName());
+        assertEquals(1, cache.getInvalidationCount());
+    }
+
+    @Test
+    void aLoadRacingAnInvalidationIsNotCached() {
+        EntityCache<Long, Items> cache = new EntityCache<>(Items.class, converter, Duration.ofMinutes(5), 10);
+
+        // The write (and its invalidation) lands while the old state is being read
+        cache.get(1L, id -> {
+            cache.invalidate(id);
+            return Optional.of(item(id, "Before the write"));
+        });
+
+        assertEquals(0, cache.size());
+        assertEquals("After the write", cache.get(1L, id -> Optional.of(item(id, "After the write"))).orElseThrow().getItemName());
+    }
+
+    @Test
+    void boundedByTtlAndSize() {
+        MutableClock clock = new MutableClock();
+        EntityCache<Long, Items> cache = new EntityCache<>(Items.class, converter, Duration.ofMinutes(5), 3, clock);
+        for (long id = 1; id <= 5; id++) {
+            cache.get(id, key -> Optional.of(item(key, "Item " + key)));
+        }
+        assertEquals(3, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+
+        clock.advance(Duration.ofMinutes(6));
+        assertTrue(cache.get(5L, key -> Optional.empty()).isEmpty());
+        assertEquals(3, cache.getEvictionCount());
+    }
+
+    // Configured like Spring Boot's, so java.time values map as simple types
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private static Items item(long id, String name) {
+        Items item = new Items();
+        item.setUsserId(id);
+        item.setItemName(name);
+        item.setPrice(25);
+        return item;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.example.demo.Entity.Group;
+
+class GroupListingCountBackfillTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final EntityCache<String, Group> groupCache = mock(EntityCache.class);
+
+    @Test
+    void ifEmptyOnlySelectsGroupsWithoutCounters() {
+        assertEquals("{\"totalListingCount\": {\"$exists\": false}}", firstBatchQuery("if-empty").getQueryObject().toJson());
+    }
+
+    @Test
+    void alwaysSelectsEveryGroup() {
+        assertEquals("{}", firstBatchQuery("always").getQueryObject().toJson());
+    }
+
+    @Test
+    void unknownModeIsRejected() {
+        assertThrows(IllegalStateException.class, () -> backfill("sometimes"));
+    }
+
+    private Query firstBatchQuery(String mode) {
+        when(mongoTemplate.find(any(Query.class), eq(Group.class))).thenReturn(List.of());
+        backfill(mode).run();
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Group.class));
+        return query.getValue();
+    }
+
+    private GroupListingCountBackfill backfill(String mode) {
+        return new GroupListingCountBackfill(mongoTemplate, groupCache, new CatalogVersions(Duration.ZERO, 100), mode, 200);
+    }
+}
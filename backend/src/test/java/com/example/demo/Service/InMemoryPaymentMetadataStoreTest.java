@@ -0,0 +1,97 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.Entity.PaymentMetadata;
+import com.example.demo.util.MutableClock;
+
+class InMemoryPaymentMetadataStoreTest {
+
+    @Test
+    void entriesExpireAfterTtl() {
+        MutableClock clock = new MutableClock();
+        InMemoryPaymentMetadataStore store = new InMemoryPaymentMetadataStore(Duration.ofMinutes(30), 100, clock);
+        store.save(new PaymentMetadata("PAY-1", 7L, "auth0|buyer"));
+
+        assertNotNull(store.get("PAY-1"));
+        clock.advance(Duration.ofMinutes(31));
+        assertNull(store.get("PAY-1"));
+        assertFalse(store.markExecuted("PAY-1"));
+    }
+
+    @Test
+    void clearedPaymentCanBeClaimedAgain() {
+        InMemoryPaymentMetadataStore store = new InMemoryPaymentMetadataStore(Duration.ofMinutes(30), 100);
+        store.save(new PaymentMetadata("PAY-1", 7L, "auth0|buyer"));
+
+        assertTrue(store.markExecuted("PAY-1"));
+        store.clearExecuted("PAY-1");
+        assertFalse(store.get("PAY-1").isExecuted());
+        assertTrue(store.markExecuted("PAY-1"));
+    }
+
+    @Test
+    void sizeStaysBoundedUnderSustainedTraffic() throws Exception {
+        InMemoryPaymentMetadataStore store = new InMemoryPaymentMetadataStore(Duration.ofHours(24), 1_000);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                writers.add(pool.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        store.save(new PaymentMetadata("PAY-" + thread + "-" + i, (long) i, "auth0|buyer"));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        // A few in-flight saves may briefly overshoot the bound, but never by more than the writer count
+        assertTrue(store.size() <= 1_000 + 8, "size was " + store.size());
+        // The newest entry always survives eviction
+        store.save(new PaymentMetadata("PAY-latest", 1L, "auth0|buyer"));
+        assertNotNull(store.get("PAY-latest"));
+    }
+
+    @Test
+    void onlyOneCallerWinsTheExecutedTransition() throws Exception {
+        InMemoryPaymentMetadataStore store = new InMemoryPaymentMetadataStore(Duration.ofHours(1), 100);
+        store.save(new PaymentMetadata("PAY-1", 7L, "auth0|buyer"));
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Callable<Boolean>> callers = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                callers.add(() -> store.markExecuted("PAY-1"));
+            }
+            long winners = 0;
+            for (Future<Boolean> result : pool.invokeAll(callers)) {
+                if (result.get()) {
+                    winners++;
+                }
+            }
+            assertEquals(1, winners);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertTrue(store.get("PAY-1").isExecuted());
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.example.demo.Entity.Items;
+import com.example.demo.Repository.GroupRepo;
+import com.example.demo.Repository.ItemRepo;
+import com.example.demo.Repository.SellerStatsRepo;
+import com.example.demo.dto.ItemsDto;
+import com.example.demo.dto.ListingPage;
+import com.example.demo.dto.ListingQuery;
+import com.example.demo.dto.ScoredItem;
+import com.example.demo.util.ListingCursor;
+import com.example.demo.util.SearchCursor;
+
+/**
+ * Feed and search paging, and the group and seller listing counters following listings through creation, sale and release
+ */
+class ItemServiceTest {
+
+    @SuppressWarnings("unchecked")
+    private final EntityCache<Long, Items> itemCache = mock(EntityCache.class);
+    private final ItemRepo itemRepo = mock(ItemRepo.class);
+    private final GroupRepo groupRepo = mock(GroupRepo.class);
+    private final SellerStatsRepo sellerStatsRepo = mock(SellerStatsRepo.class);
+    private final ItemService itemService = new ItemService(itemRepo, groupRepo, sellerStatsRepo, itemCache);
+
+    @Test
+    void newListingCountsAsActiveAndTotalOnItsGroup() {
+        when(itemRepo.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        ItemsDto dto = new ItemsDto();
+        dto.setItemName("Desk");
+        dto.setGroupId("group-1");
+
+        itemService.createListing(dto, "auth0|seller");
+
+        verify(groupRepo).adjustListingCounts("group-1", 1, 1);
+        verify(sellerStatsRepo).adjustListings("auth0|seller", 1, 1);
+    }
+
+    @Test
+    void claimAndReleaseMoveTheActiveCountOnly() {
+        when(itemRepo.claimListing(7L)).thenReturn(listing(7, "group-1", true));
+        when(itemRepo.releaseListing(7L)).thenReturn(listing(7, "group-1", false));
+
+        assertTrue(itemService.claimListing(7L).isPresent());
+        verify(groupRepo).adjustListingCounts("group-1", -1, 0);
+        verify(sellerStatsRepo).adjustListings("auth0|seller", -1, 0);
+        assertTrue(itemService.releaseListing(7L));
+        verify(groupRepo).adjustListingCounts("group-1", 1, 0);
+        verify(sellerStatsRepo).adjustListings("auth0|seller", 1, 0);
+    }
+
+    @Test
+    void counterFailureDoesNotFailTheClaim() {
+        when(itemRepo.claimListing(7L)).thenReturn(listing(7, "group-1", true));
+        doThrow(new DataAccessResourceFailureException("Timed out")).when(groupRepo).adjustListingCounts(any(), anyLong(), anyLong());
+
+        assertTrue(itemService.claimListing(7L).isPresent());
+    }
+
+    @Test
+    void failedClaimOrReleaseLeavesCountsAlone() {
+        assertTrue(itemService.claimListing(7L).isEmpty());
+        assertFalse(itemService.releaseListing(7L));
+        verify(groupRepo, never()).adjustListingCounts(any(), anyLong(), anyLong());
+        verify(sellerStatsRepo, never()).adjustListings(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void pageFetchesOneExtraRowWithoutChangingTheCallersQuery() {
+        ListingQuery query = new ListingQuery();
+        query.setLimit(2);
+        when(itemRepo.findListingsPage(any())).thenAnswer(invocation -> {
+            assertEquals(3, ((ListingQuery) invocation.getArgument(0)).getLimit());
+            return List.of(posted(3, LocalDateTime.of(2025, 1, 3, 0, 0)), posted(2, LocalDateTime.of(2025, 1, 2, 0, 0)),
+                posted(1, LocalDateTime.of(2025, 1, 1, 0, 0)));
+        });
+
+        ListingPage<Items> page = itemService.getListingsPage(query);
+
+        assertEquals(2, query.getLimit());
+        assertEquals(List.of(3L, 2L), page.getItems().stream().map(Items::getUsserId).toList());
+        ListingCursor next = ListingCursor.decode(page.getNextCursor());
+        assertEquals(LocalDateTime.of(2025, 1, 2, 0, 0), next.getDatePosted());
+        assertEquals(2L, next.getId());
+    }
+
+    @Test
+    void lastPageHasNoCursorAndUndatedListingsStillGetOne() {
+        ListingPage<Items> last = ItemService.toPage(List.of(posted(1, null)), 1, Items::getDatePosted, Items::getUsserId);
+        assertNull(last.getNextCursor());
+
+        ListingPage<Items> undated = ItemService.toPage(List.of(posted(5, null), posted(4, null)), 1,
+            Items::getDatePosted, Items::getUsserId);
+        ListingCursor next = ListingCursor.decode(undated.getNextCursor());
+        assertNull(next.getDatePosted());
+        assertEquals(5L, next.getId());
+    }
+
+    @Test
+    void searchFetchesOneExtraHitAndContinuesAfterTheLastKeptOne() {
+        when(itemRepo.searchListings("desk", null, null, 3)).thenReturn(List.of(
+            new ScoredItem(posted(9, null), 2.5), new ScoredItem(posted(4, null), 1.5), new ScoredItem(posted(3, null), 1.5)));
+
+        ListingPage<Items> page = itemService.searchListings("desk", null, 2);
+
+        assertEquals(List.of(9L, 4L), page.getItems().stream().map(Items::getUsserId).toList());
+        SearchCursor next = SearchCursor.decode(page.getNextCursor());
+        assertEquals(1.5, next.getScore());
+        assertEquals(4L, next.getId());
+    }
+
+    @Test
+    void searchPassesTheCursorOnAndEndsWithoutOne() {
+        when(itemRepo.searchListings("desk", 1.5, 4L, 3)).thenReturn(List.of(new ScoredItem(posted(3, null), 1.5)));
+
+        ListingPage<Items> page = itemService.searchListings("desk", new SearchCursor(1.5, 4L), 2);
+
+        assertEquals(List.of(3L), page.getItems().stream().map(Items::getUsserId).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    private static Items posted(long id, LocalDateTime datePosted) {
+        Items item = new Items();
+        item.setUsserId(id);
+        item.setDatePosted(datePosted);
+        return item;
+    }
+
+    private static Items listing(long id, String groupId, boolean sold) {
+        Items item = new Items();
+        item.setUsserId(id);
+        item.setGroupId(groupId);
+        item.setUserId("auth0|seller");
+        item.setIsSold(sold);
+        return item;
+    }
+}
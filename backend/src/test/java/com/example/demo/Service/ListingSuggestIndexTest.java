@@ -0,0 +1,112 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.example.demo.Entity.Items;
+import com.example.demo.dto.ListingSuggestion;
+
+class ListingSuggestIndexTest {
+
+    private final ListingSuggestIndex index = new ListingSuggestIndex(null);
+
+    @Test
+    void ranksNamePrefixFirstThenNewestWordMatches() {
+        index.upsert(item(1, "Calculus Textbook", "Books", 1));
+        index.upsert(item(2, "Used calculator", "Electronics", 2));
+        index.upsert(item(3, "TI-84 Calculator", "Electronics", 3));
+
+        // 1 starts with the query; 2 and 3 only match on a later word, newest first
+        assertEquals(List.of(1L, 3L, 2L), ids(index.suggest("calc", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("calc", 1)));
+    }
+
+    @Test
+    void everyQueryWordMustMatch() {
+        index.upsert(item(1, "Blue desk lamp", "Furniture", 1));
+        index.upsert(item(2, "Desk chair", "Furniture", 2));
+
+        assertEquals(List.of(1L), ids(index.suggest("desk la", 10)));
+        assertEquals(List.of(2L, 1L), ids(index.suggest("furn", 10)));
+    }
+
+    @Test
+    void soldOrRemovedListingsDropOut() {
+        index.upsert(item(1, "Mini fridge", "Appliances", 1));
+        index.upsert(item(2, "Mini speaker", "Electronics", 2));
+
+        Items sold = item(1, "Mini fridge", "Appliances", 1);
+        sold.setIsSold(true);
+        index.upsert(sold);
+        index.remove(2);
+
+        assertTrue(index.suggest("mini", 10).isEmpty());
+        assertTrue(index.suggest("fridge", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void renamedListingIsReindexed() {
+        index.upsert(item(1, "Old bike", "Sports", 1));
+        index.upsert(item(1, "Road bicycle", "Sports", 1));
+
+        assertTrue(index.suggest("old", 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.suggest("road bi", 10)));
+    }
+
+    @Test
+    void commonFirstWordDoesNotHideMultiWordMatches() {
+        for (int i = 1; i <= 2_500; i++) {
+            index.upsert(item(i, "Wooden desk " + i, "Furniture", 1));
+        }
+        index.upsert(item(9_999, "Wooden desk lamp", "Furniture", 2));
+
+        assertEquals(List.of(9_999L), ids(index.suggest("wooden l", 10)));
+    }
+
+    @Test
+    void saleDuringRebuildIsNotUndoneByTheScan() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        ListingSuggestIndex rebuilt = new ListingSuggestIndex(mongoTemplate);
+        Items sold = item(1, "Mini fridge", "Appliances", 1);
+        sold.setIsSold(true);
+        // The cursor already read listing 1 as unsold when its sale event arrives
+        when(mongoTemplate.stream(any(Query.class), eq(Items.class))).thenReturn(
+            Stream.of(item(1, "Mini fridge", "Appliances", 1), item(2, "Mini speaker", "Electronics", 2))
+                .peek(item -> {
+                    if (item.getUsserId() == 1) {
+                        rebuilt.upsert(sold);
+                    }
+                }));
+
+        rebuilt.rebuild();
+
+        assertEquals(List.of(2L), ids(rebuilt.suggest("mini", 10)));
+        assertEquals(1, rebuilt.size());
+    }
+
+    private static List<Long> ids(List<ListingSuggestion> suggestions) {
+        return suggestions.stream().map(ListingSuggestion::getId).toList();
+    }
+
+    private static Items item(long id, String name, String category, int dayOfMonth) {
+        Items item = new Items();
+        item.setUsserId(id);
+        item.setItemName(name);
+        item.setCategory(category);
+        item.setDatePosted(LocalDateTime.of(2025, 1, dayOfMonth, 12, 0));
+        return item;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.example.demo.Entity.Items;
+import com.example.demo.Entity.Order;
+import com.example.demo.Entity.SellerStats;
+import com.example.demo.Repository.OrderRepo;
+import com.example.demo.Repository.SellerStatsRepo;
+
+/**
+ * Each new order is added to its seller's precomputed stats
+ */
+class OrderServiceTest {
+
+    private final OrderRepo orderRepo = mock(OrderRepo.class);
+    private final SellerStatsRepo sellerStatsRepo = mock(SellerStatsRepo.class);
+    private final OrderService orderService = new OrderService(orderRepo, sellerStatsRepo, mock(MongoTemplate.class));
+
+    @Test
+    void saleIsRecordedWithTheTimeSinceTheListingWasPosted() {
+        when(orderRepo.insert(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Items listing = listing(LocalDateTime.now().minusHours(3));
+
+        Order order = orderService.createOrder(listing, "PAYID-1", "buyer@example.com", "Buyer", "auth0|buyer");
+
+        ArgumentCaptor<Long> timeToSell = ArgumentCaptor.forClass(Long.class);
+        verify(sellerStatsRepo).recordSale(eq("auth0|seller"), eq(40L), timeToSell.capture(), eq(order.getPurchaseDate()));
+        assertEquals(3 * 3600, timeToSell.getValue() / 1000, 5);
+    }
+
+    @Test
+    void legacyListingWithoutPostingDateIsNotTimed() {
+        when(orderRepo.insert(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        orderService.createOrder(listing(null), "PAYID-1", "buyer@example.com", "Buyer", "auth0|buyer");
+
+        verify(sellerStatsRepo).recordSale(eq("auth0|seller"), eq(40L), eq(null), any());
+    }
+
+    @Test
+    void duplicateOrderIsNotCountedAndStatsFailureKeepsTheOrder() {
+        when(orderRepo.insert(any(Order.class))).thenThrow(new DuplicateKeyException("paymentId_idx"));
+        assertThrows(DuplicateKeyException.class,
+            () -> orderService.createOrder(listing(null), "PAYID-1", "buyer@example.com", "Buyer", "auth0|buyer"));
+        verify(sellerStatsRepo, never()).recordSale(any(), anyLong(), any(), any());
+
+        OrderRepo workingRepo = mock(OrderRepo.class);
+        when(workingRepo.insert(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new DataAccessResourceFailureException("Timed out")).when(sellerStatsRepo).recordSale(any(), anyLong(), any(), any());
+        Order order = new OrderService(workingRepo, sellerStatsRepo, mock(MongoTemplate.class))
+            .createOrder(listing(null), "PAYID-2", "buyer@example.com", "Buyer", "auth0|buyer");
+        assertEquals("PAYID-2", order.getPaymentId());
+    }
+
+    @Test
+    void averageTimeToSellIsOnlyShownOnceASaleWasTimed() {
+        SellerStats stats = new SellerStats("auth0|seller");
+        assertNull(stats.getAverageTimeToSellSeconds());
+        stats.setTimeToSellMillis(90_000);
+        stats.setTimedSales(2);
+        assertEquals(45L, stats.getAverageTimeToSellSeconds());
+    }
+
+    private static Items listing(LocalDateTime datePosted) {
+        Items item = new Items();
+        item.setUsserId(7);
+        item.setUserId("auth0|seller");
+        item.setPrice(40);
+        item.setDatePosted(datePosted);
+        return item;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.util.MutableClock;
+import com.paypal.base.rest.PayPalRESTException;
+
+class PayPalBulkheadTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+
+    @Test
+    void rejectsCallsBeyondTheConcurrencyCap() throws Exception {
+        PayPalBulkhead bulkhead = new PayPalBulkhead(2, Duration.ofMillis(50), 5, Duration.ofSeconds(30), clock);
+        CountDownLatch inFlight = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = pool.submit(() -> bulkhead.execute(() -> block(inFlight, release)));
+            Future<?> second = pool.submit(() -> bulkhead.execute(() -> block(inFlight, release)));
+            inFlight.await(5, TimeUnit.SECONDS);
+            assertEquals(2, bulkhead.getInFlightCount());
+
+            PayPalRESTException e = assertThrows(PayPalRESTException.class, () -> bulkhead.execute(() -> "third"));
+            assertEquals(503, e.getResponsecode());
+            assertEquals(1, bulkhead.getRejectedCount());
+
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+            assertEquals("fourth", bulkhead.execute(() -> "fourth"));
+            // Rejections are ours, not PayPal's, so they never count against the circuit
+            assertEquals(PayPalBulkhead.State.CLOSED, bulkhead.getState());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void opensAfterConsecutiveOutagesAndFailsFast() {
+        PayPalBulkhead bulkhead = new PayPalBulkhead(4, Duration.ofMillis(50), 3, Duration.ofSeconds(30), clock);
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            assertThrows(PayPalRESTException.class, () -> bulkhead.execute(() -> {
+                calls.incrementAndGet();
+                throw failure(502);
+            }));
+        }
+        assertEquals(PayPalBulkhead.State.OPEN, bulkhead.getState());
+
+        PayPalRESTException e = assertThrows(PayPalRESTException.class, () -> bulkhead.execute(() -> calls.incrementAndGet()));
+        assertEquals(503, e.getResponsecode());
+        assertEquals(3, calls.get());
+        assertEquals(1, bulkhead.getShortCircuitedCount());
+    }
+
+    @Test
+    void clientErrorsDoNotTripTheCircuit() {
+        PayPalBulkhead bulkhead = new PayPalBulkhead(4, Duration.ofMillis(50), 2, Duration.ofSeconds(30), clock);
+        for (int i = 0; i < 5; i++) {
+            assertThrows(PayPalRESTException.class, () -> bulkhead.execute(() -> {
+                throw failure(400);
+            }));
+        }
+        assertEquals(PayPalBulkhead.State.CLOSED, bulkhead.getState());
+        assertEquals(0, bulkhead.getFailureCount());
+    }
+
+    @Test
+    void halfOpenTrialClosesOrReopensTheCircuit() throws Exception {
+        PayPalBulkhead bulkhead = new PayPalBulkhead(4, Duration.ofMillis(50), 1, Duration.ofSeconds(30), clock);
+        assertThrows(PayPalRESTException.class, () -> bulkhead.execute(() -> {
+            throw failure(0);
+        }));
+        assertEquals(PayPalBulkhead.State.OPEN, bulkhead.getState());
+
+        // Trial fails: open for another full cool-down
+        clock.advance(Duration.ofSeconds(30));
+        assertThrows(PayPalRESTException.class, () -> bulkhead.execute(() -> {
+            throw failure(503);
+        }));
+        assertEquals(PayPalBulkhead.State.OPEN, bulkhead.getState());
+        clock.advance(Duration.ofSeconds(29));
+        assertEquals(503, assertThrows(PayPalRESTException.class, () -> bulkhead.execute(() -> "early")).getResponsecode());
+
+        // Trial succeeds: closed again
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals("ok", bulkhead.execute(() -> "ok"));
+        assertEquals(PayPalBulkhead.State.CLOSED, bulkhead.getState());
+    }
+
+    private static String block(CountDownLatch inFlight, CountDownLatch release) {
+        inFlight.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+
+    private static PayPalRESTException failure(int status) {
+        PayPalRESTException e = new PayPalRESTException("status " + status);
+        e.setResponsecode(status);
+        return e;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.config.PayPalConfig;
+import com.paypal.api.payments.Payment;
+import com.paypal.base.rest.PayPalRESTException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * PayPalClient against a local stub PayPal server (token endpoint + payment lookup).
+ */
+class PayPalClientTest {
+
+    private HttpServer stub;
+    private final AtomicInteger tokensIssued = new AtomicInteger();
+    private final AtomicInteger unauthorizedResponsesLeft = new AtomicInteger();
+    private final List<String> paymentAuthorizations = new CopyOnWriteArrayList<>();
+    private volatile long tokenLifetimeSeconds = 3600;
+    private volatile long paymentDelayMillis = 0;
+    private PayPalClient client;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/v1/oauth2/token", exchange -> {
+            int n = tokensIssued.incrementAndGet();
+            respond(exchange, 200, "{\"access_token\":\"token-" + n + "\",\"token_type\":\"Bearer\",\"expires_in\":" + tokenLifetimeSeconds + "}");
+        });
+        stub.createContext("/v1/payments/payment/", exchange -> {
+            paymentAuthorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+            if (paymentDelayMillis > 0) {
+                try {
+                    Thread.sleep(paymentDelayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (unauthorizedResponsesLeft.getAndDecrement() > 0) {
+                respond(exchange, 401, "{\"error\":\"invalid_token\"}");
+                return;
+            }
+            respond(exchange, 200, "{\"id\":\"PAY-1\",\"state\":\"approved\"}");
+        });
+        // Slow responses must not hold up the next request
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        if (client != null) {
+            client.destroy();
+        }
+        stub.stop(0);
+    }
+
+    @Test
+    void reusesOneTokenAcrossCalls() throws Exception {
+        client = newClient(Duration.ofMinutes(5));
+        for (int i = 0; i < 10; i++) {
+            Payment payment = client.call(apiContext -> Payment.get(apiContext, "PAY-1"));
+            assertEquals("approved", payment.getState());
+        }
+        assertEquals(1, tokensIssued.get());
+        assertEquals(1, client.getTokenFetchCount());
+        assertTrue(paymentAuthorizations.stream().allMatch("Bearer token-1"::equals));
+    }
+
+    @Test
+    void refreshesInBackgroundBeforeExpiry() throws Exception {
+        tokenLifetimeSeconds = 2;
+        client = newClient(Duration.ofSeconds(1));
+        client.call(apiContext -> Payment.get(apiContext, "PAY-1"));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (tokensIssued.get() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(tokensIssued.get() >= 2, "token was not refreshed in the background");
+
+        client.call(apiContext -> Payment.get(apiContext, "PAY-1"));
+        assertTrue(paymentAuthorizations.get(paymentAuthorizations.size() - 1).startsWith("Bearer token-"));
+        assertEquals(2, paymentAuthorizations.size());
+    }
+
+    @Test
+    void retriesOnceWithANewTokenWhenRejected() throws Exception {
+        client = newClient(Duration.ofMinutes(5));
+        unauthorizedResponsesLeft.set(1);
+
+        Payment payment = client.call(apiContext -> Payment.get(apiContext, "PAY-1"));
+
+        assertEquals("approved", payment.getState());
+        assertEquals(2, tokensIssued.get());
+        assertEquals(List.of("Bearer token-1", "Bearer token-2"), paymentAuthorizations);
+    }
+
+    @Test
+    void slowPayPalTimesOutAndOpensTheCircuit() throws Exception {
+        paymentDelayMillis = 3000;
+        PayPalConfig config = newConfig(Duration.ofMinutes(5));
+        config.setReadTimeout(Duration.ofMillis(200));
+        config.setFailureThreshold(2);
+        client = new PayPalClient(config);
+
+        for (int i = 0; i < 2; i++) {
+            long started = System.nanoTime();
+            PayPalRESTException e = assertThrows(PayPalRESTException.class,
+                () -> client.call(apiContext -> Payment.get(apiContext, "PAY-1")));
+            assertTrue(e.getResponsecode() != 503, "expected a timeout, not a rejection");
+            // The SDK adds a fixed 1s pause after a failed attempt, still well short of the 3s response
+            assertTrue(System.nanoTime() - started < Duration.ofMillis(2500).toNanos(), "call waited for the slow response");
+        }
+        assertEquals(PayPalBulkhead.State.OPEN, client.getBulkhead().getState());
+
+        // Open circuit: rejected without touching the stub
+        int requestsSoFar = paymentAuthorizations.size();
+        PayPalRESTException e = assertThrows(PayPalRESTException.class,
+            () -> client.call(apiContext -> Payment.get(apiContext, "PAY-1")));
+        assertEquals(503, e.getResponsecode());
+        assertEquals(requestsSoFar, paymentAuthorizations.size());
+    }
+
+    private PayPalClient newClient(Duration refreshMargin) {
+        return new PayPalClient(newConfig(refreshMargin));
+    }
+
+    private PayPalConfig newConfig(Duration refreshMargin) {
+        String baseUrl = "http://127.0.0.1:" + stub.getAddress().getPort();
+        return new PayPalConfig("client-id", "client-secret", "sandbox", baseUrl, refreshMargin);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
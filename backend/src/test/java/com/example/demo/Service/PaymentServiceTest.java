@@ -0,0 +1,71 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.demo.Entity.PaymentMetadata;
+import com.paypal.api.payments.Payment;
+import com.paypal.base.rest.PayPalRESTException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PaymentServiceTest {
+
+    private final PayPalClient payPalClient = mock(PayPalClient.class);
+    private final PaymentMetadataStore store = new InMemoryPaymentMetadataStore(Duration.ofHours(1), 100);
+    private final PaymentService paymentService = new PaymentService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(paymentService, "payPalClient", payPalClient);
+        ReflectionTestUtils.setField(paymentService, "paymentMetadataStore", store);
+        ReflectionTestUtils.setField(paymentService, "meterRegistry", new SimpleMeterRegistry());
+        store.save(new PaymentMetadata("PAY-1", 7L, "auth0|buyer"));
+    }
+
+    @Test
+    void secondExecuteNeverReachesPayPal() throws Exception {
+        Payment executed = new Payment();
+        when(payPalClient.call(any())).thenReturn(executed);
+
+        assertSame(executed, paymentService.executePayment("PAY-1", "PAYER"));
+        assertThrows(PayPalRESTException.class, () -> paymentService.executePayment("PAY-1", "PAYER"));
+        verify(payPalClient, times(1)).call(any());
+    }
+
+    @Test
+    void declinedExecuteCanBeRetried() throws Exception {
+        Payment executed = new Payment();
+        PayPalRESTException declined = new PayPalRESTException("INSTRUMENT_DECLINED");
+        declined.setResponsecode(400);
+        when(payPalClient.call(any()))
+            .thenThrow(declined)
+            .thenReturn(executed);
+
+        assertThrows(PayPalRESTException.class, () -> paymentService.executePayment("PAY-1", "PAYER"));
+        assertSame(executed, paymentService.executePayment("PAY-1", "PAYER"));
+        assertTrue(store.get("PAY-1").isExecuted());
+    }
+
+    @Test
+    void timedOutExecuteStaysExecuted() throws Exception {
+        when(payPalClient.call(any())).thenThrow(new PayPalRESTException("Read timed out"));
+
+        assertThrows(PayPalRESTException.class, () -> paymentService.executePayment("PAY-1", "PAYER"));
+        assertTrue(store.get("PAY-1").isExecuted());
+        assertThrows(PayPalRESTException.class, () -> paymentService.executePayment("PAY-1", "PAYER"));
+        verify(payPalClient, times(1)).call(any());
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+class SellerStatsRebuildTest {
+
+    @Test
+    void ordersWithoutSellerTakeItFromTheirListing() {
+        Document unionWith = SellerStatsRebuild.pipeline("items", "orders", "seller_stats").stream()
+            .filter(stage -> stage.containsKey("$unionWith"))
+            .findFirst().orElseThrow()
+            .get("$unionWith", Document.class);
+        @SuppressWarnings("unchecked")
+        List<Document> orders = (List<Document>) unionWith.get("pipeline");
+
+        // The seller is only known after the join, so the filter on it must come after $lookup
+        assertEquals(List.of("$lookup", "$set", "$match", "$project"),
+            orders.stream().map(stage -> stage.keySet().iterator().next()).toList());
+        assertEquals("{\"$ifNull\": [\"$sellerUserId\", {\"$arrayElemAt\": [\"$listing.userId\", 0]}]}",
+            orders.get(1).get("$set", Document.class).get("seller", Document.class).toJson());
+        assertEquals("{\"seller\": {\"$type\": \"string\"}}", orders.get(2).get("$match", Document.class).toJson());
+    }
+}
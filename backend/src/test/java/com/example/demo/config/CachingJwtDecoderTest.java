@@ -0,0 +1,92 @@
+package com.example.demo.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import com.example.demo.util.MutableClock;
+
+class CachingJwtDecoderTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger verifications = new AtomicInteger();
+    // Accepts "token-<n>" with a 1h lifetime and "short-<n>" with 1 minute, rejects anything else
+    private final JwtDecoder delegate = token -> {
+        verifications.incrementAndGet();
+        Duration lifetime;
+        if (token.startsWith("token-")) {
+            lifetime = Duration.ofHours(1);
+        } else if (token.startsWith("short-")) {
+            lifetime = Duration.ofMinutes(1);
+        } else {
+            throw new BadJwtException("Invalid token");
+        }
+        return Jwt.withTokenValue(token)
+            .header("alg", "RS256")
+            .subject("auth0|" + token)
+            .issuedAt(clock.instant())
+            .expiresAt(clock.instant().plus(lifetime))
+            .build();
+    };
+
+    @Test
+    void repeatedTokenIsVerifiedOnce() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100, Duration.ofMinutes(10), clock);
+
+        Jwt first = decoder.decode("token-1");
+        Jwt second = decoder.decode("token-1");
+
+        assertSame(first, second);
+        assertEquals(1, verifications.get());
+        assertEquals(1, decoder.getHitCount());
+    }
+
+    @Test
+    void entriesExpireWithTheTokenOrMaxTtl() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100, Duration.ofMinutes(10), clock);
+        decoder.decode("short-1");
+        decoder.decode("token-1");
+
+        clock.advance(Duration.ofMinutes(1));
+        decoder.decode("short-1");
+        assertEquals(3, verifications.get());
+
+        // The token is valid for an hour, but the cache keeps it for at most 10 minutes
+        clock.advance(Duration.ofMinutes(9));
+        decoder.decode("token-1");
+        assertEquals(4, verifications.get());
+    }
+
+    @Test
+    void rejectedTokensAreNotCached() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100, Duration.ofMinutes(10), clock);
+
+        assertThrows(BadJwtException.class, () -> decoder.decode("forged"));
+        assertThrows(BadJwtException.class, () -> decoder.decode("forged"));
+
+        assertEquals(2, verifications.get());
+        assertEquals(0, decoder.size());
+    }
+
+    @Test
+    void sizeIsBounded() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 3, Duration.ofMinutes(10), clock);
+        for (int i = 0; i < 10; i++) {
+            decoder.decode("token-" + i);
+        }
+
+        assertEquals(3, decoder.size());
+        assertEquals(7, decoder.getEvictionCount());
+        // The newest stay cached
+        decoder.decode("token-9");
+        assertEquals(10, verifications.get());
+    }
+}
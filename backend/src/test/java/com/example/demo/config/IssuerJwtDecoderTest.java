@@ -0,0 +1,137 @@
+package com.example.demo.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Lazy discovery and key handling against a local issuer serving discovery and a JWKS
+ */
+class IssuerJwtDecoderTest {
+
+    private HttpServer server;
+    private String issuer;
+    private volatile JWKSet jwks;
+    private volatile boolean issuerDown;
+    private final AtomicInteger discoveryRequests = new AtomicInteger();
+    private IssuerJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        issuer = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+        server.createContext("/.well-known/openid-configuration", exchange -> {
+            discoveryRequests.incrementAndGet();
+            if (issuerDown) {
+                respond(exchange, 503, "{}");
+            } else {
+                respond(exchange, 200, "{\"issuer\":\"" + issuer + "\",\"jwks_uri\":\"" + issuer + ".well-known/jwks.json\"}");
+            }
+        });
+        server.createContext("/.well-known/jwks.json", exchange -> respond(exchange, 200, jwks.toString()));
+        server.start();
+        decoder = new IssuerJwtDecoder(issuer, Duration.ofSeconds(2), Duration.ofMinutes(15), Duration.ofMinutes(1), Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        decoder.close();
+        server.stop(0);
+    }
+
+    @Test
+    void discoversTheIssuerOnFirstUseOnly() throws Exception {
+        RSAKey key = newKey("key-1");
+        jwks = new JWKSet(key.toPublicJWK());
+        assertEquals(0, discoveryRequests.get());
+
+        Jwt jwt = decoder.decode(sign(key, issuer, "auth0|1"));
+        decoder.decode(sign(key, issuer, "auth0|2"));
+
+        assertEquals("auth0|1", jwt.getSubject());
+        assertEquals(1, discoveryRequests.get());
+    }
+
+    @Test
+    void unreachableIssuerFailsFastUntilTheRetryInterval() {
+        issuerDown = true;
+
+        assertThrows(JwtException.class, () -> decoder.decode("a.b.c"));
+        assertThrows(JwtException.class, () -> decoder.decode("a.b.c"));
+
+        assertEquals(1, discoveryRequests.get());
+    }
+
+    @Test
+    void rotatedKeyIsPickedUp() throws Exception {
+        RSAKey oldKey = newKey("key-1");
+        jwks = new JWKSet(oldKey.toPublicJWK());
+        decoder.decode(sign(oldKey, issuer, "auth0|1"));
+
+        RSAKey newKey = newKey("key-2");
+        jwks = new JWKSet(List.of(oldKey.toPublicJWK(), newKey.toPublicJWK()));
+
+        assertEquals("auth0|2", decoder.decode(sign(newKey, issuer, "auth0|2")).getSubject());
+    }
+
+    @Test
+    void tokensFromAnotherIssuerOrKeyAreRejected() throws Exception {
+        RSAKey key = newKey("key-1");
+        jwks = new JWKSet(key.toPublicJWK());
+
+        assertThrows(JwtException.class, () -> decoder.decode(sign(key, "https://evil.example/", "auth0|1")));
+        assertThrows(JwtException.class, () -> decoder.decode(sign(newKey("key-1"), issuer, "auth0|1")));
+    }
+
+    private static RSAKey newKey(String keyId) throws Exception {
+        return new RSAKeyGenerator(2048).keyID(keyId).generate();
+    }
+
+    private static String sign(RSAKey key, String issuer, String subject) throws Exception {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+            .issuer(issuer)
+            .subject(subject)
+            .issueTime(Date.from(now))
+            .expirationTime(Date.from(now.plus(Duration.ofHours(1))))
+            .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
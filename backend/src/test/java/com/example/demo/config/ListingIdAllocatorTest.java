@@ -0,0 +1,157 @@
+package com.example.demo.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Concurrency stress tests for the listing ID allocators: many threads (and, for hi/lo,
+ * several allocators sharing one counter to mimic several instances) must never see a duplicate.
+ */
+class ListingIdAllocatorTest {
+
+    private static final int THREADS = 16;
+    private static final int IDS_PER_THREAD = 20_000;
+    private static final long JS_MAX_SAFE_INTEGER = (1L << 53) - 1;
+
+    @Test
+    void snowflakeIdsAreUniqueAndIncreasingAcrossThreads() throws Exception {
+        SnowflakeIdAllocator allocator = new SnowflakeIdAllocator(3);
+        Set<Long> ids = stress(() -> allocator);
+        assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id > 0 && id <= JS_MAX_SAFE_INTEGER));
+    }
+
+    @Test
+    void snowflakeRollsIntoNextMillisecondWhenSequenceIsExhausted() {
+        SnowflakeIdAllocator allocator = new SnowflakeIdAllocator(1, () -> SnowflakeIdAllocator.EPOCH + 1000);
+        long previous = 0;
+        for (int i = 0; i < 1000; i++) {
+            long id = allocator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void snowflakeKeepsIncreasingWhenClockStepsBack() {
+        AtomicLong now = new AtomicLong(SnowflakeIdAllocator.EPOCH + 5000);
+        SnowflakeIdAllocator allocator = new SnowflakeIdAllocator(1, now::get);
+        long before = allocator.nextId();
+        now.addAndGet(-2000);
+        assertTrue(allocator.nextId() > before);
+    }
+
+    @Test
+    void snowflakeNodesNeverCollide() {
+        AtomicLong now = new AtomicLong(SnowflakeIdAllocator.EPOCH + 42);
+        SnowflakeIdAllocator a = new SnowflakeIdAllocator(0, now::get);
+        SnowflakeIdAllocator b = new SnowflakeIdAllocator(1, now::get);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 500; i++) {
+            assertTrue(ids.add(a.nextId()));
+            assertTrue(ids.add(b.nextId()));
+        }
+    }
+
+    @Test
+    void snowflakeRejectsOutOfRangeNode() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdAllocator(SnowflakeIdAllocator.MAX_NODE + 1));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdAllocator(-1));
+    }
+
+    @Test
+    void hiLoIdsAreUniqueAcrossInstancesSharingOneCounter() throws Exception {
+        AtomicLong counter = new AtomicLong(1_700_000_000_000L); // pretend legacy IDs already exist
+        AtomicLong roundTrips = new AtomicLong();
+        HiLoIdAllocator.BlockSource source = blockSize -> {
+            roundTrips.incrementAndGet();
+            return counter.addAndGet(blockSize);
+        };
+        // Four "instances", each used by a quarter of the threads
+        List<HiLoIdAllocator> instances = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            instances.add(new HiLoIdAllocator(source, 100));
+        }
+        AtomicLong picker = new AtomicLong();
+        Set<Long> ids = stress(() -> instances.get((int) (picker.getAndIncrement() % instances.size())));
+
+        assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id > 1_700_000_000_000L));
+        // One counter round trip per block, not per ID
+        assertTrue(roundTrips.get() <= THREADS * IDS_PER_THREAD / 100 + instances.size());
+    }
+
+    @Test
+    void hiLoRangesComeFromTheCurrentBlockOrOneReservation() {
+        AtomicLong counter = new AtomicLong(1000);
+        AtomicLong roundTrips = new AtomicLong();
+        HiLoIdAllocator allocator = new HiLoIdAllocator(blockSize -> {
+            roundTrips.incrementAndGet();
+            return counter.addAndGet(blockSize);
+        }, 100);
+
+        assertEquals(1001, allocator.nextId());
+        long[] small = allocator.nextIds(10);
+        assertEquals(1002, small[0]);
+        assertEquals(1011, small[9]);
+        assertEquals(1, roundTrips.get());
+
+        // Too big for what is left of the block: exactly 5000 more IDs in a single round trip
+        long[] large = allocator.nextIds(5000);
+        assertEquals(2, roundTrips.get());
+        assertEquals(1101, large[0]);
+        assertEquals(6100, large[4999]);
+        // The current block is still handed out afterwards
+        assertEquals(1012, allocator.nextId());
+        assertEquals(0, allocator.nextIds(0).length);
+    }
+
+    private static Set<Long> stress(Supplier<ListingIdAllocator> allocatorPerThread) throws Exception {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                ListingIdAllocator allocator = allocatorPerThread.get();
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    long previous = Long.MIN_VALUE;
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        long id = allocator.nextId();
+                        if (!ids.add(id)) {
+                            throw new AssertionError("Duplicate ID " + id);
+                        }
+                        if (id <= previous) {
+                            throw new AssertionError("ID went backwards: " + previous + " -> " + id);
+                        }
+                        previous = id;
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.demo.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Command timers and document counts as the driver reports them
+ */
+class MongoCommandMetricsTest {
+
+    private static final ConnectionDescription CONNECTION =
+        new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MongoCommandMetrics metrics = new MongoCommandMetrics(registry);
+
+    @Test
+    void findIsTimedPerCollectionWithItsBatchSize() {
+        run(1, "find", "{find: 'items', filter: {isSold: false}}", "{cursor: {id: 7, firstBatch: [{}, {}, {}]}, ok: 1}");
+        run(2, "getMore", "{getMore: 7, collection: 'items'}", "{cursor: {id: 0, nextBatch: [{}]}, ok: 1}");
+
+        assertEquals(1, registry.get("mongodb.commands").tags("command", "find", "collection", "items", "status", "SUCCESS").timer().count());
+        assertEquals(3, registry.get("mongodb.commands.documents").tags("command", "find", "collection", "items").summary().totalAmount());
+        assertEquals(1, registry.get("mongodb.commands.documents").tags("command", "getMore", "collection", "items").summary().totalAmount());
+    }
+
+    @Test
+    void findAndModifyCountsTheReturnedDocument() {
+        run(3, "findAndModify", "{findAndModify: 'items', query: {_id: 1}}", "{value: {_id: 1}, ok: 1}");
+        run(4, "findAndModify", "{findAndModify: 'items', query: {_id: 2}}", "{value: null, ok: 1}");
+
+        assertEquals(2, registry.get("mongodb.commands.documents").tags("collection", "items").summary().count());
+        assertEquals(1, registry.get("mongodb.commands.documents").tags("collection", "items").summary().totalAmount());
+    }
+
+    @Test
+    void writesAreTimedWithoutDocumentCounts() {
+        run(5, "insert", "{insert: 'orders', ordered: true}", "{n: 1, ok: 1}");
+
+        assertEquals(1, registry.get("mongodb.commands").tags("command", "insert", "collection", "orders").timer().count());
+        assertEquals(0, registry.find("mongodb.commands.documents").meters().size());
+    }
+
+    @Test
+    void failuresAreTaggedAndForgotten() {
+        metrics.commandStarted(started(6, "update", "{update: 'groups'}"));
+        metrics.commandFailed(new CommandFailedEvent(null, 1, 6, CONNECTION, "truswap", "update",
+            TimeUnit.MILLISECONDS.toNanos(2), new RuntimeException("boom")));
+
+        assertEquals(1, registry.get("mongodb.commands").tags("collection", "groups", "status", "FAILED").timer().count());
+    }
+
+    private void run(int requestId, String commandName, String command, String response) {
+        metrics.commandStarted(started(requestId, commandName, command));
+        metrics.commandSucceeded(new CommandSucceededEvent(null, 1, requestId, CONNECTION, "truswap", commandName,
+            BsonDocument.parse(response), TimeUnit.MILLISECONDS.toNanos(1)));
+    }
+
+    private static CommandStartedEvent started(int requestId, String commandName, String command) {
+        return new CommandStartedEvent(null, 1, requestId, CONNECTION, "truswap", commandName, BsonDocument.parse(command));
+    }
+}
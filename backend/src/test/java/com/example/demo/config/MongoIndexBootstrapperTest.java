@@ -0,0 +1,36 @@
+package com.example.demo.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+class MongoIndexBootstrapperTest {
+
+    @Test
+    void absentFlagMatchesFalse() {
+        assertTrue(MongoIndexBootstrapper.sameOption(null, null));
+        assertTrue(MongoIndexBootstrapper.sameOption(false, null));
+        assertTrue(MongoIndexBootstrapper.sameOption(null, false));
+    }
+
+    @Test
+    void missingUniqueIsDrift() {
+        assertFalse(MongoIndexBootstrapper.sameOption(true, null));
+        assertFalse(MongoIndexBootstrapper.sameOption(null, true));
+    }
+
+    @Test
+    void ttlIsComparedAcrossNumericTypes() {
+        assertTrue(MongoIndexBootstrapper.sameOption(86400L, 86400));
+        assertFalse(MongoIndexBootstrapper.sameOption(86400L, 3600));
+        assertFalse(MongoIndexBootstrapper.sameOption(86400L, null));
+    }
+
+    @Test
+    void partialFiltersAreComparedByContent() {
+        assertTrue(MongoIndexBootstrapper.sameOption(new Document("isSold", false), new Document("isSold", false)));
+        assertFalse(MongoIndexBootstrapper.sameOption(new Document("isSold", false), new Document("isSold", true)));
+    }
+}
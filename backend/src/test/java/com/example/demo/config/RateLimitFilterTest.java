@@ -0,0 +1,84 @@
+package com.example.demo.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+/**
+ * 429 responses and how callers are told apart
+ */
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(true, "2/1m", "0", "1/1m", "0", "0", "X-Forwarded-For", Duration.ofMinutes(1));
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void signedInUserIsLimitedOnTheirSub() throws Exception {
+        signIn("auth0|1");
+        assertEquals(200, post("/api/createListing", null).getStatus());
+        assertEquals(200, post("/api/createListing", null).getStatus());
+
+        MockHttpServletResponse rejected = post("/api/createListing", null);
+        assertEquals(429, rejected.getStatus());
+        assertEquals("30", rejected.getHeader("Retry-After"));
+        assertEquals("{\"error\":\"Too many requests\"}", rejected.getContentAsString());
+
+        signIn("auth0|2");
+        assertEquals(200, post("/api/createListing", null).getStatus());
+    }
+
+    @Test
+    void anonymousCallersAreLimitedOnTheLastForwardedHop() throws Exception {
+        assertEquals(200, post("/api/groups", "198.51.100.1, 203.0.113.7").getStatus());
+        // A forged first hop does not give the same client a fresh bucket
+        assertEquals(429, post("/api/groups", "10.0.0.99, 203.0.113.7").getStatus());
+        assertEquals(200, post("/api/groups", "203.0.113.8").getStatus());
+    }
+
+    @Test
+    void otherRoutesAndMethodsAreNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, post("/api/payments/create-payment", null).getStatus());
+            MockHttpServletResponse browse = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/groups"), browse, new MockFilterChain());
+            assertEquals(200, browse.getStatus());
+        }
+        assertNull(filter.getRateLimiter().route("POST", "/api/payments/create-payment"));
+    }
+
+    private MockHttpServletResponse post(String path, String forwardedFor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static void signIn(String userId) {
+        Jwt jwt = Jwt.withTokenValue("token")
+            .header("alg", "RS256")
+            .subject(userId)
+            .issuedAt(Instant.now())
+            .expiresAt(Instant.now().plusSeconds(3600))
+            .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt, List.of()));
+    }
+}
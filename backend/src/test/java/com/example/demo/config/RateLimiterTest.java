@@ -0,0 +1,77 @@
+package com.example.demo.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.util.MutableClock;
+
+/**
+ * Token bucket accounting, per-caller isolation and idle eviction
+ */
+class RateLimiterTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final RateLimiter.Route route = new RateLimiter.Route("create-listing", "POST", "/api/createListing", 3, Duration.ofMinutes(1));
+    private final RateLimiter limiter = new RateLimiter(List.of(route), Duration.ofDays(1), clock);
+
+    @Test
+    void burstUpToCapacityThenWaitForRefill() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire(route, "auth0|1"));
+        }
+        // One token comes back every 20s
+        assertEquals(Duration.ofSeconds(20).toNanos(), limiter.tryAcquire(route, "auth0|1"));
+
+        clock.advance(Duration.ofSeconds(19));
+        assertEquals(Duration.ofSeconds(1).toNanos(), limiter.tryAcquire(route, "auth0|1"));
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(0, limiter.tryAcquire(route, "auth0|1"));
+        assertEquals(2, route.getRejectedCount());
+    }
+
+    @Test
+    void callersHaveSeparateBuckets() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire(route, "auth0|1");
+        }
+
+        assertEquals(0, limiter.tryAcquire(route, "auth0|2"));
+        assertEquals(0, limiter.tryAcquire(route, "ip:203.0.113.7"));
+    }
+
+    @Test
+    void onlyFullyRefilledBucketsAreEvicted() {
+        limiter.tryAcquire(route, "auth0|1");
+        clock.advance(Duration.ofSeconds(10));
+        limiter.tryAcquire(route, "auth0|2");
+        assertEquals(2, route.getTrackedCallers());
+
+        // auth0|1 is full again after 20s, auth0|2 not before 30s
+        clock.advance(Duration.ofSeconds(10));
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, route.getTrackedCallers());
+    }
+
+    @Test
+    void routesMatchMethodAndExactPath() {
+        assertSame(route, limiter.route("POST", "/api/createListing"));
+        assertNull(limiter.route("GET", "/api/createListing"));
+        assertNull(limiter.route("POST", "/api/createListing/extra"));
+    }
+
+    @Test
+    void limitsAreParsedAsRequestsPerPeriod() {
+        RateLimiter.Route parsed = RateLimiter.Route.parse("create-group", "POST", "/api/groups", "10/1m");
+
+        assertEquals(10, parsed.getCapacity());
+        assertNull(RateLimiter.Route.parse("create-group", "POST", "/api/groups", "0"));
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.Route.parse("create-group", "POST", "/api/groups", "10"));
+    }
+}
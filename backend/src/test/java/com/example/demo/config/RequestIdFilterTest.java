@@ -0,0 +1,57 @@
+package com.example.demo.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServlet;
+
+/**
+ * Correlation IDs in the MDC while the request is handled, and in the response
+ */
+class RequestIdFilterTest {
+
+    private final RequestIdFilter filter = new RequestIdFilter();
+
+    @Test
+    void callerIdIsKeptAndEchoed() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/listings");
+        request.addHeader(RequestIdFilter.HEADER, "checkout-42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertEquals("checkout-42", seenInMdc(request, response));
+        assertEquals("checkout-42", response.getHeader(RequestIdFilter.HEADER));
+        assertNull(MDC.get(RequestIdFilter.MDC_KEY));
+    }
+
+    @Test
+    void missingOrUnsafeIdIsReplaced() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/listings");
+        request.addHeader(RequestIdFilter.HEADER, "bad id\nINFO forged log line");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        String requestId = seenInMdc(request, response);
+
+        assertNotEquals("bad id\nINFO forged log line", requestId);
+        assertEquals(requestId, response.getHeader(RequestIdFilter.HEADER));
+    }
+
+    private String seenInMdc(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(jakarta.servlet.http.HttpServletRequest req, jakarta.servlet.http.HttpServletResponse res) {
+                seen.set(MDC.get(RequestIdFilter.MDC_KEY));
+            }
+        }));
+        return seen.get();
+    }
+}
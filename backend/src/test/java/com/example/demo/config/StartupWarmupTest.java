@@ -0,0 +1,107 @@
+package com.example.demo.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.example.demo.Service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * The warmup rounds against a local server standing in for the application's own port
+ */
+class StartupWarmupTest {
+
+    private HttpServer server;
+    private volatile int status = 200;
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private final OrderService orderService = mock(OrderService.class);
+    private MockEnvironment environment;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/", exchange -> {
+            requests.computeIfAbsent(exchange.getRequestURI().toString(), path -> new AtomicInteger()).incrementAndGet();
+            respond(exchange, status, "[]");
+        });
+        server.start();
+        environment = new MockEnvironment().withProperty("local.server.port", String.valueOf(server.getAddress().getPort()));
+        when(orderService.getOrdersByBuyerUserId(any(), any())).thenReturn(List.of());
+        when(orderService.getOrdersBySellerUserId(any(), anyInt(), anyInt(), any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void everyRoundReadsListingsGroupsAndOrders() throws Exception {
+        warmup(true, 6, 3).run(new DefaultApplicationArguments());
+
+        for (String path : StartupWarmup.PUBLIC_READS) {
+            assertEquals(6, requests.get(path).get(), path);
+        }
+        verify(orderService, times(6)).getOrdersByBuyerUserId(eq(StartupWarmup.WARMUP_USER), any());
+        verify(orderService, times(6)).getOrdersBySellerUserId(eq(StartupWarmup.WARMUP_USER), eq(0), eq(20), any());
+    }
+
+    @Test
+    void serverErrorEndsTheWarmupWithoutFailingStartup() throws Exception {
+        status = 500;
+
+        warmup(true, 50, 2).run(new DefaultApplicationArguments());
+
+        // Each worker gives up on its first failed request
+        int sent = requests.values().stream().mapToInt(AtomicInteger::get).sum();
+        assertTrue(sent <= 2, "sent " + sent);
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void disabledWarmupSendsNothing() throws Exception {
+        warmup(false, 50, 4).run(new DefaultApplicationArguments());
+
+        assertTrue(requests.isEmpty());
+        verifyNoInteractions(orderService);
+    }
+
+    private StartupWarmup warmup(boolean enabled, int rounds, int concurrency) {
+        return new StartupWarmup(environment, orderService, new ObjectMapper(), enabled, rounds, concurrency, Duration.ofSeconds(10));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import com.example.demo.Entity.Items;
+import com.example.demo.config.JacksonConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class FieldSelectionTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper(new Jackson2ObjectMapperBuilder());
+
+    @Test
+    void projectsTheSelectedPropertiesPlusId() {
+        FieldSelection fields = FieldSelection.parse("itemName, price", Items.class, objectMapper);
+
+        Query query = fields.fetching("datePosted").applyTo(new Query());
+
+        assertEquals(new Document("usserId", 1).append("itemName", 1).append("price", 1).append("datePosted", 1),
+            query.getFieldsObject());
+    }
+
+    @Test
+    void rendersOnlyTheSelectedFields() throws Exception {
+        FieldSelection fields = FieldSelection.parse("itemName,isSold", Items.class, objectMapper);
+        Items item = new Items();
+        item.setUsserId(7);
+        item.setItemName("Desk lamp");
+        item.setEmail("seller@example.com");
+
+        MappingJacksonValue value = fields.render(List.of(item));
+        String json = objectMapper.writer(value.getFilters()).writeValueAsString(value.getValue());
+
+        assertEquals("[{\"itemName\":\"Desk lamp\",\"isSold\":false,\"id\":7}]", json);
+    }
+
+    @Test
+    void withoutASelectionEveryFieldIsWritten() throws Exception {
+        Items item = new Items();
+        item.setItemName("Desk lamp");
+        item.setEmail("seller@example.com");
+
+        String json = objectMapper.writeValueAsString(item);
+
+        assertTrue(json.contains("\"email\":\"seller@example.com\""));
+        assertTrue(json.contains("\"description\":null"));
+    }
+
+    @Test
+    void rejectsUnknownAndInternalNames() {
+        assertThrows(IllegalArgumentException.class, () -> FieldSelection.parse("itemName,passwordHash", Items.class, objectMapper));
+        // Clients see "id"; the Java property name is not part of the API
+        assertThrows(IllegalArgumentException.class, () -> FieldSelection.parse("usserId", Items.class, objectMapper));
+        assertNull(FieldSelection.parse(" ", Items.class, objectMapper));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+class ListingCursorTest {
+
+    @Test
+    void roundTripsDateAndId() {
+        LocalDateTime posted = LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_000_000);
+        ListingCursor cursor = ListingCursor.decode(new ListingCursor(posted, 1_700_000_000_123L).encode());
+
+        assertEquals(posted, cursor.getDatePosted());
+        assertEquals(1_700_000_000_123L, cursor.getId());
+    }
+
+    @Test
+    void roundTripsListingWithoutDate() {
+        ListingCursor cursor = ListingCursor.decode(new ListingCursor(null, 42).encode());
+
+        assertNull(cursor.getDatePosted());
+        assertEquals(42, cursor.getId());
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new ListingCursor(LocalDateTime.of(2025, 1, 1, 0, 0), Long.MAX_VALUE).encode();
+        assertEquals(token, token.replaceAll("[^A-Za-z0-9_-]", ""));
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ListingCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> ListingCursor.decode(encode("2025-01-01T00:00")));
+        assertThrows(IllegalArgumentException.class, () -> ListingCursor.decode(encode("yesterday|42")));
+        assertThrows(IllegalArgumentException.class, () -> ListingCursor.decode(encode("2025-01-01T00:00|x")));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
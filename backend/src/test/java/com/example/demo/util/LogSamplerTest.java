@@ -0,0 +1,27 @@
+package com.example.demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class LogSamplerTest {
+
+    @Test
+    void oneEventPerIntervalWithTheSuppressedCount() {
+        MutableClock clock = new MutableClock();
+        LogSampler sampler = new LogSampler(Duration.ofMinutes(1), clock);
+
+        assertEquals(0, sampler.sample());
+        assertEquals(-1, sampler.sample());
+        assertEquals(-1, sampler.sample());
+
+        clock.advance(Duration.ofSeconds(59));
+        assertEquals(-1, sampler.sample());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(3, sampler.sample());
+        assertEquals(-1, sampler.sample());
+    }
+}
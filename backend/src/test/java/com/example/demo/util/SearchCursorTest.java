@@ -0,0 +1,41 @@
+package com.example.demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+class SearchCursorTest {
+
+    @Test
+    void roundTripsScoreBitExact() {
+        // Not representable in a short decimal; any rounding would skip or repeat hits at the page edge
+        double score = 1.0 / 3 + 0.75;
+        SearchCursor cursor = SearchCursor.decode(new SearchCursor(score, 1_700_000_000_123L).encode());
+
+        assertEquals(Double.doubleToLongBits(score), Double.doubleToLongBits(cursor.getScore()));
+        assertEquals(1_700_000_000_123L, cursor.getId());
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new SearchCursor(-0.5, Long.MAX_VALUE).encode();
+        assertEquals(token, token.replaceAll("[^A-Za-z0-9_-]", ""));
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(encode("3ff0000000000000")));
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(encode("|42")));
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(encode("3.5|42")));
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(encode("3ff0000000000000|x")));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class StreamingJsonTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writesAJsonArray() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingJson.write(objectMapper, false, List.of(Map.of("id", 1), Map.of("id", 2)).iterator(), out);
+
+        assertEquals("[{\"id\":1},{\"id\":2}]", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writesOneDocumentPerLineForNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingJson.write(objectMapper, true, List.of(Map.of("id", 1), Map.of("id", 2)).iterator(), out);
+
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void emptyStreamIsAnEmptyArray() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingJson.write(objectMapper, false, List.of().iterator(), out);
+
+        assertEquals("[]", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void documentsAreWrittenAsTheyArriveNotCollected() throws Exception {
+        // A lazily generated source far larger than anything we would want to hold in a List
+        Iterator<Map<String, Object>> documents = IntStream.range(0, 1_000_000)
+            .mapToObj(i -> Map.<String, Object>of("id", i, "itemName", "Listing " + i))
+            .iterator();
+        long[] bytes = {0};
+        OutputStream counting = new OutputStream() {
+            @Override
+            public void write(int b) {
+                bytes[0]++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                bytes[0] += len;
+            }
+        };
+
+        StreamingJson.write(objectMapper, true, documents, counting);
+
+        assertTrue(bytes[0] > 30_000_000L);
+    }
+
+    @Test
+    void picksNdjsonOnlyWhenAskedFor() {
+        assertTrue(StreamingJson.wantsNdjson("application/x-ndjson"));
+        assertTrue(StreamingJson.wantsNdjson("application/jsonl, application/json;q=0.5"));
+        assertFalse(StreamingJson.wantsNdjson("application/json, application/x-ndjson;q=0.5"));
+        assertTrue(StreamingJson.wantsNdjson("application/json;q=0.4, application/x-ndjson;q=0.9"));
+        assertFalse(StreamingJson.wantsNdjson("application/x-ndjson;q=0, application/json;q=0.1"));
+        assertFalse(StreamingJson.wantsNdjson("*/*"));
+        assertFalse(StreamingJson.wantsNdjson(null));
+        assertFalse(StreamingJson.wantsNdjson("not a media type"));
+    }
+}
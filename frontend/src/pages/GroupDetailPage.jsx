@@ -11,7 +11,9 @@ function GroupDetailPage() {
   const { isAuthenticated } = useAuth0()
   const [group, setGroup] = useState(null)
   const [listings, setListings] = useState([])
+  const [nextCursor, setNextCursor] = useState(null)
   const [isLoading, setIsLoading] = useState(true)
+  const [isLoadingMore, setIsLoadingMore] = useState(false)
   const [error, setError] = useState(null)
 
   useEffect(() => {
@@ -20,9 +22,9 @@ function GroupDetailPage() {
         setIsLoading(true)
         setError(null)
         
-        const [groupData, listingsData] = await Promise.all([
+        const [groupData, page] = await Promise.all([
           fetchGroupById(id).catch(() => null),
-          fetchListings().catch(() => [])
+          fetchListings({ groupId: id }).catch(() => ({ listings: [], nextCursor: null }))
         ])
 
         if (!groupData) {
@@ -31,10 +33,8 @@ function GroupDetailPage() {
         }
 
         setGroup(groupData)
-        
-        // Filter listings that belong to this group
-        const groupListings = listingsData.filter(listing => listing.groupId === id)
-        setListings(groupListings)
+        setListings(page.listings)
+        setNextCursor(page.nextCursor)
       } catch (err) {
         console.error('Failed to load group:', err)
         setError('Failed to load group. Please try again later.')
@@ -48,6 +48,19 @@ function GroupDetailPage() {
     }
   }, [id])
 
+  const loadMore = async () => {
+    try {
+      setIsLoadingMore(true)
+      const page = await fetchListings({ groupId: id }, nextCursor)
+      setListings(current => [...current, ...page.listings])
+      setNextCursor(page.nextCursor)
+    } catch (err) {
+      console.error('Failed to load more listings:', err)
+    } finally {
+      setIsLoadingMore(false)
+    }
+  }
+
   if (isLoading) {
     return (
       <div className="container-max py-12">
@@ -107,7 +120,7 @@ function GroupDetailPage() {
       {/* Listings in Group */}
       <div>
         <h2 className="text-xl font-bold mb-4">
-          Items in this Group ({listings.length})
+          Items in this Group ({group.activeListingCount ?? listings.length})
         </h2>
         {listings.length === 0 ? (
           <div className="card p-12 text-center">
@@ -130,6 +143,13 @@ function GroupDetailPage() {
             ))}
           </div>
         )}
+        {nextCursor && (
+          <div className="mt-6 text-center">
+            <button onClick={loadMore} disabled={isLoadingMore} className="btn-outline">
+              {isLoadingMore ? 'Loading...' : 'Load more'}
+            </button>
+          </div>
+        )}
       </div>
     </div>
   )
@@ -16,7 +16,7 @@ function HomePage() {
       try {
         setIsLoading(true)
         setError(null)
-        const data = await fetchListings()
+        const { listings: data } = await fetchListings({}, null, 4)
         setListings(data || [])
       } catch (err) {
         console.error('Failed to load listings:', err)
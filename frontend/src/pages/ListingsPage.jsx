@@ -15,21 +15,28 @@ function ListingsPage() {
   const cat = query.get('category') || 'All'
   const [sort, setSort] = useState('relevance')
   const [listings, setListings] = useState([])
+  const [nextCursor, setNextCursor] = useState(null)
   const [isLoading, setIsLoading] = useState(true)
+  const [isLoadingMore, setIsLoadingMore] = useState(false)
   const [error, setError] = useState(null)
 
+  // Category goes to the backend as a filter and q to the keyword search, one page at a time
+  const filters = useMemo(() => (q ? { q } : { category: cat !== 'All' ? cat : undefined }), [q, cat])
+
   useEffect(() => {
     const loadListings = async () => {
       try {
         setIsLoading(true)
         setError(null)
-        const data = await fetchListings()
-        setListings(data || [])
+        const page = await fetchListings(filters)
+        setListings(page.listings)
+        setNextCursor(page.nextCursor)
       } catch (err) {
         console.error('Failed to load listings:', err)
         const errorMessage = err.message || 'Failed to load listings. Please try again later.'
         setError(`${errorMessage}${err.status ? ` (Status: ${err.status})` : ''}`)
         setListings([])
+        setNextCursor(null)
       } finally {
         setIsLoading(false)
       }
@@ -42,25 +49,33 @@ function ListingsPage() {
       sessionStorage.removeItem('fromPayment')
       // Refresh once after a short delay to get updated listings (sold items removed)
       setTimeout(() => {
-        fetchListings()
-          .then(data => {
-            if (data) {
-              setListings(data || [])
-            }
+        fetchListings(filters)
+          .then(page => {
+            setListings(page.listings)
+            setNextCursor(page.nextCursor)
           })
           .catch(err => console.error('Error refreshing listings:', err))
       }, 2000)
     }
-  }, [])
+  }, [filters])
+
+  const loadMore = async () => {
+    try {
+      setIsLoadingMore(true)
+      const page = await fetchListings(filters, nextCursor)
+      setListings(current => [...current, ...page.listings])
+      setNextCursor(page.nextCursor)
+    } catch (err) {
+      console.error('Failed to load more listings:', err)
+    } finally {
+      setIsLoadingMore(false)
+    }
+  }
 
+  // Sorting only reorders the pages loaded so far; the keyword search cannot filter by category
   const filtered = useMemo(() => {
     let items = [...listings]
-    if (q) {
-      items = items.filter((i) =>
-        [i.title, i.description, i.category].some((s) => s?.toLowerCase().includes(q))
-      )
-    }
-    if (cat !== 'All') {
+    if (q && cat !== 'All') {
       items = items.filter((i) => i.category === cat)
     }
     if (sort === 'price-asc') items.sort((a, b) => a.price - b.price)
@@ -111,7 +126,7 @@ function ListingsPage() {
         <section className="md:col-span-3">
           <div className="flex items-center justify-between mb-4">
             <div className="text-sm text-gray-600">
-              {isLoading ? 'Loading...' : `${filtered.length} items`}
+              {isLoading ? 'Loading...' : `${filtered.length}${nextCursor ? '+' : ''} items`}
             </div>
             <select value={sort} onChange={(e) => setSort(e.target.value)} className="border border-gray-300 rounded-lg px-3 py-2 text-sm">
               <option value="relevance">Sort: Relevance</option>
@@ -134,6 +149,13 @@ function ListingsPage() {
               ))}
             </div>
           )}
+          {!isLoading && !error && nextCursor && (
+            <div className="mt-6 text-center">
+              <button onClick={loadMore} disabled={isLoadingMore} className="btn-outline">
+                {isLoadingMore ? 'Loading...' : 'Load more'}
+              </button>
+            </div>
+          )}
         </section>
       </div>
     </div>
@@ -1,7 +1,7 @@
 import { useState, useEffect } from 'react'
 import { useAuth0 } from '@auth0/auth0-react'
 import { Link } from 'react-router-dom'
-import { fetchOrders, fetchMyListings, fetchListings } from '../services/api.js'
+import { fetchOrders, fetchMyListings, fetchListingsByIds } from '../services/api.js'
 import { formatDateTime } from '../utils/dateUtils.js'
 import { getWishlist, removeFromWishlist } from '../utils/wishlist.js'
 import ListingCard from '../components/ListingCard.jsx'
@@ -32,18 +32,15 @@ function ProfilePage() {
         })
 
         // Load all data in parallel
-        const [ordersData, listingsData, allListingsData] = await Promise.all([
+        const [ordersData, listingsData, wishlistData] = await Promise.all([
           fetchOrders(token).catch(() => []),
           fetchMyListings(token).catch(() => []),
-          fetchListings().catch(() => [])
+          fetchListingsByIds(getWishlist()).catch(() => [])
         ])
 
         setOrders(ordersData || [])
         setMyListings(listingsData || [])
         
-        // Load wishlist items
-        const wishlistIds = getWishlist()
-        const wishlistData = allListingsData.filter(listing => wishlistIds.includes(listing.id))
         setWishlistItems(wishlistData || [])
       } catch (err) {
         console.error('Failed to load profile data:', err)
@@ -2,7 +2,7 @@ import { useState, useEffect } from 'react'
 import { Link } from 'react-router-dom'
 import ListingCard from '../components/ListingCard.jsx'
 import { getWishlist, removeFromWishlist } from '../utils/wishlist.js'
-import { fetchListings, fetchListingById } from '../services/api.js'
+import { fetchListingsByIds } from '../services/api.js'
 
 function WishlistPage() {
   const [wishlistItems, setWishlistItems] = useState([])
@@ -21,9 +21,8 @@ function WishlistPage() {
         return
       }
 
-      // Fetch all listings and filter by wishlist IDs
-      const allListings = await fetchListings()
-      const items = allListings.filter(listing => wishlistIds.includes(listing.id))
+      // Fetch only the wishlisted listings
+      const items = await fetchListingsByIds(wishlistIds)
       setWishlistItems(items)
     } catch (err) {
       console.error('Failed to load wishlist:', err)
@@ -78,18 +78,38 @@ const getErrorMessage = (error) => {
   }
 }
 
-// Fetch all listings
-export const fetchListings = async () => {
+// The backend pages /listings (newest first) and /listings/search (best match first) and
+// returns the cursor for the next page in the X-Next-Cursor header; no header means the last page
+export const LISTINGS_PAGE_SIZE = 24
+
+// Fetch one page of listings; pass the returned nextCursor back in to load the next page
+// Filters (category, groupId, listingType, condition, minPrice, maxPrice) are applied by the backend;
+// a q filter goes to the keyword search instead, which takes no other filters
+export const fetchListings = async (filters = {}, cursor = null, limit = LISTINGS_PAGE_SIZE) => {
   try {
-    console.log('Fetching listings from:', `${API_BASE_URL}/listings`)
-    const response = await api.get('/listings')
-    console.log('Listings response:', response.data)
+    const { q, ...rest } = filters
+    const path = q ? '/listings/search' : '/listings'
+    const params = { limit }
+    if (q) {
+      params.q = q
+    } else {
+      Object.entries(rest)
+        .filter(([, value]) => value !== undefined && value !== null && value !== '')
+        .forEach(([key, value]) => { params[key] = value })
+    }
+    if (cursor) {
+      params.cursor = cursor
+    }
+    console.log('Fetching listings from:', `${API_BASE_URL}${path}`, params)
+    const response = await api.get(path, { params })
     const data = response.data
     // Handle both array and single object responses
-    if (Array.isArray(data)) {
-      return data.map(transformListingFromBackend)
-    }
-    return [transformListingFromBackend(data)]
+    const listings = Array.isArray(data)
+      ? data.map(transformListingFromBackend)
+      : data ? [transformListingFromBackend(data)] : []
+    const nextCursor = response.headers['x-next-cursor'] || null
+    console.log('Listings fetched:', listings.length, nextCursor ? '(more available)' : '(last page)')
+    return { listings, nextCursor }
   } catch (error) {
     const errorInfo = getErrorMessage(error)
     console.error('Error fetching listings:', {
@@ -106,6 +126,12 @@ export const fetchListings = async () => {
   }
 }
 
+// Fetch the given listings one by one (wishlist); listings that no longer exist are skipped
+export const fetchListingsByIds = async (ids) => {
+  const listings = await Promise.all(ids.map((id) => fetchListingById(id).catch(() => null)))
+  return listings.filter(Boolean)
+}
+
 // Fetch a single listing by ID
 export const fetchListingById = async (id) => {
   try {